@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonArray;
+import com.google.gson.TypeAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eliasstar.jsonrpc.objects.id.Id;
+import eliasstar.jsonrpc.objects.id.NumberId;
+import eliasstar.jsonrpc.objects.id.StringId;
+import eliasstar.jsonrpc.objects.parameter.ArrayParameters;
+import eliasstar.jsonrpc.objects.parameter.Parameters;
+
+/**
+ * Measures the id and parameter type adapters in isolation.
+ * <p>
+ * The adapters are package-private, so they are obtained from the
+ * {@link com.google.gson.Gson} instance they are registered to.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterBenchmark {
+
+    private TypeAdapter<Id<?>> idAdapter;
+    private TypeAdapter<Parameters<?>> parameterAdapter;
+
+    private Id<?> stringId;
+    private Id<?> prefixedId;
+    private Id<?> numberId;
+    private Parameters<?> parameters;
+
+    private String stringIdJson;
+    private String numberIdJson;
+    private String parametersJson;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        var gson = GsonProvider.gson();
+
+        idAdapter = (TypeAdapter<Id<?>>) (TypeAdapter<?>) gson.getAdapter(Id.class);
+        parameterAdapter = (TypeAdapter<Parameters<?>>) (TypeAdapter<?>) gson.getAdapter(Parameters.class);
+
+        stringId = new StringId("connection-12345");
+        prefixedId = new StringId("connection", 12345);
+        numberId = new NumberId(12345);
+
+        var array = new JsonArray();
+        array.add(42);
+        array.add("benchmark");
+        array.add(true);
+        parameters = new ArrayParameters(array);
+
+        stringIdJson = "\"connection-12345\"";
+        numberIdJson = "12345";
+        parametersJson = "{\"minuend\":42,\"subtrahend\":23,\"label\":\"benchmark\"}";
+    }
+
+    @Benchmark
+    public String writeStringId() {
+        return idAdapter.toJson(stringId);
+    }
+
+    @Benchmark
+    public String writePrefixedId() {
+        return idAdapter.toJson(prefixedId);
+    }
+
+    @Benchmark
+    public boolean matchPrefixedId() throws IOException {
+        return prefixedId.equals(idAdapter.fromJson(stringIdJson));
+    }
+
+    @Benchmark
+    public String writeNumberId() {
+        return idAdapter.toJson(numberId);
+    }
+
+    @Benchmark
+    public Id<?> readStringId() throws IOException {
+        return idAdapter.fromJson(stringIdJson);
+    }
+
+    @Benchmark
+    public Id<?> readNumberId() throws IOException {
+        return idAdapter.fromJson(numberIdJson);
+    }
+
+    @Benchmark
+    public String writeParameters() {
+        return parameterAdapter.toJson(parameters);
+    }
+
+    @Benchmark
+    public Parameters<?> readParameters() throws IOException {
+        return parameterAdapter.fromJson(parametersJson);
+    }
+
+}
\ No newline at end of file
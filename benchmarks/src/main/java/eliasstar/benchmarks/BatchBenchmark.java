@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.id.NumberId;
+
+/**
+ * Measures serialization of batch requests and deserialization of batch
+ * responses of different sizes.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    public int size;
+
+    private Gson gson;
+
+    private Request[] requests;
+    private String responses;
+
+    @Setup
+    public void setup() {
+        gson = GsonProvider.gson();
+
+        requests = new Request[size];
+        var responses = new Response[size];
+
+        for (int i = 0; i < size; i++) {
+            var params = new JsonArray();
+            params.add(i);
+            params.add("benchmark");
+
+            requests[i] = new Request(i, "echo", params);
+            responses[i] = new Response(new NumberId(i), new JsonPrimitive(i));
+        }
+
+        this.responses = gson.toJson(responses);
+    }
+
+    @Benchmark
+    public String serializeBatch() {
+        return gson.toJson(requests);
+    }
+
+    @Benchmark
+    public Response[] deserializeBatch() {
+        return gson.fromJson(responses, Response[].class);
+    }
+
+}
\ No newline at end of file
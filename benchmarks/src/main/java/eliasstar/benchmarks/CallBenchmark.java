@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.benchmarks;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eliasstar.jsonrpc.Connection;
+import eliasstar.jsonrpc.ConnectionBuilder;
+import eliasstar.jsonrpc.exceptions.RpcException;
+import eliasstar.jsonrpc.server.DispatcherBuilder;
+import eliasstar.jsonrpc.server.JsonRpcServer;
+
+/**
+ * Measures a full {@link Connection#callRemoteProcedure(String, JsonArray)}
+ * round trip against an in-process {@link JsonRpcServer} on the loopback
+ * interface.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallBenchmark {
+
+    private JsonRpcServer server;
+    private Connection connection;
+
+    private JsonArray params;
+
+    @Setup
+    public void setup() throws IOException {
+        var dispatcher = new DispatcherBuilder()
+                .register("echo", req -> (JsonElement) req.params().get().get())
+                .build();
+
+        server = new JsonRpcServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "/rpc", dispatcher);
+        server.start();
+
+        var address = server.address();
+        connection = new ConnectionBuilder(HttpClient.newHttpClient(), "http://" + address.getHostString() + ":" + address.getPort() + "/rpc").build();
+
+        params = new JsonArray();
+        params.add(42);
+        params.add("benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        connection.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public JsonElement callRemoteProcedure() throws RpcException {
+        return connection.callRemoteProcedure("echo", params);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import eliasstar.gson.OptionalTypeAdapterFactory;
+import eliasstar.jsonrpc.gson.RpcTypeAdapterFactory;
+
+/**
+ * Provides the {@link Gson} instance the benchmarks run against, configured the
+ * same way a {@link eliasstar.jsonrpc.Connection} configures its own.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class GsonProvider {
+
+    /** The shared instance. */
+    private static Gson gson;
+
+    /** Not instantiable. */
+    private GsonProvider() {}
+
+    /**
+     * Getter for the shared {@link Gson} instance.
+     *
+     * @return A {@link Gson} with all JsonRpc4J type adapters registered
+     */
+    static Gson gson() {
+        if (gson == null)
+            gson = new GsonBuilder().registerTypeAdapterFactory(OptionalTypeAdapterFactory.instance()).registerTypeAdapterFactory(RpcTypeAdapterFactory.instance()).create();
+
+        return gson;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.benchmarks;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.Streams;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eliasstar.gson.OptionalTypeAdapterFactory;
+
+/**
+ * Compares the streaming {@link OptionalTypeAdapterFactory} with the previous
+ * implementation, which materialized every present value as a
+ * {@link com.google.gson.JsonElement} tree before writing it.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionalBenchmark {
+
+    private Gson streaming;
+    private Gson tree;
+    private Holder holder;
+
+    @Setup
+    public void setup() {
+        streaming = new GsonBuilder().registerTypeAdapterFactory(OptionalTypeAdapterFactory.instance()).create();
+        tree = new GsonBuilder().registerTypeAdapterFactory(new TreeOptionalTypeAdapterFactory()).create();
+
+        holder = new Holder();
+        holder.name = Optional.of("benchmark");
+        holder.count = Optional.of(42);
+        holder.tags = Optional.of(List.of("a", "b", "c", "d"));
+        holder.nested = Optional.of(new Nested("nested", 3.14));
+        holder.missing = Optional.empty();
+    }
+
+    @Benchmark
+    public String streamingWrite() {
+        return streaming.toJson(holder);
+    }
+
+    @Benchmark
+    public String treeWrite() {
+        return tree.toJson(holder);
+    }
+
+    private static final class Holder {
+        private Optional<String> name;
+        private Optional<Integer> count;
+        private Optional<List<String>> tags;
+        private Optional<Nested> nested;
+        private Optional<String> missing;
+    }
+
+    private static final class Nested {
+        private final String label;
+        private final double value;
+
+        private Nested(String label, double value) {
+            this.label = label;
+            this.value = value;
+        }
+    }
+
+    /** Reproduces the tree-based write path as the baseline. */
+    private static final class TreeOptionalTypeAdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != Optional.class || !(type.getType() instanceof ParameterizedType))
+                return null;
+
+            Type typeOfOptional = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+
+            return (TypeAdapter<T>) new TypeAdapter<Optional<?>>() {
+
+                @Override
+                public void write(JsonWriter out, Optional<?> optional) throws IOException {
+                    var serialize = out.getSerializeNulls();
+                    var json = optional.map(x -> gson.toJsonTree(x));
+
+                    if (json.isPresent()) {
+                        out.setSerializeNulls(true);
+                        Streams.write(json.get(), out);
+                    } else {
+                        out.setSerializeNulls(false);
+                        out.nullValue();
+                    }
+
+                    out.setSerializeNulls(serialize);
+                }
+
+                @Override
+                public Optional<?> read(JsonReader in) throws IOException {
+                    return Optional.ofNullable(gson.fromJson(in, typeOfOptional));
+                }
+
+            };
+        }
+
+    }
+
+}
\ No newline at end of file
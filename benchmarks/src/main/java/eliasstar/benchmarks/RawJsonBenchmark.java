@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.benchmarks;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eliasstar.jsonrpc.objects.RawJson;
+import eliasstar.jsonrpc.objects.TypedResponse;
+
+/**
+ * Compares receiving a result as {@link RawJson} with receiving it as
+ * {@link JsonElement}, both when only reading it and when forwarding it.
+ * <p>
+ * {@link RawJson} skips the tree, but still tokenizes and re-escapes the
+ * result, so the numbers show how much of the cost of a tree remains.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RawJsonBenchmark {
+
+    @Param({ "1", "100" })
+    public int size;
+
+    private Gson gson;
+    private Type rawType;
+    private Type treeType;
+    private String json;
+
+    @Setup
+    public void setup() {
+        gson = GsonProvider.gson();
+        rawType = TypeToken.getParameterized(TypedResponse.class, RawJson.class).getType();
+        treeType = TypeToken.getParameterized(TypedResponse.class, JsonElement.class).getType();
+
+        var result = new JsonArray();
+
+        for (var i = 0; i < size; i++) {
+            var entry = new JsonObject();
+            entry.addProperty("id", i);
+            entry.addProperty("name", "entry \"" + i + "\"");
+            entry.addProperty("value", i * 0.5);
+            entry.addProperty("active", i % 2 == 0);
+            result.add(entry);
+        }
+
+        var response = new JsonObject();
+        response.addProperty("jsonrpc", "2.0");
+        response.addProperty("id", 1);
+        response.add("result", result);
+
+        json = response.toString();
+    }
+
+    @Benchmark
+    public TypedResponse<RawJson> readRaw() {
+        return gson.fromJson(json, rawType);
+    }
+
+    @Benchmark
+    public TypedResponse<JsonElement> readTree() {
+        return gson.fromJson(json, treeType);
+    }
+
+    @Benchmark
+    public String forwardRaw() {
+        TypedResponse<RawJson> res = gson.fromJson(json, rawType);
+        return res.result().get().toString();
+    }
+
+    @Benchmark
+    public String forwardTree() {
+        TypedResponse<JsonElement> res = gson.fromJson(json, treeType);
+        return gson.toJson(res.result().get());
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+
+/**
+ * Measures serialization of single {@link Request requests} and
+ * deserialization of single {@link Response responses}.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private Gson gson;
+
+    private Request arrayRequest;
+    private Request objectRequest;
+
+    private String resultResponse;
+    private String errorResponse;
+
+    @Setup
+    public void setup() {
+        gson = GsonProvider.gson();
+
+        var array = new JsonArray();
+        array.add(42);
+        array.add("benchmark");
+        array.add(true);
+        arrayRequest = new Request(1, "subtract", array);
+
+        var object = new JsonObject();
+        object.addProperty("minuend", 42);
+        object.addProperty("subtrahend", 23);
+        object.addProperty("label", "benchmark");
+        objectRequest = new Request("request-1", "subtract", object);
+
+        resultResponse = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"value\":19,\"label\":\"benchmark\",\"tags\":[\"a\",\"b\",\"c\"]}}";
+        errorResponse = "{\"jsonrpc\":\"2.0\",\"id\":\"request-1\",\"error\":{\"code\":-32601,\"message\":\"Method not found\",\"data\":\"subtract\"}}";
+    }
+
+    @Benchmark
+    public String requestWithArrayParams() {
+        return gson.toJson(arrayRequest);
+    }
+
+    @Benchmark
+    public String requestWithObjectParams() {
+        return gson.toJson(objectRequest);
+    }
+
+    @Benchmark
+    public Response resultResponse() {
+        return gson.fromJson(resultResponse, Response.class);
+    }
+
+    @Benchmark
+    public Response errorResponse() {
+        return gson.fromJson(errorResponse, Response.class);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,570 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a client stub for every interface annotated with
+ * {@code eliasstar.jsonrpc.annotations.RpcService}.
+ * <p>
+ * The stub of an interface {@code Example} is named {@code ExampleStub} and
+ * placed in the same package. It invokes the remote procedures on a
+ * {@code Connection} with hard-coded method names, and resolves the
+ * {@code TypeAdapter} of every parameter once when it is created, so no
+ * reflection is used at runtime.
+ * <p>
+ * The annotations are referenced by name, so the processor does not depend on
+ * JsonRpc4J itself.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@SupportedAnnotationTypes(RpcServiceProcessor.RPC_SERVICE)
+public final class RpcServiceProcessor extends AbstractProcessor {
+
+    /** The name of the annotation marking a service interface. */
+    static final String RPC_SERVICE = "eliasstar.jsonrpc.annotations.RpcService";
+
+    /** The name of the annotation mapping a method. */
+    private static final String RPC_METHOD = "eliasstar.jsonrpc.annotations.RpcMethod";
+
+    /** The name of the annotation naming a parameter. */
+    private static final String RPC_PARAM = "eliasstar.jsonrpc.annotations.RpcParam";
+
+    /** The name of the exception thrown by synchronous calls. */
+    private static final String RPC_EXCEPTION = "eliasstar.jsonrpc.exceptions.RpcException";
+
+    /** The name of the type of asynchronous results. */
+    private static final String FUTURE = "java.util.concurrent.CompletableFuture";
+
+    /** The name of the type of untyped results. */
+    private static final String JSON_ELEMENT = "com.google.gson.JsonElement";
+
+    /** The name of the params in array format. */
+    private static final String POSITIONAL_PARAMETERS = "eliasstar.jsonrpc.objects.parameter.PositionalParameters";
+
+    /** The name of the params in object format. */
+    private static final String NAMED_PARAMETERS = "eliasstar.jsonrpc.objects.parameter.NamedParameters";
+
+    /**
+     * Supports the latest source version, as the processor only reads
+     * interfaces.
+     *
+     * @return The latest supported source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Generates the stubs of the annotated interfaces.
+     *
+     * @param annotations The annotations processed in this round
+     * @param roundEnv The environment of this round
+     * @return {@code true} as the annotation is claimed by this processor
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (var annotation : annotations) {
+            for (var element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    error(element, "@RpcService can only be applied to interfaces");
+                } else if (!((TypeElement) element).getTypeParameters().isEmpty()) {
+                    error(element, "@RpcService interfaces must not be generic");
+                } else {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Generates the stub of a service interface.
+     *
+     * @param service The service interface
+     */
+    private void generate(TypeElement service) {
+        var methods = new ArrayList<RemoteMethod>();
+        var valid = true;
+
+        for (var method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(service))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT) && ((TypeElement) method.getEnclosingElement()).getKind() == ElementKind.INTERFACE && !isObjectMethod(method)) {
+                var remote = resolve(service, method, methods.size());
+
+                if (remote == null)
+                    valid = false;
+                else
+                    methods.add(remote);
+            }
+        }
+
+        if (!valid)
+            return;
+
+        var pkg = processingEnv.getElementUtils().getPackageOf(service).getQualifiedName().toString();
+        var name = stubName(service);
+
+        try (var out = new PrintWriter(processingEnv.getFiler().createSourceFile(pkg.isEmpty() ? name : pkg + "." + name, service).openWriter())) {
+            write(out, pkg, name, service, methods);
+        } catch (IOException e) {
+            error(service, "Could not write stub: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the remote procedure mapped to a method.
+     *
+     * @param service The service interface
+     * @param method The method
+     * @param index The index of the method in the stub
+     * @return The remote procedure or null if the method can not be mapped
+     */
+    private RemoteMethod resolve(TypeElement service, ExecutableElement method, int index) {
+        var types = processingEnv.getTypeUtils();
+        var type = (ExecutableType) types.asMemberOf((DeclaredType) service.asType(), method);
+
+        if (!method.getTypeParameters().isEmpty()) {
+            error(method, "Methods of @RpcService interfaces must not be generic");
+            return null;
+        }
+
+        var remote = new RemoteMethod(method, type, index);
+        var annotation = annotation(method, RPC_METHOD);
+
+        remote.name = method.getSimpleName().toString();
+
+        if (annotation != null) {
+            var value = (String) value(annotation, "value");
+
+            if (value != null && !value.isEmpty())
+                remote.name = value;
+
+            remote.notification = Boolean.TRUE.equals(value(annotation, "notification"));
+        }
+
+        var returnType = type.getReturnType();
+        remote.async = returnType.getKind() == TypeKind.DECLARED && ((TypeElement) types.asElement(returnType)).getQualifiedName().contentEquals(FUTURE);
+
+        if (remote.notification && returnType.getKind() != TypeKind.VOID) {
+            error(method, "Notifications must return void");
+            return null;
+        }
+
+        if (remote.async) {
+            var arguments = ((DeclaredType) returnType).getTypeArguments();
+            returnType = arguments.isEmpty() ? processingEnv.getElementUtils().getTypeElement(JSON_ELEMENT).asType() : arguments.get(0);
+        }
+
+        if (returnType != null && returnType.getKind() != TypeKind.VOID && !isVoid(returnType))
+            remote.resultType = returnType.getKind().isPrimitive() ? types.boxedClass(types.getPrimitiveType(returnType.getKind())).asType() : returnType;
+
+        if (!remote.async && !throwsRpcException(type)) {
+            error(method, "Methods of @RpcService interfaces must declare " + RPC_EXCEPTION);
+            return null;
+        }
+
+        var named = 0;
+
+        for (var param : method.getParameters()) {
+            var paramAnnotation = annotation(param, RPC_PARAM);
+
+            if (paramAnnotation != null) {
+                remote.names.add((String) value(paramAnnotation, "value"));
+                named++;
+            }
+        }
+
+        if (named != 0 && named != method.getParameters().size()) {
+            error(method, "Either all or no parameters must be annotated with @RpcParam");
+            return null;
+        }
+
+        return remote;
+    }
+
+    /**
+     * Writes the source of a stub.
+     *
+     * @param out The output
+     * @param pkg The package of the stub
+     * @param name The simple name of the stub
+     * @param service The service interface
+     * @param methods The resolved remote procedures
+     */
+    private void write(PrintWriter out, String pkg, String name, TypeElement service, List<RemoteMethod> methods) {
+        if (!pkg.isEmpty()) {
+            out.println("package " + pkg + ";");
+            out.println();
+        }
+
+        out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+        out.println("public final class " + name + " implements " + service.getQualifiedName() + " {");
+        out.println();
+
+        for (var method : methods) {
+            var types = method.type.getParameterTypes();
+
+            if (!types.isEmpty()) {
+                out.println("    private static final java.lang.reflect.Type[] PARAMS_" + method.index + " = { " + types.stream().map(this::typeLiteral).collect(Collectors.joining(", ")) + " };");
+
+                if (!method.names.isEmpty())
+                    out.println("    private static final java.lang.String[] NAMES_" + method.index + " = { " + method.names.stream().map(RpcServiceProcessor::stringLiteral).collect(Collectors.joining(", ")) + " };");
+            }
+
+            if (method.resultType != null)
+                out.println("    private static final java.lang.reflect.Type RESULT_" + method.index + " = " + typeLiteral(method.resultType) + ";");
+        }
+
+        out.println();
+        out.println("    private final eliasstar.jsonrpc.Connection connection;");
+
+        for (var method : methods) {
+            if (!method.type.getParameterTypes().isEmpty())
+                out.println("    private final com.google.gson.TypeAdapter<?>[] adapters" + method.index + ";");
+        }
+
+        out.println();
+        out.println("    public " + name + "(eliasstar.jsonrpc.Connection connection) {");
+        out.println("        this.connection = java.util.Objects.requireNonNull(connection);");
+
+        for (var method : methods) {
+            if (!method.type.getParameterTypes().isEmpty())
+                out.println("        this.adapters" + method.index + " = " + POSITIONAL_PARAMETERS + ".adapters(connection.gson(), PARAMS_" + method.index + ");");
+        }
+
+        out.println("    }");
+
+        for (var method : methods) {
+            out.println();
+            writeMethod(out, name, method);
+        }
+
+        out.println();
+        out.println("}");
+    }
+
+    /**
+     * Writes the implementation of a method.
+     *
+     * @param out The output
+     * @param stub The simple name of the stub
+     * @param method The resolved remote procedure
+     */
+    private void writeMethod(PrintWriter out, String stub, RemoteMethod method) {
+        var params = method.element.getParameters();
+        var types = method.type.getParameterTypes();
+        var signature = new ArrayList<String>();
+
+        for (var i = 0; i < params.size(); i++) {
+            var type = types.get(i).toString();
+
+            if (method.element.isVarArgs() && i == params.size() - 1)
+                type = ((ArrayType) types.get(i)).getComponentType() + "...";
+
+            signature.add(type + " " + params.get(i).getSimpleName());
+        }
+
+        out.println("    @java.lang.Override");
+        out.print("    public " + method.type.getReturnType() + " " + method.element.getSimpleName() + "(" + String.join(", ", signature) + ")");
+
+        if (!method.type.getThrownTypes().isEmpty())
+            out.print(" throws " + method.type.getThrownTypes().stream().map(TypeMirror::toString).collect(Collectors.joining(", ")));
+
+        out.println(" {");
+
+        var args = "";
+
+        if (!params.isEmpty()) {
+            var values = "new java.lang.Object[] { " + params.stream().map(param -> param.getSimpleName().toString()).collect(Collectors.joining(", ")) + " }";
+
+            if (method.names.isEmpty())
+                args = ", " + POSITIONAL_PARAMETERS + ".adapted(this.adapters" + method.index + ", " + values + ")";
+            else
+                args = ", " + NAMED_PARAMETERS + ".adapted(" + stub + ".NAMES_" + method.index + ", this.adapters" + method.index + ", " + values + ")";
+        }
+
+        var procedure = stringLiteral(method.name);
+        var result = method.resultType == null ? JSON_ELEMENT + ".class" : stub + ".RESULT_" + method.index;
+        var resultType = method.resultType == null ? JSON_ELEMENT : method.resultType.toString();
+
+        if (method.notification) {
+            out.println("        this.connection.sendNotification(" + procedure + args + ");");
+        } else if (method.async) {
+            out.print("        return this.connection.<" + resultType + ">callRemoteProcedureAsync(" + procedure + args + ", " + result + ")");
+            out.println(method.resultType == null ? ".thenApply(result$ -> null);" : ";");
+        } else if (method.type.getReturnType().getKind() == TypeKind.VOID) {
+            out.println("        this.connection.<" + resultType + ">callRemoteProcedure(" + procedure + args + ", " + result + ");");
+        } else if (method.type.getReturnType().getKind().isPrimitive()) {
+            // a null result is returned as default value like by the proxy
+            out.println("        " + resultType + " result$ = this.connection.<" + resultType + ">callRemoteProcedure(" + procedure + args + ", " + result + ");");
+            out.println("        return result$ != null ? result$ : " + defaultValue(method.type.getReturnType().getKind()) + ";");
+        } else {
+            out.println("        return this.connection.<" + resultType + ">callRemoteProcedure(" + procedure + args + ", " + result + ");");
+        }
+
+        out.println("    }");
+    }
+
+    /**
+     * Creates an expression evaluating to the {@code java.lang.reflect.Type} of
+     * the type.
+     *
+     * @param type The type
+     * @return A class literal or the type of a {@code TypeToken}
+     */
+    private String typeLiteral(TypeMirror type) {
+        if (type.getKind().isPrimitive() || !type.toString().contains("<"))
+            return processingEnv.getTypeUtils().erasure(type) + ".class";
+
+        return "new com.google.gson.reflect.TypeToken<" + type + ">() {}.getType()";
+    }
+
+    /**
+     * Checks whether the {@code RpcException} is assignable to one of the thrown
+     * types of the method.
+     *
+     * @param type The type of the method
+     * @return {@code true} if the exception is declared
+     */
+    private boolean throwsRpcException(ExecutableType type) {
+        var exception = processingEnv.getElementUtils().getTypeElement(RPC_EXCEPTION);
+
+        if (exception == null)
+            return false;
+
+        return type.getThrownTypes().stream().anyMatch(thrown -> processingEnv.getTypeUtils().isAssignable(exception.asType(), thrown));
+    }
+
+    /**
+     * Checks whether the method redeclares {@code equals}, {@code hashCode} or
+     * {@code toString}, which are implemented by every stub.
+     *
+     * @param method The method
+     * @return {@code true} if it is a method of {@link Object}
+     */
+    private static boolean isObjectMethod(ExecutableElement method) {
+        var name = method.getSimpleName().toString();
+        var params = method.getParameters().size();
+
+        return params == 0 && (name.equals("hashCode") || name.equals("toString")) || params == 1 && name.equals("equals");
+    }
+
+    /**
+     * Checks whether the type is {@link Void}.
+     *
+     * @param type The type
+     * @return {@code true} if it is {@link Void}
+     */
+    private boolean isVoid(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((TypeElement) processingEnv.getTypeUtils().asElement(type)).getQualifiedName().contentEquals(Void.class.getName());
+    }
+
+    /**
+     * Reports an error on an element.
+     *
+     * @param element The element
+     * @param message The message
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Gets the name of the stub of a service interface.
+     * <p>
+     * The simple names of nested interfaces are joined by underscores.
+     *
+     * @param service The service interface
+     * @return The simple name of the stub
+     */
+    private static String stubName(TypeElement service) {
+        var name = service.getSimpleName().toString();
+
+        for (var enclosing = service.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement())
+            name = enclosing.getSimpleName() + "_" + name;
+
+        return name + "Stub";
+    }
+
+    /**
+     * Gets the annotation of the specified type from an element.
+     *
+     * @param element The annotated element
+     * @param name The qualified name of the annotation
+     * @return The annotation or null if the element is not annotated
+     */
+    private static AnnotationMirror annotation(Element element, String name) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name))
+                return mirror;
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the explicitly specified value of an annotation.
+     *
+     * @param annotation The annotation
+     * @param name The name of the value
+     * @return The value or null if it is not specified
+     */
+    private static Object value(AnnotationMirror annotation, String name) {
+        for (var entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return ((AnnotationValue) entry.getValue()).getValue();
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates the literal of the default value of a primitive type.
+     *
+     * @param kind The kind of the primitive type
+     * @return The literal of the default value
+     */
+    private static String defaultValue(TypeKind kind) {
+        switch (kind) {
+        case BOOLEAN:
+            return "false";
+
+        case CHAR:
+            return "'\\0'";
+
+        case BYTE:
+            return "(byte) 0";
+
+        case SHORT:
+            return "(short) 0";
+
+        case LONG:
+            return "0L";
+
+        case FLOAT:
+            return "0.0f";
+
+        case DOUBLE:
+            return "0.0d";
+
+        default:
+            return "0";
+        }
+    }
+
+    /**
+     * Creates a Java string literal.
+     *
+     * @param value The value of the literal
+     * @return The escaped and quoted value
+     */
+    private static String stringLiteral(String value) {
+        var sb = new StringBuilder("\"");
+
+        for (var c : value.toCharArray()) {
+            switch (c) {
+            case '"':
+            case '\\':
+                sb.append('\\').append(c);
+                break;
+
+            default:
+                if (c < 0x20 || c > 0x7e)
+                    sb.append(String.format("\\u%04x", (int) c));
+                else
+                    sb.append(c);
+            }
+        }
+
+        return sb.append('"').toString();
+    }
+
+    /**
+     * A method mapped to a remote procedure.
+     */
+    private static final class RemoteMethod {
+
+        /** The method. */
+        private final ExecutableElement element;
+
+        /** The type of the method as member of the service interface. */
+        private final ExecutableType type;
+
+        /** The index of the method in the stub. */
+        private final int index;
+
+        /** The parameter names, which are empty if the params are in array format. */
+        private final List<String> names = new ArrayList<>();
+
+        /** The name of the remote procedure. */
+        private String name;
+
+        /** Whether a notification is sent. */
+        private boolean notification;
+
+        /** Whether the method returns a future. */
+        private boolean async;
+
+        /** The type the result is bound to or null if the result is discarded. */
+        private TypeMirror resultType;
+
+        /**
+         * Creates a {@link RemoteMethod}.
+         *
+         * @param element The method
+         * @param type The type of the method as member of the service interface
+         * @param index The index of the method in the stub
+         */
+        private RemoteMethod(ExecutableElement element, ExecutableType type, int index) {
+            this.element = element;
+            this.type = type;
+            this.index = index;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+public final class RpcServiceProcessorTests {
+
+    private static final Map<String, String> RUNTIME = Map.ofEntries(
+            Map.entry("eliasstar/jsonrpc/annotations/RpcService", "package eliasstar.jsonrpc.annotations; public @interface RpcService {}"),
+            Map.entry("eliasstar/jsonrpc/annotations/RpcMethod", "package eliasstar.jsonrpc.annotations; public @interface RpcMethod { String value() default \"\"; boolean notification() default false; }"),
+            Map.entry("eliasstar/jsonrpc/annotations/RpcParam", "package eliasstar.jsonrpc.annotations; public @interface RpcParam { String value(); }"),
+            Map.entry("eliasstar/jsonrpc/exceptions/RpcException", "package eliasstar.jsonrpc.exceptions; public class RpcException extends Exception {}"),
+            Map.entry("eliasstar/jsonrpc/objects/parameter/Parameters", "package eliasstar.jsonrpc.objects.parameter; public interface Parameters<T> {}"),
+            Map.entry("eliasstar/jsonrpc/objects/parameter/PositionalParameters", "package eliasstar.jsonrpc.objects.parameter; public final class PositionalParameters implements Parameters<Object> {"
+                    + " public static PositionalParameters adapted(com.google.gson.TypeAdapter<?>[] adapters, Object... values) { return null; }"
+                    + " public static com.google.gson.TypeAdapter<?>[] adapters(com.google.gson.Gson gson, java.lang.reflect.Type... types) { return null; } }"),
+            Map.entry("eliasstar/jsonrpc/objects/parameter/NamedParameters", "package eliasstar.jsonrpc.objects.parameter; public final class NamedParameters implements Parameters<Object> {"
+                    + " public static NamedParameters adapted(String[] names, com.google.gson.TypeAdapter<?>[] adapters, Object... values) { return null; } }"),
+            Map.entry("eliasstar/jsonrpc/Connection", "package eliasstar.jsonrpc; import eliasstar.jsonrpc.objects.parameter.Parameters; public class Connection {"
+                    + " public com.google.gson.Gson gson() { return null; }"
+                    + " public <T> T callRemoteProcedure(String method, Parameters<?> params, java.lang.reflect.Type type) throws eliasstar.jsonrpc.exceptions.RpcException { return null; }"
+                    + " public <T> T callRemoteProcedure(String method, java.lang.reflect.Type type) throws eliasstar.jsonrpc.exceptions.RpcException { return null; }"
+                    + " public <T> java.util.concurrent.CompletableFuture<T> callRemoteProcedureAsync(String method, Parameters<?> params, java.lang.reflect.Type type) { return null; }"
+                    + " public <T> java.util.concurrent.CompletableFuture<T> callRemoteProcedureAsync(String method, java.lang.reflect.Type type) { return null; }"
+                    + " public void sendNotification(String method, Parameters<?> params) throws eliasstar.jsonrpc.exceptions.RpcException {} }"),
+            Map.entry("com/google/gson/Gson", "package com.google.gson; public class Gson {}"),
+            Map.entry("com/google/gson/JsonElement", "package com.google.gson; public abstract class JsonElement {}"),
+            Map.entry("com/google/gson/TypeAdapter", "package com.google.gson; public abstract class TypeAdapter<T> {}"),
+            Map.entry("com/google/gson/reflect/TypeToken", "package com.google.gson.reflect; public class TypeToken<T> { protected TypeToken() {} public java.lang.reflect.Type getType() { return null; } }"));
+
+    @TempDir
+    public Path generated;
+
+    @Test
+    public void testStubGeneration() throws IOException {
+        var diagnostics = compile("package test;"
+                + "import java.util.List;"
+                + "import java.util.concurrent.CompletableFuture;"
+                + "import eliasstar.jsonrpc.annotations.*;"
+                + "import eliasstar.jsonrpc.exceptions.RpcException;"
+                + "@RpcService public interface Service {"
+                + "  int add(int a, int b) throws RpcException;"
+                + "  @RpcMethod(\"named\") CompletableFuture<List<String>> other(@RpcParam(\"b\") String b, @RpcParam(\"a\") String... a);"
+                + "  @RpcMethod(notification = true) void log(String message) throws RpcException;"
+                + "  CompletableFuture<Void> reset();"
+                + "  String toString();"
+                + "}");
+
+        assertEquals(List.of(), diagnostics);
+
+        var stub = Files.readString(generated.resolve("test/ServiceStub.java"));
+
+        assertTrue(stub.contains("public final class ServiceStub implements test.Service"));
+        assertTrue(stub.contains("PARAMS_0 = { int.class, int.class }"));
+        assertTrue(stub.contains("java.lang.Integer result$ = this.connection.<java.lang.Integer>callRemoteProcedure(\"add\", eliasstar.jsonrpc.objects.parameter.PositionalParameters.adapted(this.adapters0, new java.lang.Object[] { a, b }), ServiceStub.RESULT_0);"));
+        assertTrue(stub.contains("return result$ != null ? result$ : 0;"));
+        assertTrue(stub.contains("RESULT_1 = new com.google.gson.reflect.TypeToken<java.util.List<java.lang.String>>() {}.getType();"));
+        assertTrue(stub.contains("NAMES_1 = { \"b\", \"a\" }"));
+        assertTrue(stub.contains("eliasstar.jsonrpc.objects.parameter.NamedParameters.adapted(ServiceStub.NAMES_1, this.adapters1, new java.lang.Object[] { b, a })"));
+        assertTrue(stub.contains("other(java.lang.String b, java.lang.String... a)"));
+        assertTrue(stub.contains("this.connection.sendNotification(\"log\""));
+        assertTrue(stub.contains("callRemoteProcedureAsync(\"reset\", com.google.gson.JsonElement.class).thenApply(result$ -> null);"));
+        assertTrue(!stub.contains("toString"));
+    }
+
+    @Test
+    public void testInvalidService() {
+        var diagnostics = compile("package test;"
+                + "import eliasstar.jsonrpc.annotations.*;"
+                + "@RpcService public interface Invalid {"
+                + "  void mixed(@RpcParam(\"a\") int a, int b) throws Exception;"
+                + "  void unchecked();"
+                + "}");
+
+        assertEquals(2, diagnostics.size());
+        assertTrue(diagnostics.get(0).contains("@RpcParam"));
+        assertTrue(diagnostics.get(1).contains("RpcException"));
+    }
+
+    @Test
+    public void testStubCall() throws Exception {
+        var classes = Path.of(System.getProperty("jsonrpc.classes", "../target/classes"));
+        assumeTrue(Files.isRegularFile(classes.resolve("eliasstar/jsonrpc/Connection.class")), "JsonRpc4J is not compiled");
+
+        var gson = Path.of(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        var diagnostics = compile("package test;"
+                + "import java.util.concurrent.CompletableFuture;"
+                + "import eliasstar.jsonrpc.annotations.*;"
+                + "import eliasstar.jsonrpc.exceptions.RpcException;"
+                + "@RpcService public interface Calculator {"
+                + "  int add(int a, int b) throws RpcException;"
+                + "  long missing() throws RpcException;"
+                + "  @RpcMethod(\"concat\") CompletableFuture<String> join(@RpcParam(\"first\") String first, @RpcParam(\"second\") String second);"
+                + "  @RpcMethod(notification = true) void log(String message) throws RpcException;"
+                + "}", classes + File.pathSeparator + gson);
+
+        assertEquals(List.of(), diagnostics);
+
+        try (var loader = new URLClassLoader(new URL[] { generated.toUri().toURL(), classes.toUri().toURL() }, getClass().getClassLoader())) {
+            var sent = Collections.synchronizedList(new ArrayList<JsonObject>());
+            var transport = transport(loader, sent);
+
+            var builder = loader.loadClass("eliasstar.jsonrpc.ConnectionBuilder").getConstructor(transport.getClass().getInterfaces()[0]).newInstance(transport);
+            var connection = builder.getClass().getMethod("build").invoke(builder);
+
+            var service = loader.loadClass("test.Calculator");
+            var stub = loader.loadClass("test.CalculatorStub").getConstructor(connection.getClass()).newInstance(connection);
+
+            assertEquals(5, service.getMethod("add", int.class, int.class).invoke(stub, 2, 3));
+            assertEquals("[2,3]", sent.get(0).get("params").toString());
+
+            assertEquals(0L, service.getMethod("missing").invoke(stub));
+
+            assertEquals("ab", ((CompletableFuture<?>) service.getMethod("join", String.class, String.class).invoke(stub, "a", "b")).get());
+            assertEquals("{\"first\":\"a\",\"second\":\"b\"}", sent.get(2).get("params").toString());
+
+            service.getMethod("log", String.class).invoke(stub, "message");
+            assertEquals("log", sent.get(3).get("method").getAsString());
+            assertTrue(!sent.get(3).has("id"));
+        }
+    }
+
+    private List<String> compile(String service) {
+        return compile(service, null);
+    }
+
+    private List<String> compile(String service, String classpath) {
+        var sources = new ArrayList<JavaFileObject>();
+        var options = new ArrayList<>(List.of("-s", generated.toString(), "-d", generated.toString()));
+
+        if (classpath == null)
+            RUNTIME.forEach((name, content) -> sources.add(source(name, content)));
+        else
+            options.addAll(List.of("-classpath", classpath));
+
+        sources.add(source("test/" + service.replaceAll(".*public interface (\\w+).*", "$1"), service));
+
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        var task = ToolProvider.getSystemJavaCompiler().getTask(null, null, diagnostics, options, null, sources);
+
+        task.setProcessors(List.of(new RpcServiceProcessor()));
+        task.call();
+
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+
+    private static Object transport(ClassLoader loader, List<JsonObject> sent) throws ClassNotFoundException {
+        var type = loader.loadClass("eliasstar.jsonrpc.transport.Transport");
+
+        return Proxy.newProxyInstance(loader, new Class<?>[] { type }, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "send":
+                sent.add(JsonParser.parseString(args[0].toString()).getAsJsonObject());
+                return null;
+
+            case "sendAsync":
+                sent.add(JsonParser.parseString(args[0].toString()).getAsJsonObject());
+                return CompletableFuture.completedFuture(null);
+
+            case "exchange":
+                return respond(args[0].toString(), sent);
+
+            case "exchangeAsync":
+                return CompletableFuture.completedFuture(respond(args[0].toString(), sent));
+
+            case "equals":
+                return proxy == args[0];
+
+            case "hashCode":
+                return System.identityHashCode(proxy);
+
+            case "toString":
+                return "Transport";
+
+            default:
+                return null;
+            }
+        });
+    }
+
+    private static ByteArrayInputStream respond(String payload, List<JsonObject> sent) {
+        var req = JsonParser.parseString(payload).getAsJsonObject();
+        var params = req.get("params");
+        JsonElement result;
+
+        sent.add(req);
+
+        switch (req.get("method").getAsString()) {
+        case "add":
+            result = new JsonPrimitive(params.getAsJsonArray().get(0).getAsInt() + params.getAsJsonArray().get(1).getAsInt());
+            break;
+
+        case "concat":
+            result = new JsonPrimitive(params.getAsJsonObject().get("first").getAsString() + params.getAsJsonObject().get("second").getAsString());
+            break;
+
+        default:
+            result = JsonNull.INSTANCE;
+        }
+
+        var res = new JsonObject();
+        res.addProperty("jsonrpc", "2.0");
+        res.add("id", req.get("id"));
+        res.add("result", result);
+
+        return new ByteArrayInputStream(res.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JavaFileObject source(String name, String content) {
+        return new SimpleJavaFileObject(URI.create("string:///" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+
+        };
+    }
+
+}
\ No newline at end of file
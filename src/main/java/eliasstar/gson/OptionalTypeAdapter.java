@@ -20,11 +20,12 @@ package eliasstar.gson;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.util.Optional;
 
 import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
-import com.google.gson.internal.Streams;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
@@ -44,15 +45,21 @@ final class OptionalTypeAdapter extends TypeAdapter<Optional<?>> {
     /** The {@link Type} of the optionals value. */
     private final Type typeOfOptional;
 
+    /** The {@link TypeAdapter} of the optionals value. */
+    private final TypeAdapter<Object> delegate;
+
     /**
      * Used by {@link OptionalTypeAdapterFactory}.
      *
      * @param gson The current gson instance
      * @param typeOfOptional The type parameter of the {@link Optional}
+     * @param delegate The {@link TypeAdapter} for the type parameter of the
+     *        {@link Optional}
      */
-    OptionalTypeAdapter(Gson gson, Type typeOfOptional) {
+    OptionalTypeAdapter(Gson gson, Type typeOfOptional, TypeAdapter<Object> delegate) {
         this.gson = gson;
         this.typeOfOptional = typeOfOptional;
+        this.delegate = delegate;
     }
 
     /**
@@ -67,11 +74,9 @@ final class OptionalTypeAdapter extends TypeAdapter<Optional<?>> {
     public void write(JsonWriter out, Optional<?> optional) throws IOException {
         var serialize = out.getSerializeNulls();
 
-        var json = optional.map(x -> gson.toJsonTree(x));
-
-        if (json.isPresent()) {
+        if (optional.isPresent()) {
             out.setSerializeNulls(true);
-            Streams.write(json.get(), out);
+            adapter(optional.get()).write(out, optional.get());
         } else {
             out.setSerializeNulls(false);
             out.nullValue();
@@ -90,7 +95,29 @@ final class OptionalTypeAdapter extends TypeAdapter<Optional<?>> {
      */
     @Override
     public Optional<?> read(JsonReader in) throws IOException {
-        return Optional.ofNullable(gson.fromJson(in, typeOfOptional));
+        return Optional.ofNullable(delegate.read(in));
+    }
+
+    /**
+     * Chooses the {@link TypeAdapter} for the value like gson does for fields.
+     * <p>
+     * If the runtime class of the value is more specific than the type parameter,
+     * its adapter is used, unless it is reflective while the delegate is not.
+     *
+     * @param value The value of the optional
+     * @return The {@link TypeAdapter} used to write the value
+     */
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<Object> adapter(Object value) {
+        if (!(typeOfOptional instanceof Class || typeOfOptional instanceof TypeVariable) || value.getClass() == typeOfOptional)
+            return delegate;
+
+        var runtimeAdapter = (TypeAdapter<Object>) gson.getAdapter(value.getClass());
+
+        if (runtimeAdapter instanceof ReflectiveTypeAdapterFactory.Adapter && !(delegate instanceof ReflectiveTypeAdapterFactory.Adapter))
+            return delegate;
+
+        return runtimeAdapter;
     }
 
 }
\ No newline at end of file
@@ -76,7 +76,10 @@ public final class OptionalTypeAdapterFactory implements TypeAdapterFactory {
         if (type.getRawType() == Optional.class && type.getType() instanceof ParameterizedType) {
             var optionalType = (ParameterizedType) type.getType();
 
-            return (TypeAdapter<T>) new OptionalTypeAdapter(gson, optionalType.getActualTypeArguments()[0]);
+            var typeOfOptional = optionalType.getActualTypeArguments()[0];
+            var delegate = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(typeOfOptional));
+
+            return (TypeAdapter<T>) new OptionalTypeAdapter(gson, typeOfOptional, delegate);
         }
 
         return null;
@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import eliasstar.jsonrpc.exceptions.ConnectionException;
+import eliasstar.jsonrpc.objects.Error;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.TypedResponse;
+import eliasstar.jsonrpc.objects.id.Id;
+import eliasstar.jsonrpc.transport.Payload;
+import eliasstar.jsonrpc.transport.Transport;
+
+/**
+ * Collects the requests of concurrent calls and sends them as one batch.
+ * <p>
+ * A batch is sent once the window has elapsed since its first request was
+ * submitted or once it contains the maximum number of requests, whichever
+ * happens first. The responses of a batch are demultiplexed to the calls by
+ * their ids while the batch response is streamed. Each result is bound by the
+ * adapter of its call's result type without building a tree first.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class AutoBatcher {
+
+    /** The type of a request id. */
+    private static final TypeToken<Id<?>> ID_TYPE = new TypeToken<>() {};
+
+    /** The transport carrying the batches. */
+    private final Transport transport;
+
+    /** The gson instance used for serialization and deserialization. */
+    private final Gson gson;
+
+    /** The time a request may wait for other requests in nanoseconds. */
+    private final long window;
+
+    /** The maximum number of requests in a batch. */
+    private final int maxBatchSize;
+
+    /** The thread sending batches after their window elapsed. */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        var thread = new Thread(task, "json-rpc-batcher");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    /** The lock guarding the open batch. */
+    private final Object lock = new Object();
+
+    /** The calls of the open batch. */
+    private List<Call> calls = new ArrayList<>();
+
+    /** The scheduled sending of the open batch. */
+    private ScheduledFuture<?> scheduled;
+
+    /** The number of batches taken so far, used to ignore stale timers. */
+    private long generation;
+
+    /** Whether the batcher was closed. */
+    private boolean closed;
+
+    /**
+     * Used by {@link Connection}.
+     *
+     * @param transport The transport carrying the batches
+     * @param gson The gson instance used for serialization and deserialization
+     * @param window The time a request may wait for other requests
+     * @param maxBatchSize The maximum number of requests in a batch
+     */
+    AutoBatcher(Transport transport, Gson gson, Duration window, int maxBatchSize) {
+        if (window.isNegative() || maxBatchSize < 1)
+            throw new IllegalArgumentException("Invalid batch window or size");
+
+        this.transport = Objects.requireNonNull(transport);
+        this.gson = Objects.requireNonNull(gson);
+        this.window = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Adds the request to the open batch.
+     *
+     * @param req A {@link Request} with an id
+     * @param type Either {@link Response} or a parameterized
+     *             {@link TypedResponse}
+     * @return A future completed with the response to the request or
+     *         exceptionally with a {@link ConnectionException} if sending fails
+     *         or the batcher is closed
+     */
+    CompletableFuture<Object> submit(Request req, Type type) {
+        var call = new Call(req, type, gson);
+        List<Call> full = null;
+
+        synchronized (lock) {
+            if (closed) {
+                call.future.completeExceptionally(new ConnectionException("Connection is closed"));
+                return call.future;
+            }
+
+            calls.add(call);
+
+            if (calls.size() >= maxBatchSize) {
+                full = take();
+            } else if (calls.size() == 1) {
+                var current = generation;
+                scheduled = scheduler.schedule(() -> flush(current), window, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (full != null)
+            dispatch(full);
+
+        return call.future;
+    }
+
+    /**
+     * Sends the open batch immediately.
+     */
+    void flush() {
+        List<Call> batch;
+
+        synchronized (lock) {
+            batch = take();
+        }
+
+        if (!batch.isEmpty())
+            dispatch(batch);
+    }
+
+    /**
+     * Sends the open batch if it is still the batch the timer was scheduled for.
+     * <p>
+     * A timer may fire while its batch is already taken because it became full,
+     * it must not send the following batch early.
+     *
+     * @param expected The generation of the batch the timer was scheduled for
+     */
+    private void flush(long expected) {
+        List<Call> batch;
+
+        synchronized (lock) {
+            if (generation != expected)
+                return;
+
+            batch = take();
+        }
+
+        if (!batch.isEmpty())
+            dispatch(batch);
+    }
+
+    /**
+     * Takes the calls of the open batch and cancels its timer.
+     * <p>
+     * Must be called while holding the lock.
+     *
+     * @return The calls of the open batch
+     */
+    private List<Call> take() {
+        var batch = calls;
+
+        calls = new ArrayList<>();
+        generation++;
+
+        if (scheduled != null)
+            scheduled.cancel(false);
+
+        scheduled = null;
+        return batch;
+    }
+
+    /**
+     * Sends the open batch and stops the scheduler.
+     */
+    void close() {
+        synchronized (lock) {
+            closed = true;
+        }
+
+        flush();
+        scheduler.shutdown();
+    }
+
+    /**
+     * Sends the calls as batch and completes them with their responses.
+     * <p>
+     * A single call is sent as plain request.
+     *
+     * @param batch The calls to be sent
+     */
+    private void dispatch(List<Call> batch) {
+        Object message;
+
+        if (batch.size() == 1)
+            message = batch.get(0).req;
+        else
+            message = batch.stream().map(call -> call.req).toArray(Request[]::new);
+
+        CompletableFuture<Void> sent;
+
+        try {
+            sent = transport.exchangeAsync(Payload.encode(gson, message)).thenAccept(in -> read(in, batch));
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+
+        sent.whenComplete((res, e) -> {
+            var failure = e != null ? Connection.failure(e) : null;
+
+            for (var call : batch) {
+                if (call.received != null)
+                    call.future.complete(call.received);
+                else if (failure != null)
+                    call.future.completeExceptionally(failure);
+                else
+                    call.future.completeExceptionally(new ConnectionException("No response for id " + call.req.id().get()));
+            }
+        });
+    }
+
+    /**
+     * Deserializes the response of a batch, assigns the responses to their
+     * calls and closes it.
+     * <p>
+     * A single call is decoded by the adapter of its response type. The entries
+     * of a batch response are decoded one by one, see
+     * {@link #readEntry(JsonReader, Map)}. If the service rejected the batch as
+     * a whole every call receives the same response.
+     * <p>
+     * If decoding fails the calls which received a response so far keep it.
+     *
+     * @param in The response
+     * @param batch The calls which were sent
+     * @throws JsonIOException If reading from the stream fails
+     */
+    private void read(InputStream in, List<Call> batch) {
+        try (in) {
+            var reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            var token = reader.peek();
+
+            if (token == JsonToken.BEGIN_ARRAY) {
+                var pending = new HashMap<Id<?>, Call>();
+
+                for (var call : batch)
+                    pending.put(call.req.id().get(), call);
+
+                reader.beginArray();
+
+                while (reader.hasNext())
+                    readEntry(reader, pending);
+
+                reader.endArray();
+            } else if (batch.size() == 1) {
+                var call = batch.get(0);
+                var res = gson.getAdapter(TypeToken.get(call.type)).read(reader);
+
+                call.received = res;
+            } else {
+                // the service rejected the batch as a whole
+                var res = gson.getAdapter(JsonElement.class).read(reader);
+
+                if (!res.isJsonNull())
+                    batch.forEach(call -> call.received = gson.fromJson(res, call.type));
+            }
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Deserializes one entry of a batch response and assigns it to its call.
+     * <p>
+     * The result is bound by the adapter of the call's result type if the id
+     * preceded it, which is the order services usually write. Otherwise it is
+     * buffered as {@link JsonElement} until the id is known. Entries which are
+     * no object or do not belong to a call are skipped.
+     *
+     * @param in The {@link JsonReader} positioned at the entry
+     * @param pending The calls which were sent by their ids
+     * @throws IOException If deserialization fails
+     */
+    private void readEntry(JsonReader in, Map<Id<?>, Call> pending) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return;
+        }
+
+        Id<?> id = null;
+        Call call = null;
+        Object result = null;
+        JsonElement buffered = null;
+        Error error = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+            case "id":
+                id = gson.getAdapter(ID_TYPE).read(in);
+                call = id != null ? pending.get(id) : null;
+                break;
+
+            case "result":
+                if (call != null)
+                    result = call.resultAdapter.read(in);
+                else
+                    buffered = gson.getAdapter(JsonElement.class).read(in);
+
+                break;
+
+            case "error":
+                error = gson.getAdapter(Error.class).read(in);
+                break;
+
+            default:
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (call == null)
+            return;
+
+        if (buffered != null)
+            result = call.resultAdapter.fromJsonTree(buffered);
+
+        call.received = call.response(id, result, error);
+    }
+
+    /**
+     * A submitted request and its pending response.
+     */
+    private static final class Call {
+
+        /** The submitted request. */
+        private final Request req;
+
+        /** The type of the response, {@link Response} or {@link TypedResponse}. */
+        private final Type type;
+
+        /** The adapter used for the result. */
+        private final TypeAdapter<?> resultAdapter;
+
+        /** The response read from the batch response or null. */
+        private Object received;
+
+        /** The pending response. */
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        /**
+         * Creates a {@link Call}.
+         *
+         * @param req The submitted request
+         * @param type Either {@link Response} or a parameterized
+         *             {@link TypedResponse}
+         * @param gson The gson instance providing the adapter of the result
+         */
+        private Call(Request req, Type type, Gson gson) {
+            this.req = req;
+            this.type = type;
+
+            Type resultType = JsonElement.class;
+
+            if (type instanceof ParameterizedType)
+                resultType = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+            this.resultAdapter = gson.getAdapter(TypeToken.get(resultType));
+        }
+
+        /**
+         * Creates the response of the call's type.
+         *
+         * @param id The id of the response
+         * @param result The result read by {@link #resultAdapter}
+         * @param error The error
+         * @return A {@link Response} or a {@link TypedResponse}
+         */
+        private Object response(Id<?> id, Object result, Error error) {
+            if (type == Response.class)
+                return new Response(id, (JsonElement) result, error);
+
+            return new TypedResponse<>(id, result, error);
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import eliasstar.jsonrpc.exceptions.ConnectionException;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.transport.Payload;
+
+/**
+ * Sends large batches as several smaller batch requests.
+ * <p>
+ * The requests are encoded once each and split into chunks, which contain at
+ * most the maximum number of requests and, unless a single request exceeds it,
+ * at most the maximum number of bytes. The chunks are composed from the encoded
+ * requests without encoding them again and are sent concurrently over the
+ * {@link eliasstar.jsonrpc.transport.Transport Transport} of the
+ * {@link Connection}, limited by the parallelism. The responses of all chunks
+ * are merged into one {@link BatchResult} in the order of the requests.
+ * <p>
+ * If any chunk fails or its response cannot be read, the whole batch fails with
+ * a {@link ConnectionException}.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class BatchExecutor {
+
+    /** The connection the chunks are sent over. */
+    private final Connection connection;
+
+    /** The maximum number of requests in a chunk. */
+    private final int maxRequests;
+
+    /** The maximum size of a chunk in bytes. */
+    private final long maxBytes;
+
+    /** The maximum number of chunks in flight. */
+    private final int parallelism;
+
+    /**
+     * Creates a {@link BatchExecutor}.
+     *
+     * @param connection The connection the chunks are sent over
+     * @param maxRequests The maximum number of requests in a chunk
+     * @param maxBytes The maximum size of a chunk in bytes
+     * @param parallelism The maximum number of chunks in flight
+     * @throws IllegalArgumentException If a limit is not positive
+     */
+    public BatchExecutor(Connection connection, int maxRequests, long maxBytes, int parallelism) {
+        if (maxRequests < 1 || maxBytes < 1 || parallelism < 1)
+            throw new IllegalArgumentException("Limits must be positive");
+
+        this.connection = Objects.requireNonNull(connection);
+        this.maxRequests = maxRequests;
+        this.maxBytes = maxBytes;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sends the requests in chunks and waits for all responses.
+     *
+     * @param requests The {@link Request Requests} or
+     *        {@link eliasstar.jsonrpc.objects.Notification Notifications}
+     * @return The {@link BatchResult} of all requests
+     * @throws ConnectionException If sending a chunk fails
+     */
+    public BatchResult execute(Request... requests) throws ConnectionException {
+        try {
+            return executeAsync(requests).get();
+        } catch (InterruptedException e) {
+            throw new ConnectionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ConnectionException)
+                throw (ConnectionException) e.getCause();
+
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+
+            throw new ConnectionException(e.getCause());
+        }
+    }
+
+    /**
+     * Sends the requests in chunks without blocking.
+     *
+     * @param requests The {@link Request Requests} or
+     *        {@link eliasstar.jsonrpc.objects.Notification Notifications}
+     * @return A future completed with the {@link BatchResult} of all requests or
+     *         exceptionally with a {@link ConnectionException} if sending a chunk
+     *         fails
+     */
+    public CompletableFuture<BatchResult> executeAsync(Request... requests) {
+        var chunks = split(Objects.requireNonNull(requests));
+        var responses = new Response[chunks.size()][];
+        var next = new AtomicInteger();
+        var workers = new CompletableFuture<?>[Math.min(parallelism, chunks.size())];
+
+        for (var i = 0; i < workers.length; i++)
+            workers[i] = work(chunks, responses, next);
+
+        return CompletableFuture.allOf(workers).thenApply(v -> {
+            var merged = new ArrayList<Response>(requests.length);
+
+            for (var chunk : responses)
+                if (chunk != null)
+                    merged.addAll(List.of(chunk));
+
+            return new BatchResult(requests, merged.toArray(Response[]::new));
+        });
+    }
+
+    /**
+     * Encodes the requests and splits them into chunks.
+     *
+     * @param requests The requests
+     * @return The encoded chunks
+     */
+    private List<Payload> split(Request[] requests) {
+        var chunks = new ArrayList<Payload>();
+        var chunk = new ArrayList<Payload>();
+        var bytes = 2L;
+
+        for (var req : requests) {
+            var encoded = Payload.encode(connection.gson, req);
+
+            if (!chunk.isEmpty() && (chunk.size() == maxRequests || bytes + 1 + encoded.length() > maxBytes)) {
+                chunks.add(Payload.array(chunk));
+                chunk = new ArrayList<>();
+                bytes = 2L;
+            }
+
+            bytes += (chunk.isEmpty() ? 0 : 1) + encoded.length();
+            chunk.add(encoded);
+        }
+
+        if (!chunk.isEmpty())
+            chunks.add(Payload.array(chunk));
+
+        return chunks;
+    }
+
+    /**
+     * Sends the unsent chunks one after another until all chunks are sent.
+     *
+     * @param chunks The chunks
+     * @param responses The responses of the chunks
+     * @param next The index of the next unsent chunk
+     * @return A future completed when no unsent chunk is left
+     */
+    private CompletableFuture<Void> work(List<Payload> chunks, Response[][] responses, AtomicInteger next) {
+        var done = new CompletableFuture<Void>();
+        work(chunks, responses, next, done);
+
+        return done;
+    }
+
+    /**
+     * Sends unsent chunks until one does not complete immediately, then continues
+     * once it completes.
+     * <p>
+     * Chunks which complete immediately are handled in a loop, so transports
+     * completing synchronously do not grow the stack with every chunk.
+     *
+     * @param chunks The chunks
+     * @param responses The responses of the chunks
+     * @param next The index of the next unsent chunk
+     * @param done The future completed when no unsent chunk is left
+     */
+    private void work(List<Payload> chunks, Response[][] responses, AtomicInteger next, CompletableFuture<Void> done) {
+        int i;
+
+        while ((i = next.getAndIncrement()) < chunks.size()) {
+            var index = i;
+            var sent = send(chunks.get(index));
+
+            if (!sent.isDone()) {
+                sent.whenComplete((res, e) -> {
+                    if (e != null) {
+                        done.completeExceptionally(Connection.failure(e));
+                    } else {
+                        responses[index] = res;
+                        work(chunks, responses, next, done);
+                    }
+                });
+
+                return;
+            }
+
+            try {
+                responses[index] = sent.join();
+            } catch (CompletionException e) {
+                done.completeExceptionally(Connection.failure(e));
+                return;
+            }
+        }
+
+        done.complete(null);
+    }
+
+    /**
+     * Sends a chunk over the transport of the connection.
+     *
+     * @param chunk The encoded chunk
+     * @return A future completed with the responses, which is null if the chunk
+     *         only contains notifications
+     */
+    private CompletableFuture<Response[]> send(Payload chunk) {
+        var transport = connection.transport;
+
+        if (chunk.ids().isEmpty())
+            return transport.sendAsync(chunk).handle((res, e) -> {
+                if (e != null)
+                    throw new CompletionException(Connection.failure(e));
+
+                return null;
+            });
+
+        return transport.exchangeAsync(chunk).handle((in, e) -> {
+            if (e != null)
+                throw new CompletionException(Connection.failure(e));
+
+            return read(in);
+        });
+    }
+
+    /**
+     * Deserializes the responses to a chunk.
+     * <p>
+     * If the service rejected the chunk as a whole with a single error object,
+     * that {@link Response} is returned alone, so it is reported as unexpected
+     * response and the requests of the chunk as missing by the
+     * {@link BatchResult}.
+     *
+     * @param in The response to the chunk
+     * @return The responses
+     * @throws CompletionException Wrapping a {@link ConnectionException} if the
+     *         response cannot be read
+     */
+    private Response[] read(InputStream in) {
+        try (in) {
+            var reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+            if (reader.peek() == JsonToken.BEGIN_OBJECT)
+                return new Response[] { connection.gson.fromJson(reader, Response.class) };
+
+            return connection.gson.fromJson(reader, Response[].class);
+        } catch (IOException | JsonParseException e) {
+            throw new CompletionException(new ConnectionException(e));
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.gson.JsonElement;
+
+import eliasstar.jsonrpc.exceptions.ErrorResponseException;
+import eliasstar.jsonrpc.exceptions.MissingResponseException;
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.id.Id;
+
+/**
+ * The responses to a batch request, matched to its {@link Request Requests} by
+ * their ids.
+ * <p>
+ * The service may return the responses of a batch in any order. This class
+ * indexes them by {@link Id}, so that the response to each request can be
+ * looked up by the position of the request in the batch or by its id in
+ * constant time.
+ * <p>
+ * Requests without a matching response are reported by {@link #missingIds()},
+ * responses without a matching request, e.g. errors with a null id, by
+ * {@link #unexpectedResponses()}.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class BatchResult {
+
+    /** The requests of the batch. */
+    private final Request[] requests;
+
+    /** The responses in the order of the requests, null if missing. */
+    private final Response[] ordered;
+
+    /** The responses by their ids. */
+    private final Map<Id<?>, Response> byId;
+
+    /** The ids of the requests without a response. */
+    private final List<Id<?>> missing;
+
+    /** The responses without a request. */
+    private final List<Response> unexpected;
+
+    /**
+     * Matches the responses to the requests.
+     * <p>
+     * If the service returned more than one response with the same id, the first
+     * is used and the others are unexpected.
+     *
+     * @param requests The requests of the batch
+     * @param responses The responses received, in any order
+     */
+    public BatchResult(Request[] requests, Response[] responses) {
+        this.requests = requests.clone();
+        this.ordered = new Response[requests.length];
+        this.byId = new HashMap<>(responses.length * 4 / 3 + 1);
+
+        var requested = new HashSet<Id<?>>(requests.length * 4 / 3 + 1);
+
+        for (var req : requests)
+            req.id().ifPresent(requested::add);
+
+        var missing = new ArrayList<Id<?>>();
+        var unexpected = new ArrayList<Response>();
+
+        for (var res : responses)
+            if (!requested.contains(res.id()) || byId.putIfAbsent(res.id(), res) != null)
+                unexpected.add(res);
+
+        for (var i = 0; i < requests.length; i++) {
+            var id = requests[i].id();
+
+            if (id.isPresent()) {
+                ordered[i] = byId.get(id.get());
+
+                if (ordered[i] == null)
+                    missing.add(id.get());
+            }
+        }
+
+        this.missing = Collections.unmodifiableList(missing);
+        this.unexpected = Collections.unmodifiableList(unexpected);
+    }
+
+    /**
+     * Gets the number of requests in the batch.
+     *
+     * @return The size of the batch
+     */
+    public int size() {
+        return requests.length;
+    }
+
+    /**
+     * Gets the response to the request at the position.
+     *
+     * @param index The position of the request in the batch
+     * @return The response or an empty {@link Optional} if the request is a
+     *         {@link Notification} or no response was received
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public Optional<Response> response(int index) {
+        return Optional.ofNullable(ordered[Objects.checkIndex(index, ordered.length)]);
+    }
+
+    /**
+     * Gets the response with the id.
+     *
+     * @param id The id of a request
+     * @return The response or an empty {@link Optional} if none was received
+     */
+    public Optional<Response> response(Id<?> id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Gets the responses in the order of the requests.
+     * <p>
+     * The array contains null for notifications and for requests without a
+     * response.
+     *
+     * @return A new array of the responses
+     */
+    public Response[] responses() {
+        return ordered.clone();
+    }
+
+    /**
+     * Gets the result of the request at the position, checked like
+     * {@link Connection#callRemoteProcedure(String)}.
+     *
+     * @param index The position of the request in the batch
+     * @return The result of the {@link Response}
+     * @throws ErrorResponseException If instead of a result a error was received
+     * @throws MissingResponseException If no response was received
+     * @throws IllegalArgumentException If the request is a {@link Notification}
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public JsonElement result(int index) throws ErrorResponseException, MissingResponseException {
+        var id = requests[Objects.checkIndex(index, requests.length)].id();
+
+        if (id.isEmpty())
+            throw new IllegalArgumentException("Notifications have no result");
+
+        var res = ordered[index];
+
+        if (res == null)
+            throw new MissingResponseException(id.get());
+
+        if (res.isUnsuccessful())
+            throw new ErrorResponseException(res.error().get());
+
+        return res.result().get();
+    }
+
+    /**
+     * Gets the ids of the requests without a response.
+     *
+     * @return The ids in the order of the requests
+     */
+    public List<Id<?>> missingIds() {
+        return missing;
+    }
+
+    /**
+     * Gets the responses whose ids match no request.
+     *
+     * @return The responses in the order they were received
+     */
+    public List<Response> unexpectedResponses() {
+        return unexpected;
+    }
+
+    /**
+     * Checks whether every request received a response and no unexpected
+     * response was received.
+     *
+     * @return {@code true} if the batch is complete
+     */
+    public boolean isComplete() {
+        return missing.isEmpty() && unexpected.isEmpty();
+    }
+
+}
\ No newline at end of file
@@ -18,20 +18,32 @@
 
 package eliasstar.jsonrpc;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.BodyPublishers;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.internal.Primitives;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
 
 import eliasstar.jsonrpc.exceptions.ConnectionException;
 import eliasstar.jsonrpc.exceptions.ErrorResponseException;
@@ -39,23 +51,33 @@ import eliasstar.jsonrpc.exceptions.IdMismatchException;
 import eliasstar.jsonrpc.objects.Notification;
 import eliasstar.jsonrpc.objects.Request;
 import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.TypedResponse;
+import eliasstar.jsonrpc.objects.id.IdGenerator;
+import eliasstar.jsonrpc.objects.parameter.ArrayParameters;
+import eliasstar.jsonrpc.objects.parameter.ObjectParameters;
+import eliasstar.jsonrpc.objects.parameter.Parameters;
+import eliasstar.jsonrpc.objects.parameter.PositionalParameters;
+import eliasstar.jsonrpc.transport.Payload;
+import eliasstar.jsonrpc.transport.Transport;
 
 /**
  * This class is the primary way of interacting with a JSON-RPC service.
  * <p>
  * Use it to {@link #callRemoteProcedure(String) call a remote procedure} or
  * {@link #sendNotification(String) send a} {@link Notification}.
+ * <p>
+ * Every blocking method has an asynchronous counterpart, e.g.
+ * {@link #callRemoteProcedureAsync(String)}, which returns a
+ * {@link CompletableFuture} instead of parking the calling thread for the
+ * duration of the round trip.
  *
  * @author Elias*
  * @since 0.1.0
  */
-public class Connection {
-
-    /** The client used by this {@link Connection}. */
-    protected final HttpClient client;
+public class Connection implements Closeable {
 
-    /** The request builder used for new requests. */
-    protected final HttpRequest.Builder reqBuilder;
+    /** The transport carrying the messages of this {@link Connection}. */
+    protected final Transport transport;
 
     /** The gson instance used for serialization and deserialization. */
     protected final Gson gson;
@@ -63,22 +85,43 @@ public class Connection {
     /** The optional id of this {@link Connection}. */
     protected final Optional<String> id;
 
-    /** The next request id. */
-    protected int requestId;
+    /** The generator of the request ids. */
+    protected final IdGenerator idGenerator;
+
+    /** The optional batcher combining concurrent calls. */
+    private final Optional<AutoBatcher> batcher;
 
     /**
      * Used by {@link ConnectionBuilder}.
      *
-     * @param id The id prefix used for requests
-     * @param client The client used for requests
-     * @param reqBuilder The request builder used for new requests
+     * @param id The id of this {@link Connection}
+     * @param transport The transport carrying the messages
+     * @param gson The gson instance used for serialization and deserialization.
+     * @param idGenerator The generator of the request ids
+     */
+    protected Connection(String id, Transport transport, Gson gson, IdGenerator idGenerator) {
+        this(id, transport, gson, idGenerator, null, 0);
+    }
+
+    /**
+     * Used by {@link ConnectionBuilder}.
+     * <p>
+     * If batchWindow is not null, requests are batched automatically as
+     * described in {@link ConnectionBuilder#setAutoBatching(Duration, int)}.
+     *
+     * @param id The id of this {@link Connection}
+     * @param transport The transport carrying the messages
      * @param gson The gson instance used for serialization and deserialization.
+     * @param idGenerator The generator of the request ids
+     * @param batchWindow The time a request may wait for other requests or null
+     * @param maxBatchSize The maximum number of requests in a batch
      */
-    protected Connection(String id, HttpClient client, HttpRequest.Builder reqBuilder, Gson gson) {
+    protected Connection(String id, Transport transport, Gson gson, IdGenerator idGenerator, Duration batchWindow, int maxBatchSize) {
         this.id = Optional.ofNullable(id);
-        this.client = Objects.requireNonNull(client);
-        this.reqBuilder = Objects.requireNonNull(reqBuilder);
+        this.transport = Objects.requireNonNull(transport);
         this.gson = Objects.requireNonNull(gson);
+        this.idGenerator = Objects.requireNonNull(idGenerator);
+        this.batcher = batchWindow == null ? Optional.empty() : Optional.of(new AutoBatcher(transport, gson, batchWindow, maxBatchSize));
     }
 
     /**
@@ -94,12 +137,86 @@ public class Connection {
     public Optional<Response> sendRequest(Request req) throws ConnectionException {
         Objects.requireNonNull(req);
 
-        var res = send(gson.toJson(req));
+        if (req instanceof Notification) {
+            send(req, null);
+            return Optional.empty();
+        }
+
+        return Optional.of(send(req, Response.class));
+    }
+
+    /**
+     * Sends a {@link Request} object to the server asynchronously.
+     * <p>
+     * If the request is a {@link Notification} the {@link Optional} the returned
+     * future is completed with will be empty.
+     * <p>
+     * If sending fails the future is completed exceptionally with a
+     * {@link ConnectionException}.
+     *
+     * @param req The {@link Request} or {@link Notification}
+     * @return A future completed with an optional {@link Response}
+     */
+    public CompletableFuture<Optional<Response>> sendRequestAsync(Request req) {
+        Objects.requireNonNull(req);
 
         if (req instanceof Notification)
+            return sendAsync(req, null).thenApply(res -> Optional.empty());
+
+        return this.<Response>sendAsync(req, Response.class).thenApply(Optional::of);
+    }
+
+    /**
+     * Sends a {@link Request} object to the server and binds the result of the
+     * {@link TypedResponse} to the specified type.
+     * <p>
+     * The result is deserialized while the response is parsed, so no intermediate
+     * {@link JsonElement} tree is built.
+     * <p>
+     * If the request is a {@link Notification} the returned {@link Optional} will
+     * be empty.
+     *
+     * @param <T> The type of the result
+     * @param req The {@link Request} or {@link Notification}
+     * @param resultType The type of the result
+     * @return A optional {@link TypedResponse}
+     * @throws ConnectionException If sending fails
+     */
+    public <T> Optional<TypedResponse<T>> sendRequest(Request req, Type resultType) throws ConnectionException {
+        Objects.requireNonNull(req);
+        Objects.requireNonNull(resultType);
+
+        if (req instanceof Notification) {
+            send(req, null);
             return Optional.empty();
+        }
 
-        return Optional.of(gson.fromJson(res, Response.class));
+        return Optional.of(send(req, typedResponseType(resultType)));
+    }
+
+    /**
+     * Sends a {@link Request} object to the server asynchronously and binds the
+     * result of the {@link TypedResponse} to the specified type.
+     * <p>
+     * If the request is a {@link Notification} the {@link Optional} the returned
+     * future is completed with will be empty.
+     * <p>
+     * If sending fails the future is completed exceptionally with a
+     * {@link ConnectionException}.
+     *
+     * @param <T> The type of the result
+     * @param req The {@link Request} or {@link Notification}
+     * @param resultType The type of the result
+     * @return A future completed with an optional {@link TypedResponse}
+     */
+    public <T> CompletableFuture<Optional<TypedResponse<T>>> sendRequestAsync(Request req, Type resultType) {
+        Objects.requireNonNull(req);
+        Objects.requireNonNull(resultType);
+
+        if (req instanceof Notification)
+            return sendAsync(req, null).thenApply(res -> Optional.empty());
+
+        return this.<TypedResponse<T>>sendAsync(req, typedResponseType(resultType)).thenApply(Optional::of);
     }
 
     /**
@@ -116,7 +233,7 @@ public class Connection {
      *         as the {@link Request}.
      */
     public JsonElement callRemoteProcedure(String method) throws ConnectionException, ErrorResponseException, IdMismatchException {
-        var req = id.map(i -> new Request(i + "-" + requestId++, method)).orElse(new Request(requestId++, method));
+        var req = new Request(idGenerator.next(), method, null);
         return checkResponse(req, sendRequest(req).get());
     }
 
@@ -136,7 +253,7 @@ public class Connection {
      *         as the {@link Request}.
      */
     public JsonElement callRemoteProcedure(String method, JsonArray params) throws ConnectionException, ErrorResponseException, IdMismatchException {
-        var req = id.map(i -> new Request(i + "-" + requestId++, method, params)).orElse(new Request(requestId++, method, params));
+        var req = new Request(idGenerator.next(), method, new ArrayParameters(params));
         return checkResponse(req, sendRequest(req).get());
     }
 
@@ -156,10 +273,244 @@ public class Connection {
      *         as the {@link Request}.
      */
     public JsonElement callRemoteProcedure(String method, JsonObject params) throws ConnectionException, ErrorResponseException, IdMismatchException {
-        var req = id.map(i -> new Request(i + "-" + requestId++, method, params)).orElse(new Request(requestId++, method, params));
+        var req = new Request(idGenerator.next(), method, new ObjectParameters(params));
         return checkResponse(req, sendRequest(req).get());
     }
 
+    /**
+     * Calls a remote procedure asynchronously.
+     * <p>
+     * Sends a {@link Request} with the specified method and checks the response.
+     * <p>
+     * The returned future is completed exceptionally with a
+     * {@link ConnectionException} if sending fails, an
+     * {@link ErrorResponseException} if a {@link Response} with an {@link Error}
+     * is received or an {@link IdMismatchException} if the {@link Response} does
+     * not have the same id as the {@link Request}.
+     *
+     * @param method The method to invoke
+     * @return A future completed with the result of the operation
+     */
+    public CompletableFuture<JsonElement> callRemoteProcedureAsync(String method) {
+        var req = new Request(idGenerator.next(), method, null);
+        return sendRequestAsync(req).thenApply(res -> checkResponseAsync(req, res.get()));
+    }
+
+    /**
+     * Calls a remote procedure asynchronously.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response.
+     * <p>
+     * The returned future is completed exceptionally with a
+     * {@link ConnectionException} if sending fails, an
+     * {@link ErrorResponseException} if a {@link Response} with an {@link Error}
+     * is received or an {@link IdMismatchException} if the {@link Response} does
+     * not have the same id as the {@link Request}.
+     *
+     * @param method The method to invoke
+     * @param params The parameters of the method
+     * @return A future completed with the result of the operation
+     */
+    public CompletableFuture<JsonElement> callRemoteProcedureAsync(String method, JsonArray params) {
+        var req = new Request(idGenerator.next(), method, new ArrayParameters(params));
+        return sendRequestAsync(req).thenApply(res -> checkResponseAsync(req, res.get()));
+    }
+
+    /**
+     * Calls a remote procedure asynchronously.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response.
+     * <p>
+     * The returned future is completed exceptionally with a
+     * {@link ConnectionException} if sending fails, an
+     * {@link ErrorResponseException} if a {@link Response} with an {@link Error}
+     * is received or an {@link IdMismatchException} if the {@link Response} does
+     * not have the same id as the {@link Request}.
+     *
+     * @param method The method to invoke
+     * @param params The parameters of the method
+     * @return A future completed with the result of the operation
+     */
+    public CompletableFuture<JsonElement> callRemoteProcedureAsync(String method, JsonObject params) {
+        var req = new Request(idGenerator.next(), method, new ObjectParameters(params));
+        return sendRequestAsync(req).thenApply(res -> checkResponseAsync(req, res.get()));
+    }
+
+    /**
+     * Calls a remote procedure and binds the result to the specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and checks the response.
+     * The result is deserialized while the response is parsed.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param resultType The type of the result
+     * @return The result of the operation, which is null if the result was null
+     * @throws ConnectionException If sending fails
+     * @throws ErrorResponseException If a {@link Response} with an {@link Error} is
+     *         received
+     * @throws IdMismatchException If the {@link Response} does not have the same id
+     *         as the {@link Request}.
+     */
+    public <T> T callRemoteProcedure(String method, Type resultType) throws ConnectionException, ErrorResponseException, IdMismatchException {
+        var req = new Request(idGenerator.next(), method, null);
+        return checkResponse(req, this.<T>sendRequest(req, resultType).get());
+    }
+
+    /**
+     * Calls a remote procedure and binds the result to the specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response. The result is deserialized while the response is parsed.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param params The parameters of the method
+     * @param resultType The type of the result
+     * @return The result of the operation, which is null if the result was null
+     * @throws ConnectionException If sending fails
+     * @throws ErrorResponseException If a {@link Response} with an {@link Error} is
+     *         received
+     * @throws IdMismatchException If the {@link Response} does not have the same id
+     *         as the {@link Request}.
+     */
+    public <T> T callRemoteProcedure(String method, JsonArray params, Type resultType) throws ConnectionException, ErrorResponseException, IdMismatchException {
+        var req = new Request(idGenerator.next(), method, new ArrayParameters(params));
+        return checkResponse(req, this.<T>sendRequest(req, resultType).get());
+    }
+
+    /**
+     * Calls a remote procedure and binds the result to the specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response. The result is deserialized while the response is parsed.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param params The parameters of the method
+     * @param resultType The type of the result
+     * @return The result of the operation, which is null if the result was null
+     * @throws ConnectionException If sending fails
+     * @throws ErrorResponseException If a {@link Response} with an {@link Error} is
+     *         received
+     * @throws IdMismatchException If the {@link Response} does not have the same id
+     *         as the {@link Request}.
+     */
+    public <T> T callRemoteProcedure(String method, JsonObject params, Type resultType) throws ConnectionException, ErrorResponseException, IdMismatchException {
+        var req = new Request(idGenerator.next(), method, new ObjectParameters(params));
+        return checkResponse(req, this.<T>sendRequest(req, resultType).get());
+    }
+
+    /**
+     * Calls a remote procedure asynchronously and binds the result to the
+     * specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and checks the response.
+     * The result is deserialized while the response is parsed.
+     * <p>
+     * The returned future is completed exceptionally like the one returned by
+     * {@link #callRemoteProcedureAsync(String)}.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param resultType The type of the result
+     * @return A future completed with the result of the operation
+     */
+    public <T> CompletableFuture<T> callRemoteProcedureAsync(String method, Type resultType) {
+        var req = new Request(idGenerator.next(), method, null);
+        return this.<T>sendRequestAsync(req, resultType).thenApply(res -> checkResponseAsync(req, res.get()));
+    }
+
+    /**
+     * Calls a remote procedure asynchronously and binds the result to the
+     * specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response. The result is deserialized while the response is parsed.
+     * <p>
+     * The returned future is completed exceptionally like the one returned by
+     * {@link #callRemoteProcedureAsync(String, JsonArray)}.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param params The parameters of the method
+     * @param resultType The type of the result
+     * @return A future completed with the result of the operation
+     */
+    public <T> CompletableFuture<T> callRemoteProcedureAsync(String method, JsonArray params, Type resultType) {
+        var req = new Request(idGenerator.next(), method, new ArrayParameters(params));
+        return this.<T>sendRequestAsync(req, resultType).thenApply(res -> checkResponseAsync(req, res.get()));
+    }
+
+    /**
+     * Calls a remote procedure asynchronously and binds the result to the
+     * specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response. The result is deserialized while the response is parsed.
+     * <p>
+     * The returned future is completed exceptionally like the one returned by
+     * {@link #callRemoteProcedureAsync(String, JsonObject)}.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param params The parameters of the method
+     * @param resultType The type of the result
+     * @return A future completed with the result of the operation
+     */
+    public <T> CompletableFuture<T> callRemoteProcedureAsync(String method, JsonObject params, Type resultType) {
+        var req = new Request(idGenerator.next(), method, new ObjectParameters(params));
+        return this.<T>sendRequestAsync(req, resultType).thenApply(res -> checkResponseAsync(req, res.get()));
+    }
+
+    /**
+     * Calls a remote procedure and binds the result to the specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response. The result is deserialized while the response is parsed.
+     * <p>
+     * Use it with any {@link Parameters} implementation, e.g.
+     * {@link PositionalParameters} to serialize Java objects directly.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param params The parameters of the method or null
+     * @param resultType The type of the result
+     * @return The result of the operation, which is null if the result was null
+     * @throws ConnectionException If sending fails
+     * @throws ErrorResponseException If a {@link Response} with an {@link Error} is
+     *         received
+     * @throws IdMismatchException If the {@link Response} does not have the same id
+     *         as the {@link Request}.
+     */
+    public <T> T callRemoteProcedure(String method, Parameters<?> params, Type resultType) throws ConnectionException, ErrorResponseException, IdMismatchException {
+        var req = new Request(idGenerator.next(), method, params);
+        return checkResponse(req, this.<T>sendRequest(req, resultType).get());
+    }
+
+    /**
+     * Calls a remote procedure asynchronously and binds the result to the
+     * specified type.
+     * <p>
+     * Sends a {@link Request} with the specified method and params and checks the
+     * response. The result is deserialized while the response is parsed.
+     * <p>
+     * The returned future is completed exceptionally like the one returned by
+     * {@link #callRemoteProcedureAsync(String, JsonArray)}.
+     *
+     * @param <T> The type of the result
+     * @param method The method to invoke
+     * @param params The parameters of the method or null
+     * @param resultType The type of the result
+     * @return A future completed with the result of the operation
+     */
+    public <T> CompletableFuture<T> callRemoteProcedureAsync(String method, Parameters<?> params, Type resultType) {
+        var req = new Request(idGenerator.next(), method, params);
+        return this.<T>sendRequestAsync(req, resultType).thenApply(res -> checkResponseAsync(req, res.get()));
+    }
+
     /**
      * Sends a {@link Notification} with the specified method.
      *
@@ -192,6 +543,17 @@ public class Connection {
         sendRequest(new Notification(method, params));
     }
 
+    /**
+     * Sends a {@link Notification} with the specified method and parameters.
+     *
+     * @param method The method to invoke
+     * @param params The parameters of the method or null
+     * @throws ConnectionException If sending fails
+     */
+    public void sendNotification(String method, Parameters<?> params) throws ConnectionException {
+        sendRequest(new Notification(method, params));
+    }
+
     /**
      * Sends an array of {@link Request} objects to the server.
      * <p>
@@ -209,34 +571,320 @@ public class Connection {
         if (requests.length == 0)
             return null;
 
-        var res = send(gson.toJson(requests));
-
         Supplier<Boolean> allNotification = () -> Arrays.asList(requests).stream().allMatch(req -> {
             return req instanceof Notification;
         });
 
-        if (requests instanceof Notification[] || allNotification.get())
+        if (requests instanceof Notification[] || allNotification.get()) {
+            send(requests, null);
             return Optional.empty();
+        }
 
-        return Optional.of(gson.fromJson(res, Response[].class));
+        return Optional.of(send(requests, Response[].class));
     }
 
     /**
-     * Sends the string to the server.
+     * Sends an array of {@link Request} objects to the server asynchronously.
+     * <p>
+     * If all requests are {@link Notification Notifications} the {@link Optional}
+     * the returned future is completed with will be empty.
+     * <p>
+     * If sending fails the future is completed exceptionally with a
+     * {@link ConnectionException}.
      *
-     * @param content The content of the body
-     * @return The response body
+     * @param requests The {@link Request Requests} or {@link Notification
+     *        Notifications}
+     * @return A future completed with an optional {@link Response} array
+     */
+    public CompletableFuture<Optional<Response[]>> sendBatchRequestAsync(Request... requests) {
+        Objects.requireNonNull(requests);
+
+        if (requests.length == 0)
+            return CompletableFuture.completedFuture(Optional.empty());
+
+        if (requests instanceof Notification[] || Arrays.stream(requests).allMatch(req -> req instanceof Notification))
+            return sendAsync(requests, null).thenApply(res -> Optional.empty());
+
+        return this.<Response[]>sendAsync(requests, Response[].class).thenApply(Optional::of);
+    }
+
+    /**
+     * Sends an array of {@link Request} objects to the server and matches the
+     * responses to the requests by their ids.
+     * <p>
+     * Use {@link BatchResult#result(int)} to get the checked result of each
+     * request in the order of the array, regardless of the order the server
+     * responded in.
+     *
+     * @param requests The {@link Request Requests} or {@link Notification
+     *        Notifications}
+     * @return The {@link BatchResult}
      * @throws ConnectionException If sending fails
      */
-    private String send(String content) throws ConnectionException {
+    public BatchResult callBatch(Request... requests) throws ConnectionException {
+        Objects.requireNonNull(requests);
+
+        if (requests.length == 0)
+            return new BatchResult(requests, new Response[0]);
+
+        return new BatchResult(requests, sendBatchRequest(requests).orElseGet(() -> new Response[0]));
+    }
+
+    /**
+     * Sends an array of {@link Request} objects to the server asynchronously and
+     * matches the responses to the requests by their ids.
+     * <p>
+     * If sending fails the future is completed exceptionally with a
+     * {@link ConnectionException}.
+     *
+     * @param requests The {@link Request Requests} or {@link Notification
+     *        Notifications}
+     * @return A future completed with the {@link BatchResult}
+     */
+    public CompletableFuture<BatchResult> callBatchAsync(Request... requests) {
+        Objects.requireNonNull(requests);
+
+        return sendBatchRequestAsync(requests).thenApply(res -> new BatchResult(requests, res.orElseGet(() -> new Response[0])));
+    }
+
+    /**
+     * Creates a proxy implementing the service interface by invoking remote
+     * procedures on this {@link Connection}.
+     * <p>
+     * Every abstract method invokes the remote procedure named by its
+     * {@link eliasstar.jsonrpc.annotations.RpcMethod RpcMethod} annotation or, if
+     * it is not annotated, the procedure of the same name. The arguments are sent
+     * in array format, or in object format if all parameters are annotated with
+     * {@link eliasstar.jsonrpc.annotations.RpcParam RpcParam}, and serialized
+     * directly into the request. The result is bound to the return type.
+     * <p>
+     * Methods returning a {@link CompletableFuture} invoke the procedure
+     * asynchronously and bind the result to the type argument of the future.
+     * Other methods should declare {@link eliasstar.jsonrpc.exceptions.RpcException
+     * RpcException}, otherwise its subclasses are thrown wrapped into an
+     * {@link java.lang.reflect.UndeclaredThrowableException
+     * UndeclaredThrowableException}.
+     * <p>
+     * The methods are resolved once when the proxy is created.
+     *
+     * @param <T> The type of the service
+     * @param service The service interface
+     * @return The proxy
+     * @throws IllegalArgumentException If service is not an interface or one of
+     *         its methods can not be mapped to a remote procedure
+     */
+    public <T> T proxy(Class<T> service) {
+        return service.cast(Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[] { service }, new ProxyHandler(this, service)));
+    }
+
+    /**
+     * Closes the {@link Transport} of this {@link Connection}.
+     * <p>
+     * If requests are batched automatically, the open batch is sent first.
+     * <p>
+     * Connections using the default {@link eliasstar.jsonrpc.transport.HttpTransport
+     * HttpTransport} hold no resources, so closing them has no effect.
+     *
+     * @throws IOException If closing the transport fails
+     */
+    @Override
+    public void close() throws IOException {
+        batcher.ifPresent(AutoBatcher::close);
+        transport.close();
+    }
+
+    /**
+     * Serializes the message, sends it to the server and deserializes the response.
+     * <p>
+     * The message is encoded into a {@link Payload} by a
+     * {@link com.google.gson.stream.JsonWriter JsonWriter} and handed to the
+     * {@link #transport}. The response is decoded directly from the returned
+     * {@link InputStream}, so no intermediate {@link String} is created.
+     * <p>
+     * The caller waits until the message was sent, so a large message is
+     * deferred and encoded while the transport sends it, see
+     * {@link Payload#deferred(Gson, Object)}.
+     * <p>
+     * If type is null the response is discarded.
+     *
+     * @param <T> The type of the response
+     * @param message The {@link Request} or array of {@link Request Requests}
+     * @param type The type of the response or null
+     * @return The deserialized response or null
+     * @throws ConnectionException If sending fails
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T send(Object message, Type type) throws ConnectionException {
+        if (type != null && isBatched(message)) {
+            try {
+                return (T) batcher.get().submit((Request) message, type).get();
+            } catch (InterruptedException e) {
+                throw new ConnectionException(e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof ConnectionException ? (ConnectionException) e.getCause() : new ConnectionException(e.getCause());
+            }
+        }
+
         try {
-            var httpReq = reqBuilder.POST(BodyPublishers.ofString(content)).build();
-            return client.send(httpReq, BodyHandlers.ofString()).body();
+            var payload = Payload.deferred(gson, message);
+
+            if (type == null) {
+                transport.send(payload);
+                return null;
+            }
+
+            try (var in = transport.exchange(payload)) {
+                return read(in, type);
+            }
         } catch (IOException | InterruptedException e) {
             throw new ConnectionException(e);
+        } catch (JsonIOException | JsonSyntaxException e) {
+            var failure = streamFailure(e);
+
+            if (failure != null)
+                throw failure;
+
+            throw e;
         }
     }
 
+    /**
+     * Serializes the message, sends it to the server without blocking and
+     * deserializes the response.
+     * <p>
+     * The {@link #transport} only completes the future once the response was
+     * received completely, so decoding it never blocks.
+     * <p>
+     * If type is null the response is discarded.
+     *
+     * @param <T> The type of the response
+     * @param message The {@link Request} or array of {@link Request Requests}
+     * @param type The type of the response or null
+     * @return A future completed with the deserialized response or exceptionally
+     *         with a {@link ConnectionException} if sending fails
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> sendAsync(Object message, Type type) {
+        if (type != null && isBatched(message))
+            return batcher.get().submit((Request) message, type).thenApply(res -> (T) res);
+
+        Payload payload;
+
+        try {
+            payload = Payload.encode(gson, message);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(failure(e));
+        }
+
+        if (type == null)
+            return transport.sendAsync(payload).handle((res, e) -> {
+                if (e != null)
+                    throw new CompletionException(failure(e));
+
+                return null;
+            });
+
+        return transport.exchangeAsync(payload).handle((in, e) -> {
+            if (e != null)
+                throw new CompletionException(failure(e));
+
+            try {
+                return this.<T>read(in, type);
+            } catch (JsonIOException | JsonSyntaxException ex) {
+                var failure = streamFailure(ex);
+
+                if (failure != null)
+                    throw new CompletionException(failure);
+
+                throw ex;
+            }
+        });
+    }
+
+    /**
+     * Checks whether the message is added to a batch of the {@link AutoBatcher}.
+     * <p>
+     * Only single {@link Request Requests} with an id are batched.
+     *
+     * @param message The {@link Request} or array of {@link Request Requests}
+     * @return {@code true} if the message is batched
+     */
+    private boolean isBatched(Object message) {
+        return batcher.isPresent() && message instanceof Request && ((Request) message).id().isPresent();
+    }
+
+    /**
+     * Gets the type of a {@link TypedResponse} with the result type.
+     * <p>
+     * Primitive result types are boxed, since they cannot be type arguments.
+     *
+     * @param resultType The type of the result
+     * @return The parameterized {@link TypedResponse} type
+     */
+    private static Type typedResponseType(Type resultType) {
+        if (resultType instanceof Class)
+            resultType = Primitives.wrap((Class<?>) resultType);
+
+        return TypeToken.getParameterized(TypedResponse.class, resultType).getType();
+    }
+
+    /**
+     * Deserializes one JSON value from the UTF-8 encoded stream and closes it.
+     *
+     * @param <T> The type of the value
+     * @param in The stream containing the value
+     * @param type The type of the value
+     * @return The deserialized value
+     */
+    <T> T read(InputStream in, Type type) {
+        try (in) {
+            return gson.fromJson(new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)), type);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Converts the failure of a stage into a {@link ConnectionException}.
+     * <p>
+     * A {@link CompletionException} is unwrapped first. If its cause already is a
+     * {@link ConnectionException}, it is returned as is.
+     *
+     * @param e The failure of a stage
+     * @return The {@link ConnectionException} reported to the caller
+     */
+    static ConnectionException failure(Throwable e) {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+        if (cause instanceof ConnectionException)
+            return (ConnectionException) cause;
+
+        var failure = cause instanceof RuntimeException ? streamFailure((RuntimeException) cause) : null;
+        return failure != null ? failure : new ConnectionException(cause);
+    }
+
+    /**
+     * Converts an exception of gson caused by the underlying stream into a
+     * {@link ConnectionException}.
+     * <p>
+     * Gson reports failures of the stream as {@link JsonIOException} or as
+     * {@link JsonSyntaxException} with an {@link IOException} as cause, which
+     * is not a {@link MalformedJsonException}.
+     *
+     * @param e The exception thrown by gson
+     * @return The {@link ConnectionException} with the failure of the stream as
+     *         cause, or null if e is not caused by the stream
+     */
+    private static ConnectionException streamFailure(RuntimeException e) {
+        if (e instanceof JsonIOException)
+            return new ConnectionException(e.getCause() != null ? e.getCause() : e);
+
+        if (e instanceof JsonSyntaxException && e.getCause() instanceof IOException && !(e.getCause() instanceof MalformedJsonException))
+            return new ConnectionException(e.getCause());
+
+        return null;
+    }
+
     /**
      * Checks the response if the ids match and no error is received.
      *
@@ -256,6 +904,76 @@ public class Connection {
         return res.result().get();
     }
 
+    /**
+     * Checks the typed response if the ids match and no error is received.
+     *
+     * @param <T> The type of the result
+     * @param req The coresponding {@link Request}
+     * @param res The response to be checked
+     * @return The result of the {@link TypedResponse} or null if the result was
+     *         null
+     * @throws ErrorResponseException If instead of a result a error was received
+     * @throws IdMismatchException If the ids do not match
+     */
+    protected <T> T checkResponse(Request req, TypedResponse<T> res) throws ErrorResponseException, IdMismatchException {
+        if (res.isUnsuccessful())
+            throw new ErrorResponseException(res.error().get());
+
+        if (!req.id().get().equals(res.id()))
+            throw new IdMismatchException(req.id().get(), res.id());
+
+        return res.result().orElse(null);
+    }
+
+    /**
+     * Checks the response like {@link #checkResponse(Request, Response)}, but
+     * wraps the checked exceptions into a {@link CompletionException} so it can be
+     * used as a stage of a {@link CompletableFuture}.
+     *
+     * @param req The coresponding {@link Request}
+     * @param res The response to be checked
+     * @return The result of the {@link Response}
+     * @throws CompletionException If the response is not valid
+     */
+    protected JsonElement checkResponseAsync(Request req, Response res) {
+        try {
+            return checkResponse(req, res);
+        } catch (ErrorResponseException | IdMismatchException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Checks the typed response like
+     * {@link #checkResponse(Request, TypedResponse)}, but wraps the checked
+     * exceptions into a {@link CompletionException} so it can be used as a stage
+     * of a {@link CompletableFuture}.
+     *
+     * @param <T> The type of the result
+     * @param req The coresponding {@link Request}
+     * @param res The response to be checked
+     * @return The result of the {@link TypedResponse}
+     * @throws CompletionException If the response is not valid
+     */
+    protected <T> T checkResponseAsync(Request req, TypedResponse<T> res) {
+        try {
+            return checkResponse(req, res);
+        } catch (ErrorResponseException | IdMismatchException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Gets the gson instance used for serialization and deserialization.
+     * <p>
+     * Generated stubs use it to resolve the adapters of their parameters once.
+     *
+     * @return The gson instance of this {@link Connection}
+     */
+    public Gson gson() {
+        return gson;
+    }
+
     /**
      * Gets the optional id.
      *
@@ -270,8 +988,8 @@ public class Connection {
      *
      * @return How many requests have been made
      */
-    int requestsMade() {
-        return requestId;
+    long requestsMade() {
+        return idGenerator.generated();
     }
 
 }
\ No newline at end of file
@@ -20,14 +20,22 @@ package eliasstar.jsonrpc;
 
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import eliasstar.gson.OptionalTypeAdapterFactory;
 import eliasstar.jsonrpc.gson.RpcTypeAdapterFactory;
+import eliasstar.jsonrpc.objects.id.IdGenerator;
+import eliasstar.jsonrpc.objects.id.SequentialIdGenerator;
+import eliasstar.jsonrpc.transport.HttpTransport;
+import eliasstar.jsonrpc.transport.Transport;
 
 /**
  * Use this Builder to construct a customized {@link Connection} instance.
@@ -43,9 +51,30 @@ public final class ConnectionBuilder {
     /** The optional id of a new {@link Connection}. */
     private String id;
 
+    /** The optional generator of the request ids of a new {@link Connection}. */
+    private IdGenerator idGenerator;
+
+    /** Whether a new {@link Connection} decodes responses while receiving them. */
+    private boolean streamResponses;
+
+    /** The time a request of a new {@link Connection} waits for a batch. */
+    private Duration batchWindow;
+
+    /** The maximum number of requests in a batch of a new {@link Connection}. */
+    private int maxBatchSize;
+
+    /** The custom transport of a new {@link Connection}. */
+    private Transport transport;
+
     /** The client used by a new {@link Connection}. */
     private HttpClient client;
 
+    /** The builder of a client for each new {@link Connection}. */
+    private HttpClient.Builder clientBuilder;
+
+    /** The maximum number of requests in flight of a new {@link Connection}. */
+    private int maxConcurrentRequests;
+
     /** The request builder containing the uri. */
     private HttpRequest.Builder requestBuilder;
 
@@ -55,6 +84,22 @@ public final class ConnectionBuilder {
      */
     private GsonBuilder gsonBuilder;
 
+    /**
+     * Creates a {@link ConnectionBuilder} with the specified url.
+     * <p>
+     * Every created {@link Connection} gets its own {@link HttpClient} and
+     * thereby its own pool of open sockets. The client can be configured with
+     * {@link #setExecutor(Executor)}, {@link #setHttpVersion(Version)},
+     * {@link #setConnectTimeout(Duration)} and
+     * {@link #setRedirectPolicy(Redirect)}.
+     *
+     * @param url The url used to create a {@link HttpRequest.Builder}
+     */
+    public ConnectionBuilder(String url) {
+        this.clientBuilder = HttpClient.newBuilder();
+        withUrl(url);
+    }
+
     /**
      * Creates a {@link ConnectionBuilder} with the specified {@link HttpClient}.
      *
@@ -76,6 +121,15 @@ public final class ConnectionBuilder {
         withUrl(url);
     }
 
+    /**
+     * Creates a {@link ConnectionBuilder} with the specified {@link Transport}.
+     *
+     * @param transport The transport used by a new {@link Connection}
+     */
+    public ConnectionBuilder(Transport transport) {
+        this.transport = Objects.requireNonNull(transport);
+    }
+
     /**
      * Sets the id used by the created {@link Connection}.
      * <p>
@@ -89,6 +143,37 @@ public final class ConnectionBuilder {
         return this;
     }
 
+    /**
+     * Sets the generator of the request ids used by the created
+     * {@link Connection}.
+     * <p>
+     * If null is provided, a {@link SequentialIdGenerator} prefixed with the id of
+     * the {@link Connection} will be used.
+     *
+     * @param idGenerator The {@link IdGenerator} of the new {@link Connection}
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public ConnectionBuilder withIdGenerator(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+        return this;
+    }
+
+    /**
+     * Sets the transport carrying the messages of the created
+     * {@link Connection}.
+     * <p>
+     * If a transport is set, the client, request builder and response streaming
+     * settings are ignored. If null is provided, a {@link HttpTransport} is
+     * created from these settings.
+     *
+     * @param transport The {@link Transport} of the new {@link Connection}
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public ConnectionBuilder withTransport(Transport transport) {
+        this.transport = transport;
+        return this;
+    }
+
     /**
      * Changes the client used for a new {@link Connection}.
      *
@@ -100,6 +185,84 @@ public final class ConnectionBuilder {
         return this;
     }
 
+    /**
+     * Sets the executor of the client created for a new {@link Connection}.
+     * <p>
+     * If no executor is set, the client creates its own. This setting is
+     * ignored if a client was provided.
+     *
+     * @param executor The {@link Executor} handling the requests
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public ConnectionBuilder setExecutor(Executor executor) {
+        clientBuilder().executor(Objects.requireNonNull(executor));
+        return this;
+    }
+
+    /**
+     * Sets the HTTP version of the client created for a new {@link Connection}.
+     * <p>
+     * Defaults to {@link Version#HTTP_2}. This setting is ignored if a client was
+     * provided.
+     *
+     * @param version The preferred HTTP version
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public ConnectionBuilder setHttpVersion(Version version) {
+        clientBuilder().version(Objects.requireNonNull(version));
+        return this;
+    }
+
+    /**
+     * Sets the timeout for a new connection attempt of the client created for a
+     * new {@link Connection}.
+     * <p>
+     * If no timeout is set, connection attempts do not time out. This setting is
+     * ignored if a client was provided.
+     *
+     * @param connectTimeout The {@link Duration} until a connection will timeout
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public ConnectionBuilder setConnectTimeout(Duration connectTimeout) {
+        clientBuilder().connectTimeout(Objects.requireNonNull(connectTimeout));
+        return this;
+    }
+
+    /**
+     * Sets the redirect policy of the client created for a new
+     * {@link Connection}.
+     * <p>
+     * Defaults to {@link Redirect#NEVER}. This setting is ignored if a client was
+     * provided.
+     *
+     * @param policy The redirect policy
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public ConnectionBuilder setRedirectPolicy(Redirect policy) {
+        clientBuilder().followRedirects(Objects.requireNonNull(policy));
+        return this;
+    }
+
+    /**
+     * Limits the number of requests a new {@link Connection} has in flight.
+     * <p>
+     * This bounds the number of HTTP/1.1 connections or HTTP/2 streams opened to
+     * the service. Further requests wait for a free slot. If zero is provided, the
+     * number is not limited, which is the default. This setting is ignored if a
+     * transport was set.
+     *
+     * @param maxConcurrentRequests The maximum number of requests in flight
+     * @return {@code this} to satisfy the builder pattern
+     * @throws IllegalArgumentException If maxConcurrentRequests is negative
+     */
+    public ConnectionBuilder setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 0)
+            throw new IllegalArgumentException("maxConcurrentRequests is negative");
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
     /**
      * Sets the request builder used by a new {@link Connection}.
      * <p>
@@ -147,6 +310,51 @@ public final class ConnectionBuilder {
         return withUrl(URI.create(Objects.requireNonNull(url)));
     }
 
+    /**
+     * Sets whether the created {@link Connection} decodes responses directly from
+     * the body stream while they are being received.
+     * <p>
+     * This avoids buffering large responses completely before decoding them, but
+     * keeps the underlying HTTP connection occupied until the response is
+     * decoded. It only affects blocking calls, asynchronous calls always buffer
+     * the response body. Defaults to {@code false}.
+     *
+     * @param streamResponses Whether responses are streamed
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public ConnectionBuilder setResponseStreaming(boolean streamResponses) {
+        this.streamResponses = streamResponses;
+        return this;
+    }
+
+    /**
+     * Enables automatic batching of concurrent calls for the created
+     * {@link Connection}.
+     * <p>
+     * Requests with an id sent within the window are collected and sent as one
+     * batch request, once the window has elapsed since the first of them or once
+     * maxBatchSize requests are collected. The responses are delivered to the
+     * individual calls by their ids. Notifications and explicit batch requests
+     * are sent immediately.
+     * <p>
+     * This trades up to one window of latency for fewer round trips. If null is
+     * provided as window, automatic batching is disabled, which is the default.
+     *
+     * @param window The time a request may wait for other requests or null
+     * @param maxBatchSize The maximum number of requests in a batch
+     * @return {@code this} to satisfy the builder pattern
+     * @throws IllegalArgumentException If the window is negative or
+     *         maxBatchSize is not positive
+     */
+    public ConnectionBuilder setAutoBatching(Duration window, int maxBatchSize) {
+        if (window != null && (window.isNegative() || maxBatchSize < 1))
+            throw new IllegalArgumentException("Invalid batch window or size");
+
+        this.batchWindow = window;
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
     /**
      * Sets the {@link GsonBuilder} to be used by a created {@link Connection}.
      * <p>
@@ -179,25 +387,40 @@ public final class ConnectionBuilder {
      * If no {@link Gson} or {@link GsonBuilder} was set, a new one is created with
      * default settings.
      * <p>
-     * The {@code "Content-Type"} header is set to {@code "application/json"} on the
-     * {@link HttpRequest.Builder}.
+     * If no {@link Transport} was set, a {@link HttpTransport} is created and the
+     * {@code "Content-Type"} header is set to {@code "application/json"} on the
+     * {@link HttpRequest.Builder}. If no {@link HttpClient} was provided either, a
+     * new one is built from the client settings.
      * <p>
      * {@link OptionalTypeAdapterFactory} and {@link RpcTypeAdapterFactory} are
      * registered to the {@link GsonBuilder} instance. Before building
      * {@link GsonBuilder#serializeNulls()} is called.
+     * <p>
+     * If no {@link IdGenerator} was set, a new {@link SequentialIdGenerator} is
+     * created, which uses the id of the {@link Connection} as prefix.
      *
      * @return A new {@link Connection} with the settings of this
      *         {@link ConnectionBuilder}
-     * @throws IllegalStateException If neither a {@link HttpRequest.Builder} nor a
-     *         {@link URI} was set
+     * @throws IllegalStateException If neither a {@link Transport}, a
+     *         {@link HttpRequest.Builder} nor a {@link URI} was set
      */
     public Connection build() {
-        if (requestBuilder == null)
-            throw new IllegalStateException("uri is null");
-        else
-            requestBuilder.build();
+        var transport = this.transport;
+
+        if (transport == null) {
+            var client = this.client != null ? this.client : clientBuilder != null ? clientBuilder.build() : null;
 
-        requestBuilder.setHeader("Content-Type", "application/json");
+            if (client == null)
+                throw new IllegalStateException("client is null");
+
+            if (requestBuilder == null)
+                throw new IllegalStateException("uri is null");
+            else
+                requestBuilder.build();
+
+            requestBuilder.setHeader("Content-Type", "application/json");
+            transport = new HttpTransport(client, requestBuilder, streamResponses, maxConcurrentRequests);
+        }
 
         if (gsonBuilder == null)
             gsonBuilder = new GsonBuilder();
@@ -206,7 +429,23 @@ public final class ConnectionBuilder {
         gsonBuilder.registerTypeAdapterFactory(RpcTypeAdapterFactory.instance());
         gsonBuilder.serializeNulls();
 
-        return new Connection(id, client, requestBuilder, gsonBuilder.create());
+        if (idGenerator == null)
+            return new Connection(id, transport, gsonBuilder.create(), new SequentialIdGenerator(id), batchWindow, maxBatchSize);
+
+        return new Connection(id, transport, gsonBuilder.create(), idGenerator, batchWindow, maxBatchSize);
+    }
+
+    /**
+     * Gets the builder of the clients created for new {@link Connection
+     * Connections}.
+     *
+     * @return The {@link HttpClient.Builder}
+     */
+    private HttpClient.Builder clientBuilder() {
+        if (clientBuilder == null)
+            clientBuilder = HttpClient.newBuilder();
+
+        return clientBuilder;
     }
 
 }
\ No newline at end of file
@@ -19,16 +19,29 @@
 package eliasstar.jsonrpc;
 
 import java.net.CookieManager;
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Redirect;
 import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
 import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.gson.Gson;
 
 /**
  * This facade can be used to get started quickly and easily with sending RPC
  * requests.
+ * <p>
+ * Connections to the same endpoint, which is identified by scheme, host and
+ * port of the url, share a {@link HttpClient} and thereby its pool of open
+ * sockets. The client settings can be changed for all endpoints or for a
+ * single one, which only replaces the client of that endpoint. Existing
+ * connections keep using the client they were created with.
  *
  * @author Elias*
  * @since 0.1.0
@@ -38,14 +51,20 @@ public final class JsonRpc {
     /** The id prefix a new {@link Connection} will have. */
     static final String CONNECTION_PREFIX = "con";
 
-    /** The builder used for building the client. */
-    private static final HttpClient.Builder BUILDER = HttpClient.newBuilder().cookieHandler(new CookieManager()).connectTimeout(Duration.ofMinutes(1));
+    /** The cookies shared by all clients. */
+    private static final CookieManager COOKIES = new CookieManager();
 
-    /** The client used for connection to a service. */
-    private static HttpClient client;
+    /** The settings of all endpoints without own settings. */
+    private static volatile ClientSettings defaults = new ClientSettings(Duration.ofMinutes(1), Redirect.NEVER, Version.HTTP_2);
+
+    /** The settings of single endpoints. */
+    private static final Map<String, ClientSettings> SETTINGS = new ConcurrentHashMap<>();
+
+    /** The clients used for connection to a service by their endpoint. */
+    private static final Map<String, HttpClient> CLIENTS = new ConcurrentHashMap<>();
 
     /** The id a new {@link Connection} will have. */
-    private static int connectionId = 0;
+    private static final AtomicInteger connectionId = new AtomicInteger();
 
     /**
      * Connects to a RPC service.
@@ -64,44 +83,91 @@ public final class JsonRpc {
     /**
      * Connects to a RPC service.
      * <p>
-     * Creates a {@link Connection} with default settings.
+     * Creates a {@link Connection} with default settings, using the client of
+     * the endpoint of url.
      *
      * @param url The url of the RPC service
      * @param requestTimeout The {@link Duration} until a request will timeout
      * @return A {@link Connection} object for sending requests
      */
     public static Connection connect(String url, Duration requestTimeout) {
-        if (client == null)
-            client = BUILDER.build();
+        var uri = URI.create(Objects.requireNonNull(url));
+        var client = CLIENTS.computeIfAbsent(endpoint(uri), endpoint -> SETTINGS.getOrDefault(endpoint, defaults).build());
+        var reqBuilder = HttpRequest.newBuilder(uri).timeout(requestTimeout);
 
-        return new ConnectionBuilder(client, url).withId(CONNECTION_PREFIX + connectionId++).setGson(new Gson()).build();
+        return new ConnectionBuilder(client).setRequestBuilder(reqBuilder).withId(CONNECTION_PREFIX + connectionId.getAndIncrement()).setGson(new Gson()).build();
     }
 
     /**
      * Sets the timeout for a new connection attempt.
+     * <p>
+     * Replaces the clients of all endpoints without own settings.
      *
      * @param connectTimeout The {@link Duration} until a connection will timeout
      */
-    public static void setConnectionTimeout(Duration connectTimeout) {
-        client = BUILDER.connectTimeout(connectTimeout).build();
+    public static synchronized void setConnectionTimeout(Duration connectTimeout) {
+        setDefaults(defaults.withConnectTimeout(connectTimeout));
     }
 
     /**
      * Sets the redirect policy used for requests.
+     * <p>
+     * Replaces the clients of all endpoints without own settings.
      *
      * @param policy The Policy
      */
-    public static void setRedirectPolicy(Redirect policy) {
-        client = BUILDER.followRedirects(policy).build();
+    public static synchronized void setRedirectPolicy(Redirect policy) {
+        setDefaults(defaults.withRedirectPolicy(policy));
     }
 
     /**
      * Sets the HTTP version used by the client.
+     * <p>
+     * Replaces the clients of all endpoints without own settings.
+     *
+     * @param http The version
+     */
+    public static synchronized void setHttpVersion(Version http) {
+        setDefaults(defaults.withHttpVersion(http));
+    }
+
+    /**
+     * Sets the timeout for a new connection attempt to the endpoint of url.
+     * <p>
+     * Only replaces the client of this endpoint.
+     *
+     * @param url A url of the endpoint
+     * @param connectTimeout The {@link Duration} until a connection will timeout
+     */
+    public static synchronized void setConnectionTimeout(String url, Duration connectTimeout) {
+        var endpoint = endpoint(URI.create(url));
+        setSettings(endpoint, SETTINGS.getOrDefault(endpoint, defaults).withConnectTimeout(connectTimeout));
+    }
+
+    /**
+     * Sets the redirect policy used for requests to the endpoint of url.
+     * <p>
+     * Only replaces the client of this endpoint.
      *
+     * @param url A url of the endpoint
+     * @param policy The Policy
+     */
+    public static synchronized void setRedirectPolicy(String url, Redirect policy) {
+        var endpoint = endpoint(URI.create(url));
+        setSettings(endpoint, SETTINGS.getOrDefault(endpoint, defaults).withRedirectPolicy(policy));
+    }
+
+    /**
+     * Sets the HTTP version used by the client of the endpoint of url.
+     * <p>
+     * Only replaces the client of this endpoint.
+     *
+     * @param url A url of the endpoint
      * @param http The version
      */
-    public static void setHttpVersion(Version http) {
-        client = BUILDER.version(http).build();
+    public static synchronized void setHttpVersion(String url, Version http) {
+        var endpoint = endpoint(URI.create(url));
+        setSettings(endpoint, SETTINGS.getOrDefault(endpoint, defaults).withHttpVersion(http));
     }
 
     /**
@@ -110,7 +176,117 @@ public final class JsonRpc {
      * @return The next connection id
      */
     static int connectionsMade() {
-        return connectionId;
+        return connectionId.get();
+    }
+
+    /**
+     * Gets the client used for new connections to the endpoint of url.
+     *
+     * @param url A url of the endpoint
+     * @return The {@link HttpClient} or null if none was created yet
+     */
+    static HttpClient client(String url) {
+        return CLIENTS.get(endpoint(URI.create(url)));
+    }
+
+    /**
+     * Replaces the default settings and discards the clients using them.
+     *
+     * @param settings The new default settings
+     */
+    private static void setDefaults(ClientSettings settings) {
+        defaults = settings;
+        CLIENTS.keySet().removeIf(endpoint -> !SETTINGS.containsKey(endpoint));
+    }
+
+    /**
+     * Replaces the settings of an endpoint and discards its client.
+     *
+     * @param endpoint The endpoint
+     * @param settings The new settings of the endpoint
+     */
+    private static void setSettings(String endpoint, ClientSettings settings) {
+        SETTINGS.put(endpoint, settings);
+        CLIENTS.remove(endpoint);
+    }
+
+    /**
+     * Gets the endpoint of the uri, consisting of scheme, host and port.
+     *
+     * @param uri The uri
+     * @return The endpoint as string
+     */
+    private static String endpoint(URI uri) {
+        var scheme = Objects.requireNonNullElse(uri.getScheme(), "").toLowerCase(Locale.ROOT);
+        var host = Objects.requireNonNullElse(uri.getHost(), "").toLowerCase(Locale.ROOT);
+
+        return scheme + "://" + host + ":" + uri.getPort();
+    }
+
+    /** The settings a {@link HttpClient} is built with. */
+    private static final class ClientSettings {
+
+        /** The timeout for a new connection attempt. */
+        private final Duration connectTimeout;
+
+        /** The redirect policy used for requests. */
+        private final Redirect redirect;
+
+        /** The HTTP version used by the client. */
+        private final Version version;
+
+        /**
+         * Creates {@link ClientSettings}.
+         *
+         * @param connectTimeout The timeout for a new connection attempt
+         * @param redirect The redirect policy
+         * @param version The HTTP version
+         */
+        private ClientSettings(Duration connectTimeout, Redirect redirect, Version version) {
+            this.connectTimeout = Objects.requireNonNull(connectTimeout);
+            this.redirect = Objects.requireNonNull(redirect);
+            this.version = Objects.requireNonNull(version);
+        }
+
+        /**
+         * Copies these settings with another connection timeout.
+         *
+         * @param connectTimeout The timeout for a new connection attempt
+         * @return The new settings
+         */
+        private ClientSettings withConnectTimeout(Duration connectTimeout) {
+            return new ClientSettings(connectTimeout, redirect, version);
+        }
+
+        /**
+         * Copies these settings with another redirect policy.
+         *
+         * @param redirect The redirect policy
+         * @return The new settings
+         */
+        private ClientSettings withRedirectPolicy(Redirect redirect) {
+            return new ClientSettings(connectTimeout, redirect, version);
+        }
+
+        /**
+         * Copies these settings with another HTTP version.
+         *
+         * @param version The HTTP version
+         * @return The new settings
+         */
+        private ClientSettings withHttpVersion(Version version) {
+            return new ClientSettings(connectTimeout, redirect, version);
+        }
+
+        /**
+         * Builds a {@link HttpClient} with these settings.
+         *
+         * @return A new {@link HttpClient}
+         */
+        private HttpClient build() {
+            return HttpClient.newBuilder().cookieHandler(COOKIES).connectTimeout(connectTimeout).followRedirects(redirect).version(version).build();
+        }
+
     }
 
-}
+}
\ No newline at end of file
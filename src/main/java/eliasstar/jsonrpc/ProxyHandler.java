@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.Primitives;
+
+import eliasstar.jsonrpc.annotations.RpcMethod;
+import eliasstar.jsonrpc.annotations.RpcParam;
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.parameter.NamedParameters;
+import eliasstar.jsonrpc.objects.parameter.Parameters;
+import eliasstar.jsonrpc.objects.parameter.PositionalParameters;
+
+/**
+ * Invokes the remote procedures mapped to the methods of a service interface.
+ * <p>
+ * The name, the parameter adapters and the result type of every method are
+ * resolved once when the handler is created, so an invocation only creates the
+ * {@link Request} and streams the arguments into it as
+ * {@link PositionalParameters} or {@link NamedParameters} with resolved
+ * adapters.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see Connection#proxy(Class)
+ */
+final class ProxyHandler implements InvocationHandler {
+
+    /** The connection the remote procedures are invoked on. */
+    private final Connection connection;
+
+    /** The service interface. */
+    private final Class<?> service;
+
+    /** The resolved remote procedures of the abstract methods. */
+    private final Map<Method, RemoteMethod> methods = new HashMap<>();
+
+    /**
+     * Creates a {@link ProxyHandler} and resolves the methods of the service.
+     *
+     * @param connection The connection the remote procedures are invoked on
+     * @param service The service interface
+     * @throws IllegalArgumentException If service is not an interface or one of
+     *         its methods can not be mapped
+     */
+    ProxyHandler(Connection connection, Class<?> service) {
+        this.connection = Objects.requireNonNull(connection);
+        this.service = Objects.requireNonNull(service);
+
+        if (!service.isInterface())
+            throw new IllegalArgumentException(service.getName() + " is not an interface");
+
+        for (var method : service.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers()) && !method.isDefault())
+                methods.put(method, new RemoteMethod(connection.gson(), method));
+        }
+    }
+
+    /**
+     * Invokes the remote procedure mapped to the method.
+     * <p>
+     * The methods of {@link Object} are answered by the proxy itself and default
+     * methods are invoked on the proxy.
+     *
+     * @param proxy The proxy instance
+     * @param method The invoked method
+     * @param args The arguments or null if there are none
+     * @return The result of the remote procedure
+     * @throws Throwable If the invocation fails
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+
+            case "hashCode":
+                return System.identityHashCode(proxy);
+
+            default:
+                return "Proxy@" + Integer.toHexString(System.identityHashCode(proxy)) + " " + service.getName();
+            }
+        }
+
+        if (method.isDefault()) {
+            return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectSpecial(method, method.getDeclaringClass())
+                    .bindTo(proxy)
+                    .invokeWithArguments(args == null ? new Object[0] : args);
+        }
+
+        return methods.get(method).invoke(connection, args);
+    }
+
+    /**
+     * The remote procedure mapped to a method.
+     */
+    private static final class RemoteMethod {
+
+        /** The name of the remote procedure. */
+        private final String name;
+
+        /** Whether a {@link Notification} is sent. */
+        private final boolean notification;
+
+        /** Whether the method returns a {@link CompletableFuture}. */
+        private final boolean async;
+
+        /** Whether the result is discarded. */
+        private final boolean discarded;
+
+        /** The type the result is bound to, primitive types are boxed. */
+        private final Type resultType;
+
+        /**
+         * The value returned for a {@code null} result, which is the default value
+         * for primitive return types.
+         */
+        private final Object nullResult;
+
+        /** The parameter names or null if the params are sent in array format. */
+        private final String[] names;
+
+        /** The adapters of the parameters. */
+        private final TypeAdapter<?>[] adapters;
+
+        /**
+         * Resolves the remote procedure mapped to the method.
+         *
+         * @param gson The gson instance providing the parameter adapters
+         * @param method The method
+         * @throws IllegalArgumentException If the method can not be mapped
+         */
+        private RemoteMethod(Gson gson, Method method) {
+            var annotation = method.getAnnotation(RpcMethod.class);
+
+            this.name = annotation == null || annotation.value().isEmpty() ? method.getName() : annotation.value();
+            this.notification = annotation != null && annotation.notification();
+            this.async = method.getReturnType() == CompletableFuture.class;
+
+            if (notification && method.getReturnType() != void.class)
+                throw new IllegalArgumentException("Notification " + method + " must return void");
+
+            var returnType = method.getGenericReturnType();
+
+            if (async)
+                returnType = returnType instanceof ParameterizedType ? ((ParameterizedType) returnType).getActualTypeArguments()[0] : JsonElement.class;
+
+            this.discarded = returnType == void.class || returnType == Void.class;
+            this.nullResult = !discarded && returnType instanceof Class && ((Class<?>) returnType).isPrimitive() ? Array.get(Array.newInstance((Class<?>) returnType, 1), 0) : null;
+            this.resultType = discarded ? JsonElement.class : returnType instanceof Class ? Primitives.wrap((Class<?>) returnType) : returnType;
+
+            var parameters = method.getParameters();
+            var types = new Type[parameters.length];
+            var named = 0;
+
+            this.names = new String[parameters.length];
+
+            for (var i = 0; i < parameters.length; i++) {
+                var param = parameters[i].getAnnotation(RpcParam.class);
+
+                if (param != null) {
+                    names[i] = param.value();
+                    named++;
+                }
+
+                types[i] = parameters[i].getParameterizedType();
+            }
+
+            this.adapters = PositionalParameters.adapters(gson, types);
+
+            if (named != 0 && named != parameters.length)
+                throw new IllegalArgumentException("Either all or no parameters of " + method + " must be annotated with @RpcParam");
+        }
+
+        /**
+         * Invokes the remote procedure.
+         *
+         * @param connection The connection the remote procedure is invoked on
+         * @param args The arguments or null if there are none
+         * @return The result, a future completed with it or null
+         * @throws Exception If the invocation fails
+         */
+        private Object invoke(Connection connection, Object[] args) throws Exception {
+            Parameters<?> params = null;
+
+            if (args != null && args.length != 0)
+                params = names[0] == null ? PositionalParameters.adapted(adapters, args) : NamedParameters.adapted(names, adapters, args);
+
+            if (notification) {
+                connection.sendNotification(name, params);
+                return null;
+            }
+
+            if (async)
+                return connection.callRemoteProcedureAsync(name, params, resultType).thenApply(result -> discarded ? null : result);
+
+            var result = connection.callRemoteProcedure(name, params, resultType);
+            return discarded ? null : result != null ? result : nullResult;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a method of an interface passed to
+ * {@link eliasstar.jsonrpc.Connection#proxy(Class) Connection.proxy(Class)} to
+ * a remote procedure.
+ * <p>
+ * Methods without this annotation invoke the remote procedure of the same
+ * name.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RpcMethod {
+
+    /**
+     * The name of the remote procedure.
+     * <p>
+     * If empty the name of the annotated method is used.
+     *
+     * @return The name of the remote procedure
+     */
+    String value() default "";
+
+    /**
+     * Whether a {@link eliasstar.jsonrpc.objects.Notification Notification} is
+     * sent instead of a {@link eliasstar.jsonrpc.objects.Request Request}.
+     * <p>
+     * The annotated method must return {@code void}.
+     *
+     * @return {@code true} if no response is expected
+     */
+    boolean notification() default false;
+
+}
\ No newline at end of file
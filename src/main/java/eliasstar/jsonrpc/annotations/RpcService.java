@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service interface for which the JsonRpc4J annotation processor
+ * generates a client stub at compile time.
+ * <p>
+ * The stub of an interface {@code Example} is named {@code ExampleStub}, placed
+ * in the same package and created with a
+ * {@link eliasstar.jsonrpc.Connection Connection}. Its methods are mapped to
+ * remote procedures like the ones of a
+ * {@link eliasstar.jsonrpc.Connection#proxy(Class) proxy}, but without any
+ * reflection at runtime.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see RpcMethod
+ * @see RpcParam
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface RpcService {}
\ No newline at end of file
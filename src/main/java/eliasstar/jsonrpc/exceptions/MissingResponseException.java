@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.exceptions;
+
+import eliasstar.jsonrpc.objects.id.Id;
+
+/**
+ * Indicates that no {@link eliasstar.jsonrpc.objects.Response Response} with
+ * the {@link Id} of a {@link eliasstar.jsonrpc.objects.Request Request} was
+ * received in a batch.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class MissingResponseException extends RpcException {
+
+    /** Used for serialization. */
+    private static final long serialVersionUID = -3378162473129476150L;
+
+    /** {@link Id} of the {@link eliasstar.jsonrpc.objects.Request Request} */
+    private final Id<?> reqId;
+
+    /**
+     * Creates a {@link MissingResponseException}.
+     *
+     * @param reqId {@link Id} of the {@link eliasstar.jsonrpc.objects.Request
+     *        Request}
+     */
+    public MissingResponseException(Id<?> reqId) {
+        super(String.format("No response for request id (%s)", reqId));
+
+        this.reqId = reqId;
+    }
+
+    /**
+     * Getter for request id.
+     *
+     * @return {@link Id} of the {@link eliasstar.jsonrpc.objects.Request Request}
+     */
+    public Id<?> getRequestId() {
+        return reqId;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.gson;
+
+import java.io.IOException;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.jsonrpc.objects.Error;
+
+/**
+ * Gson {@link TypeAdapter} for {@link Error}.
+ * <p>
+ * The members are read and written directly, so neither reflection nor the
+ * {@link eliasstar.gson.OptionalTypeAdapter OptionalTypeAdapter} is involved.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class ErrorTypeAdapter extends TypeAdapter<Error> {
+
+    /** The adapter used for the data. */
+    private final TypeAdapter<JsonElement> dataAdapter;
+
+    /**
+     * Used by {@link RpcTypeAdapterFactory}.
+     *
+     * @param dataAdapter The adapter used for the data
+     */
+    ErrorTypeAdapter(TypeAdapter<JsonElement> dataAdapter) {
+        this.dataAdapter = dataAdapter;
+    }
+
+    /**
+     * Writes a JSON-RPC error object for value.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param value The {@link Error} which is serialized
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out, Error value) throws IOException {
+        out.beginObject();
+        out.name("code").value(value.code());
+        out.name("message").value(value.message());
+
+        if (value.data().isPresent()) {
+            var serialize = out.getSerializeNulls();
+            out.setSerializeNulls(true);
+
+            out.name("data");
+            dataAdapter.write(out, value.data().get());
+
+            out.setSerializeNulls(serialize);
+        }
+
+        out.endObject();
+    }
+
+    /**
+     * Reads a JSON-RPC error object.
+     * <p>
+     * Unknown members are skipped. A missing message is read as empty string and a
+     * null data as {@link com.google.gson.JsonNull JsonNull}.
+     *
+     * @param in The {@link JsonReader} used as input
+     * @return An {@link Error} containing the read values
+     * @throws IOException If deserialization fails
+     */
+    @Override
+    public Error read(JsonReader in) throws IOException {
+        long code = 0;
+        String message = "";
+        JsonElement data = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+            case "code":
+                code = in.nextLong();
+                break;
+
+            case "message":
+                message = in.nextString();
+                break;
+
+            case "data":
+                data = dataAdapter.read(in);
+                break;
+
+            default:
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new Error(code, message, data);
+    }
+
+}
\ No newline at end of file
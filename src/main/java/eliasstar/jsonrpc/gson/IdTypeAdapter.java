@@ -76,6 +76,14 @@ final class IdTypeAdapter extends TypeAdapter<Id<?>> {
     /**
      * Reads one JSON value (an array, object, string, number, boolean or null) and
      * converts it to an {@link Id}.
+     * <p>
+     * Numbers are read as literal, which allocates a {@link String} per id.
+     * {@link JsonReader#nextLong()} would not allocate for plain integers, but it
+     * can not be used safely: for other literals it parses a {@code double} and
+     * returns it if it is integral, so ids like {@code 1.0000000000000001} or
+     * {@code 9223372036854775808} would silently match another request. Plain
+     * integer literals are then parsed as {@code long} without a
+     * {@link BigDecimal}.
      *
      * @param in The {@link JsonReader} used as input
      * @return An {@link Id} containing the read value
@@ -88,7 +96,13 @@ final class IdTypeAdapter extends TypeAdapter<Id<?>> {
             return new StringId(in.nextString());
 
         case NUMBER:
-            return new NumberId(new BigDecimal(in.nextString()));
+            var number = in.nextString();
+
+            // JsonReader.nextLong would round fractions and clamp large numbers
+            if (isLong(number))
+                return new NumberId(Long.parseLong(number));
+
+            return new NumberId(new BigDecimal(number));
 
         case NULL:
             in.nextNull();
@@ -99,4 +113,31 @@ final class IdTypeAdapter extends TypeAdapter<Id<?>> {
         }
     }
 
+    /**
+     * Checks whether number is a plain integer literal which certainly fits into
+     * a {@code long}.
+     * <p>
+     * Literals with more than 18 digits are left to {@link BigDecimal}, which
+     * {@link NumberId} narrows again if possible.
+     *
+     * @param number The number literal
+     * @return {@code true} if {@link Long#parseLong(String)} can parse number
+     */
+    private static boolean isLong(String number) {
+        var start = number.startsWith("-") ? 1 : 0;
+        var digits = number.length() - start;
+
+        if (digits < 1 || digits > 18)
+            return false;
+
+        for (var i = start; i < number.length(); i++) {
+            var c = number.charAt(i);
+
+            if (c < '0' || c > '9')
+                return false;
+        }
+
+        return true;
+    }
+
 }
\ No newline at end of file
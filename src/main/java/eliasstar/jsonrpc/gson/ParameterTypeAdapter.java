@@ -20,6 +20,7 @@ package eliasstar.jsonrpc.gson;
 
 import java.io.IOException;
 
+import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.internal.Streams;
 import com.google.gson.stream.JsonReader;
@@ -37,31 +38,24 @@ import eliasstar.jsonrpc.objects.parameter.Parameters;
  */
 final class ParameterTypeAdapter extends TypeAdapter<Parameters<?>> {
 
-    /** The singleton instance. */
-    private static ParameterTypeAdapter instance;
-
-    /** Used once for singleton. */
-    private ParameterTypeAdapter() {}
+    /** The gson instance this adapter is registered to. */
+    private final Gson gson;
 
     /**
-     * Getter for singleton instance.
-     * <p>
-     * The instance is lazyly instanciated, which means the the singleton instance
-     * is created when this method is invoked for the first time. Any consecutive
-     * calls return the instance.
+     * Used by {@link RpcTypeAdapterFactory}.
      *
-     * @return The only instance of {@link ParameterTypeAdapter}
+     * @param gson The gson instance this adapter is registered to
      */
-    static ParameterTypeAdapter instance() {
-        if (instance == null)
-            instance = new ParameterTypeAdapter();
-
-        return instance;
+    ParameterTypeAdapter(Gson gson) {
+        this.gson = gson;
     }
 
     /**
      * Writes one JSON value (an array, object, string, number, boolean or null) for
      * value.
+     * <p>
+     * The gson instance is passed on, so {@link Parameters} holding Java objects
+     * are serialized with the same settings as the request.
      *
      * @param out The {@link JsonWriter} used as output
      * @param value The {@link Parameters} which is serialized
@@ -69,7 +63,7 @@ final class ParameterTypeAdapter extends TypeAdapter<Parameters<?>> {
      */
     @Override
     public void write(JsonWriter out, Parameters<?> value) throws IOException {
-        value.write(out);
+        value.write(out, gson);
     }
 
     /**
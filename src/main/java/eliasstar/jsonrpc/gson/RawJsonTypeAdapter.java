@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.gson;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.jsonrpc.objects.RawJson;
+
+/**
+ * Gson {@link TypeAdapter} for {@link RawJson}.
+ * <p>
+ * A JSON {@code null} is read as a {@link RawJson} containing {@code null}, so
+ * that it is forwarded unchanged.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class RawJsonTypeAdapter extends TypeAdapter<RawJson> {
+
+    /** The singleton instance. */
+    private static RawJsonTypeAdapter instance;
+
+    /** Used once for singleton. */
+    private RawJsonTypeAdapter() {}
+
+    /**
+     * Getter for singleton instance.
+     * <p>
+     * The instance is lazyly instanciated, which means the the singleton instance
+     * is created when this method is invoked for the first time. Any consecutive
+     * calls return the instance.
+     *
+     * @return The only instance of {@link RawJsonTypeAdapter}
+     */
+    static RawJsonTypeAdapter instance() {
+        if (instance == null)
+            instance = new RawJsonTypeAdapter();
+
+        return instance;
+    }
+
+    /**
+     * Writes the serialized value of value verbatim.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param value The {@link RawJson} which is serialized
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out, RawJson value) throws IOException {
+        if (value == null)
+            out.nullValue();
+        else
+            value.write(out);
+    }
+
+    /**
+     * Reads one JSON value (an array, object, string, number, boolean or null)
+     * without materializing it.
+     *
+     * @param in The {@link JsonReader} used as input
+     * @return A {@link RawJson} containing the read value
+     * @throws IOException If deserialization fails
+     */
+    @Override
+    public RawJson read(JsonReader in) throws IOException {
+        return RawJson.read(in);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.gson;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.id.Id;
+import eliasstar.jsonrpc.objects.parameter.Parameters;
+
+/**
+ * Gson {@link TypeAdapter} for {@link Request} and {@link Notification}.
+ * <p>
+ * The members are read and written directly, so neither reflection nor the
+ * {@link eliasstar.gson.OptionalTypeAdapter OptionalTypeAdapter} is involved.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class RequestTypeAdapter extends TypeAdapter<Request> {
+
+    /** Whether a {@link Notification} is read instead of a {@link Request}. */
+    private final boolean notification;
+
+    /** The adapter used for the id. */
+    private final TypeAdapter<Id<?>> idAdapter;
+
+    /** The adapter used for the params. */
+    private final TypeAdapter<Parameters<?>> paramsAdapter;
+
+    /**
+     * Used by {@link RpcTypeAdapterFactory}.
+     *
+     * @param notification Whether a {@link Notification} is read
+     * @param idAdapter The adapter used for the id
+     * @param paramsAdapter The adapter used for the params
+     */
+    RequestTypeAdapter(boolean notification, TypeAdapter<Id<?>> idAdapter, TypeAdapter<Parameters<?>> paramsAdapter) {
+        this.notification = notification;
+        this.idAdapter = idAdapter;
+        this.paramsAdapter = paramsAdapter;
+    }
+
+    /**
+     * Writes a JSON-RPC request object for value.
+     * <p>
+     * The id is omitted if the request is a notification, but a
+     * {@link eliasstar.jsonrpc.objects.id.NullId NullId} is always written.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param value The {@link Request} which is serialized
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out, Request value) throws IOException {
+        out.beginObject();
+        out.name("jsonrpc").value(value.jsonrpc());
+
+        if (value.id().isPresent()) {
+            var serialize = out.getSerializeNulls();
+            out.setSerializeNulls(true);
+
+            out.name("id");
+            idAdapter.write(out, value.id().get());
+
+            out.setSerializeNulls(serialize);
+        }
+
+        out.name("method").value(value.method());
+
+        if (value.params().isPresent()) {
+            out.name("params");
+            paramsAdapter.write(out, value.params().get());
+        }
+
+        out.endObject();
+    }
+
+    /**
+     * Reads a JSON-RPC request object.
+     * <p>
+     * Unknown members and the jsonrpc member are skipped. A missing method is
+     * read as empty string.
+     *
+     * @param in The {@link JsonReader} used as input
+     * @return A {@link Request} or {@link Notification} containing the read values
+     * @throws IOException If deserialization fails
+     */
+    @Override
+    public Request read(JsonReader in) throws IOException {
+        Id<?> id = null;
+        String method = "";
+        Parameters<?> params = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+            case "id":
+                id = idAdapter.read(in);
+                break;
+
+            case "method":
+                method = in.nextString();
+                break;
+
+            case "params":
+                params = paramsAdapter.read(in);
+                break;
+
+            default:
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return notification ? new Notification(method, params) : new Request(id, method, params);
+    }
+
+}
\ No newline at end of file
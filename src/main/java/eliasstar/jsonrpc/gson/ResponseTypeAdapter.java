@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.gson;
+
+import java.io.IOException;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.jsonrpc.objects.Error;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.id.Id;
+import eliasstar.jsonrpc.objects.id.NullId;
+
+/**
+ * Gson {@link TypeAdapter} for {@link Response}.
+ * <p>
+ * The members are read and written directly, so neither reflection nor the
+ * {@link eliasstar.gson.OptionalTypeAdapter OptionalTypeAdapter} is involved.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see TypedResponseTypeAdapter
+ */
+final class ResponseTypeAdapter extends TypeAdapter<Response> {
+
+    /** The adapter used for the id. */
+    private final TypeAdapter<Id<?>> idAdapter;
+
+    /** The adapter used for the result. */
+    private final TypeAdapter<JsonElement> resultAdapter;
+
+    /** The adapter used for the error. */
+    private final TypeAdapter<Error> errorAdapter;
+
+    /**
+     * Used by {@link RpcTypeAdapterFactory}.
+     *
+     * @param idAdapter The adapter used for the id
+     * @param resultAdapter The adapter used for the result
+     * @param errorAdapter The adapter used for the error
+     */
+    ResponseTypeAdapter(TypeAdapter<Id<?>> idAdapter, TypeAdapter<JsonElement> resultAdapter, TypeAdapter<Error> errorAdapter) {
+        this.idAdapter = idAdapter;
+        this.resultAdapter = resultAdapter;
+        this.errorAdapter = errorAdapter;
+    }
+
+    /**
+     * Writes a JSON-RPC response object for value.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param value The {@link Response} which is serialized
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out, Response value) throws IOException {
+        var serialize = out.getSerializeNulls();
+
+        out.beginObject();
+        out.name("jsonrpc").value(value.jsonrpc());
+
+        out.setSerializeNulls(true);
+
+        out.name("id");
+        idAdapter.write(out, value.id() != null ? value.id() : NullId.instance());
+
+        if (value.result().isPresent()) {
+            out.name("result");
+            resultAdapter.write(out, value.result().get());
+        }
+
+        out.setSerializeNulls(serialize);
+
+        if (value.error().isPresent()) {
+            out.name("error");
+            errorAdapter.write(out, value.error().get());
+        }
+
+        out.endObject();
+    }
+
+    /**
+     * Reads a JSON-RPC response object.
+     * <p>
+     * Unknown members and the jsonrpc member are skipped. A null result is read as
+     * {@link com.google.gson.JsonNull JsonNull}.
+     *
+     * @param in The {@link JsonReader} used as input
+     * @return A {@link Response} containing the read values
+     * @throws IOException If deserialization fails
+     */
+    @Override
+    public Response read(JsonReader in) throws IOException {
+        Id<?> id = null;
+        JsonElement result = null;
+        Error error = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+            case "id":
+                id = idAdapter.read(in);
+                break;
+
+            case "result":
+                result = resultAdapter.read(in);
+                break;
+
+            case "error":
+                error = errorAdapter.read(in);
+                break;
+
+            default:
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new Response(id, result, error);
+    }
+
+}
\ No newline at end of file
@@ -18,17 +18,29 @@
 
 package eliasstar.jsonrpc.gson;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
 
+import eliasstar.jsonrpc.objects.Error;
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.RawJson;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.TypedResponse;
 import eliasstar.jsonrpc.objects.id.Id;
 import eliasstar.jsonrpc.objects.parameter.Parameters;
 
 /**
- * Gson {@link TypeAdapterFactory} for {@link IdTypeAdapter} and
- * {@link ParameterTypeAdapter}.
+ * Gson {@link TypeAdapterFactory} for {@link IdTypeAdapter},
+ * {@link ParameterTypeAdapter}, {@link RawJsonTypeAdapter},
+ * {@link RequestTypeAdapter}, {@link ResponseTypeAdapter},
+ * {@link ErrorTypeAdapter} and {@link TypedResponseTypeAdapter}.
  *
  * @author Elias*
  * @since 0.1.0
@@ -63,16 +75,32 @@ public final class RpcTypeAdapterFactory implements TypeAdapterFactory {
      * The {@link IdTypeAdapter} singleton instance if the type implements
      * {@link Id}.
      * <p>
-     * The {@link ParameterTypeAdapter} singleton instance if the type implements
+     * A new {@link ParameterTypeAdapter} if the type implements
      * {@link Parameters}.
      * <p>
+     * The {@link RawJsonTypeAdapter} singleton instance if the type is
+     * {@link RawJson}.
+     * <p>
+     * A new {@link RequestTypeAdapter} if the type is {@link Request} or
+     * {@link Notification}, but not another subclass of {@link Request}.
+     * <p>
+     * A new {@link ResponseTypeAdapter} if the type is {@link Response}.
+     * <p>
+     * A new {@link ErrorTypeAdapter} if the type is {@link Error}.
+     * <p>
+     * A new {@link TypedResponseTypeAdapter} if the type is a
+     * {@link TypedResponse}. Its result is bound to the type argument, or to
+     * {@link JsonElement} if the type is raw.
+     * <p>
      *
      * @param <T> The type for which a {@link TypeAdapter} is needed
      * @param gson The {@link Gson} instance to which this adapter is registered
      * @param type A {@link TypeToken} which specifies the type the
      *        {@link TypeAdapter} should handle
      * @return A {@link TypeAdapter} which is either a {@link IdTypeAdapter},
-     *         {@link ParameterTypeAdapter} or null
+     *         {@link ParameterTypeAdapter}, {@link RawJsonTypeAdapter},
+     *         {@link RequestTypeAdapter}, {@link ResponseTypeAdapter},
+     *         {@link ErrorTypeAdapter}, {@link TypedResponseTypeAdapter} or null
      */
     @Override
     @SuppressWarnings("unchecked")
@@ -81,7 +109,28 @@ public final class RpcTypeAdapterFactory implements TypeAdapterFactory {
             return (TypeAdapter<T>) IdTypeAdapter.instance();
 
         if (Parameters.class.isAssignableFrom(type.getRawType()))
-            return (TypeAdapter<T>) ParameterTypeAdapter.instance();
+            return (TypeAdapter<T>) new ParameterTypeAdapter(gson);
+
+        if (type.getRawType() == RawJson.class)
+            return (TypeAdapter<T>) RawJsonTypeAdapter.instance();
+
+        if (type.getRawType() == Request.class || type.getRawType() == Notification.class)
+            return (TypeAdapter<T>) new RequestTypeAdapter(type.getRawType() == Notification.class, IdTypeAdapter.instance(), new ParameterTypeAdapter(gson)).nullSafe();
+
+        if (type.getRawType() == Response.class)
+            return (TypeAdapter<T>) new ResponseTypeAdapter(IdTypeAdapter.instance(), gson.getAdapter(JsonElement.class), gson.getAdapter(Error.class)).nullSafe();
+
+        if (type.getRawType() == Error.class)
+            return (TypeAdapter<T>) new ErrorTypeAdapter(gson.getAdapter(JsonElement.class)).nullSafe();
+
+        if (type.getRawType() == TypedResponse.class) {
+            Type resultType = JsonElement.class;
+
+            if (type.getType() instanceof ParameterizedType)
+                resultType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+
+            return (TypeAdapter<T>) new TypedResponseTypeAdapter<>(IdTypeAdapter.instance(), gson.getAdapter(TypeToken.get(resultType)), gson.getAdapter(Error.class)).nullSafe();
+        }
 
         return null;
     }
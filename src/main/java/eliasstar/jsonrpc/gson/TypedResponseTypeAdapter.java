@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.gson;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.jsonrpc.objects.Error;
+import eliasstar.jsonrpc.objects.TypedResponse;
+import eliasstar.jsonrpc.objects.id.Id;
+import eliasstar.jsonrpc.objects.id.NullId;
+
+/**
+ * Gson {@link TypeAdapter} for {@link TypedResponse}.
+ * <p>
+ * The result is read and written by the {@link TypeAdapter} of the result type,
+ * so it is bound in the same pass which parses the response.
+ *
+ * @param <T> Type of the result
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class TypedResponseTypeAdapter<T> extends TypeAdapter<TypedResponse<T>> {
+
+    /** The adapter used for the id. */
+    private final TypeAdapter<Id<?>> idAdapter;
+
+    /** The adapter used for the result. */
+    private final TypeAdapter<T> resultAdapter;
+
+    /** The adapter used for the error. */
+    private final TypeAdapter<Error> errorAdapter;
+
+    /**
+     * Used by {@link RpcTypeAdapterFactory}.
+     *
+     * @param idAdapter The adapter used for the id
+     * @param resultAdapter The adapter used for the result
+     * @param errorAdapter The adapter used for the error
+     */
+    TypedResponseTypeAdapter(TypeAdapter<Id<?>> idAdapter, TypeAdapter<T> resultAdapter, TypeAdapter<Error> errorAdapter) {
+        this.idAdapter = idAdapter;
+        this.resultAdapter = resultAdapter;
+        this.errorAdapter = errorAdapter;
+    }
+
+    /**
+     * Writes a JSON-RPC response object for value.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param value The {@link TypedResponse} which is serialized
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out, TypedResponse<T> value) throws IOException {
+        out.beginObject();
+        out.name("jsonrpc").value(value.jsonrpc());
+
+        out.name("id");
+        idAdapter.write(out, value.id() != null ? value.id() : NullId.instance());
+
+        if (value.isUnsuccessful()) {
+            out.name("error");
+            errorAdapter.write(out, value.error().get());
+        } else {
+            var serialize = out.getSerializeNulls();
+            out.setSerializeNulls(true);
+
+            out.name("result");
+            resultAdapter.write(out, value.result().orElse(null));
+
+            out.setSerializeNulls(serialize);
+        }
+
+        out.endObject();
+    }
+
+    /**
+     * Reads a JSON-RPC response object and binds its result to the result type.
+     * <p>
+     * Unknown members are skipped.
+     *
+     * @param in The {@link JsonReader} used as input
+     * @return A {@link TypedResponse} containing the read values
+     * @throws IOException If deserialization fails
+     */
+    @Override
+    public TypedResponse<T> read(JsonReader in) throws IOException {
+        Id<?> id = null;
+        T result = null;
+        Error error = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+            case "id":
+                id = idAdapter.read(in);
+                break;
+
+            case "result":
+                result = resultAdapter.read(in);
+                break;
+
+            case "error":
+                error = errorAdapter.read(in);
+                break;
+
+            default:
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new TypedResponse<>(id, result, error);
+    }
+
+}
\ No newline at end of file
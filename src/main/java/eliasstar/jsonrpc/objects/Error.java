@@ -33,6 +33,21 @@ import com.google.gson.JsonElement;
  */
 public final class Error {
 
+    /** Invalid JSON was received. */
+    public static final long PARSE_ERROR = -32700;
+
+    /** The JSON sent is not a valid request object. */
+    public static final long INVALID_REQUEST = -32600;
+
+    /** The method does not exist or is not available. */
+    public static final long METHOD_NOT_FOUND = -32601;
+
+    /** Invalid method parameters. */
+    public static final long INVALID_PARAMS = -32602;
+
+    /** Internal JSON-RPC error. */
+    public static final long INTERNAL_ERROR = -32603;
+
     /** Indicates the error type that occurred. */
     private final long code;
 
@@ -49,6 +64,29 @@ public final class Error {
         this.data = Optional.empty();
     }
 
+    /**
+     * Creates an {@link Error} without additional data.
+     *
+     * @param code The error code
+     * @param message The message
+     */
+    public Error(long code, String message) {
+        this(code, message, null);
+    }
+
+    /**
+     * Creates an {@link Error} with additional data.
+     *
+     * @param code The error code
+     * @param message The message
+     * @param data The additional data or null
+     */
+    public Error(long code, String message, JsonElement data) {
+        this.code = code;
+        this.message = Objects.requireNonNull(message);
+        this.data = Optional.ofNullable(data);
+    }
+
     /**
      * Getter for error code field.
      *
@@ -52,6 +52,16 @@ public final class Notification extends Request {
         super((Id<?>) null, method, (Parameters<?>) null);
     }
 
+    /**
+     * Creates a {@link Notification}.
+     *
+     * @param method The non-null method you want to invoke
+     * @param params If null the {@link Notification} has no params
+     */
+    public Notification(String method, Parameters<?> params) {
+        super(null, method, params);
+    }
+
     /**
      * Creates a {@link Notification} with parameters in array format.
      * <p>
@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Represents a JSON value which is kept in its serialized form.
+ * <p>
+ * It can be used as result type, e.g.
+ * {@code connection.sendRequest(req, RawJson.class)}, to receive a result
+ * without building a {@link JsonElement} tree or binding it to an object. The
+ * value is only materialized when {@link #asJsonElement()} or
+ * {@link #as(Gson, Type)} is invoked, which makes it suitable for proxies that
+ * forward results without inspecting them. Receiving a {@link RawJson} is not
+ * cheaper than receiving a {@link JsonElement}, see {@link #read(JsonReader)},
+ * but writing it again is.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class RawJson {
+
+    /** The hexadecimal digits used in unicode escapes. */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** The serialized value. */
+    private final String json;
+
+    /** The materialized value, null until it is first requested. */
+    private volatile JsonElement element;
+
+    /**
+     * Used by the factory methods.
+     *
+     * @param json The serialized value, which must be valid JSON
+     */
+    private RawJson(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Creates a {@link RawJson} from a serialized value.
+     * <p>
+     * The value is validated but not materialized.
+     *
+     * @param json A single JSON value
+     * @return A {@link RawJson} containing the value
+     * @throws JsonSyntaxException If json is not a single valid JSON value
+     */
+    public static RawJson of(String json) {
+        Objects.requireNonNull(json);
+
+        try (var in = new JsonReader(new StringReader(json))) {
+            in.skipValue();
+
+            if (in.peek() != JsonToken.END_DOCUMENT)
+                throw new JsonSyntaxException("Expected a single JSON value");
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+
+        return new RawJson(json);
+    }
+
+    /**
+     * Reads the next JSON value of the reader into a {@link RawJson}.
+     * <p>
+     * {@link JsonReader} does not expose the characters of a value, so the value
+     * is tokenized and its tokens are appended to a new string. No
+     * {@link JsonElement} tree is built, but every string and name is unescaped
+     * by the reader and escaped again. Reading a result this way therefore costs
+     * about as much as reading it as {@link JsonElement}; it pays off when the
+     * result is forwarded, since writing it again is a plain copy.
+     *
+     * @param in The {@link JsonReader} used as input
+     * @return A {@link RawJson} containing the read value
+     * @throws IOException If deserialization fails
+     */
+    public static RawJson read(JsonReader in) throws IOException {
+        var json = new StringBuilder();
+        var depth = 0;
+        var separate = false;
+
+        do {
+            var token = in.peek();
+
+            if (separate && token != JsonToken.END_ARRAY && token != JsonToken.END_OBJECT)
+                json.append(',');
+
+            separate = true;
+
+            switch (token) {
+            case BEGIN_ARRAY:
+                in.beginArray();
+                json.append('[');
+                separate = false;
+                depth++;
+                break;
+
+            case END_ARRAY:
+                in.endArray();
+                json.append(']');
+                depth--;
+                break;
+
+            case BEGIN_OBJECT:
+                in.beginObject();
+                json.append('{');
+                separate = false;
+                depth++;
+                break;
+
+            case END_OBJECT:
+                in.endObject();
+                json.append('}');
+                depth--;
+                break;
+
+            case NAME:
+                appendString(json, in.nextName());
+                json.append(':');
+                separate = false;
+                break;
+
+            case STRING:
+                appendString(json, in.nextString());
+                break;
+
+            case NUMBER:
+                json.append(in.nextString());
+                break;
+
+            case BOOLEAN:
+                json.append(in.nextBoolean());
+                break;
+
+            case NULL:
+                in.nextNull();
+                json.append("null");
+                break;
+
+            default:
+                throw new IOException("Expected a JSON value, not " + in.peek());
+            }
+        } while (depth > 0);
+
+        return new RawJson(json.toString());
+    }
+
+    /**
+     * Appends a string literal escaped like a {@link JsonWriter} without HTML
+     * escaping escapes it.
+     *
+     * @param json The builder the literal is appended to
+     * @param value The unescaped string
+     */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+
+        var start = 0;
+
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029')
+                continue;
+
+            json.append(value, start, i);
+            start = i + 1;
+
+            switch (c) {
+            case '"':
+                json.append("\\\"");
+                break;
+
+            case '\\':
+                json.append("\\\\");
+                break;
+
+            case '\t':
+                json.append("\\t");
+                break;
+
+            case '\b':
+                json.append("\\b");
+                break;
+
+            case '\n':
+                json.append("\\n");
+                break;
+
+            case '\r':
+                json.append("\\r");
+                break;
+
+            case '\f':
+                json.append("\\f");
+                break;
+
+            default:
+                json.append("\\u").append(HEX[c >> 12]).append(HEX[c >> 8 & 0xf]).append(HEX[c >> 4 & 0xf]).append(HEX[c & 0xf]);
+            }
+        }
+
+        json.append(value, start, value.length()).append('"');
+    }
+
+    /**
+     * Writes the serialized value verbatim to out.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @throws IOException If serialization fails
+     */
+    public void write(JsonWriter out) throws IOException {
+        out.jsonValue(json);
+    }
+
+    /**
+     * Materializes the value as {@link JsonElement}.
+     * <p>
+     * The value is only parsed on the first invocation.
+     *
+     * @return The value as {@link JsonElement}
+     */
+    public JsonElement asJsonElement() {
+        var element = this.element;
+
+        if (element == null)
+            this.element = element = JsonParser.parseString(json);
+
+        return element;
+    }
+
+    /**
+     * Materializes the value as the specified type.
+     * <p>
+     * The value is parsed on every invocation.
+     *
+     * @param <T> The type of the value
+     * @param gson The {@link Gson} instance used for deserialization
+     * @param type The type of the value
+     * @return The value bound to the type
+     */
+    public <T> T as(Gson gson, Type type) {
+        return gson.fromJson(json, type);
+    }
+
+    /**
+     * Returns the hash code for this {@link RawJson}.
+     *
+     * @return The hash code of the serialized value
+     */
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    /**
+     * Two {@link RawJson} objects are equal if their serialized values are equal.
+     *
+     * @param obj The object to be checked
+     * @return {@code true} if the object is equal as described above
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj instanceof RawJson) {
+            var other = (RawJson) obj;
+
+            return this == other || json.equals(other.json);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the serialized value.
+     *
+     * @return The value as JSON
+     */
+    @Override
+    public String toString() {
+        return json;
+    }
+
+}
\ No newline at end of file
@@ -70,13 +70,16 @@ public class Request {
 
     /**
      * Creates a {@link Request}.
+     * <p>
+     * If you want to send a request without an id, you should create a
+     * {@link Notification}.
      *
      * @param id If null the {@link Request} is considered to be a
      *        {@link Notification}
      * @param method Must not be null
      * @param params If null the {@link Request} has no params
      */
-    protected Request(Id<?> id, String method, Parameters<?> params) {
+    public Request(Id<?> id, String method, Parameters<?> params) {
         this.jsonrpc = "2.0";
         this.id = Optional.ofNullable(id);
         this.method = Objects.requireNonNull(method);
@@ -146,7 +149,7 @@ public class Request {
      * @param method The non-null method you want to invoke
      */
     public Request(Number id, String method) {
-        this(id != null ? new NumberId(new BigDecimal(id.toString())) : NullId.instance(), method, null);
+        this(numberId(id), method, null);
     }
 
     /**
@@ -165,7 +168,7 @@ public class Request {
      * @param params The parameters provided as {@link JsonArray}
      */
     public Request(Number id, String method, JsonArray params) {
-        this(id != null ? new NumberId(new BigDecimal(id.toString())) : NullId.instance(), method, new ArrayParameters(params));
+        this(numberId(id), method, new ArrayParameters(params));
     }
 
     /**
@@ -184,7 +187,26 @@ public class Request {
      * @param params The parameters provided as {@link JsonObject}
      */
     public Request(Number id, String method, JsonObject params) {
-        this(id != null ? new NumberId(new BigDecimal(id.toString())) : NullId.instance(), method, new ObjectParameters(params));
+        this(numberId(id), method, new ObjectParameters(params));
+    }
+
+    /**
+     * Converts id to an {@link Id}.
+     * <p>
+     * Integral ids of the primitive wrapper types are stored as {@code long},
+     * everything else is converted to a {@link BigDecimal}.
+     *
+     * @param id A id of type {@link Number} or {@code null}
+     * @return A {@link NumberId} or {@link NullId} if id is {@code null}
+     */
+    private static Id<?> numberId(Number id) {
+        if (id == null)
+            return NullId.instance();
+
+        if (id instanceof Long || id instanceof Integer || id instanceof Short || id instanceof Byte)
+            return new NumberId(id.longValue());
+
+        return new NumberId(new BigDecimal(id.toString()));
     }
 
     /**
@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 
 import eliasstar.jsonrpc.objects.id.Id;
 
@@ -58,6 +59,52 @@ public final class Response {
         this.error = Optional.empty();
     }
 
+    /**
+     * Creates a successful {@link Response}.
+     * <p>
+     * A null result is represented by {@link JsonNull}.
+     *
+     * @param id The id of the corresponding {@link Request}
+     * @param result The result
+     */
+    public Response(Id<?> id, JsonElement result) {
+        this.id = Objects.requireNonNull(id);
+        this.result = Optional.of(result == null ? JsonNull.INSTANCE : result);
+        this.error = Optional.empty();
+    }
+
+    /**
+     * Creates an error {@link Response}.
+     *
+     * @param id The id of the corresponding {@link Request} or
+     *        {@link eliasstar.jsonrpc.objects.id.NullId NullId} if it could not
+     *        be determined
+     * @param error The error
+     */
+    public Response(Id<?> id, Error error) {
+        this.id = Objects.requireNonNull(id);
+        this.result = Optional.empty();
+        this.error = Optional.of(error);
+    }
+
+    /**
+     * Creates a {@link Response} as it was received.
+     * <p>
+     * Unlike the other constructors it accepts malformed responses, e.g. without
+     * id or with neither result nor error, so they can be checked by the caller.
+     * If error is not null the {@link Response} is considered to be an error
+     * response.
+     *
+     * @param id The id of the corresponding {@link Request} or null
+     * @param result The result or null
+     * @param error The error or null
+     */
+    public Response(Id<?> id, JsonElement result, Error error) {
+        this.id = id;
+        this.result = Optional.ofNullable(result);
+        this.error = Optional.ofNullable(error);
+    }
+
     /**
      * Getter for jsonrpc field.
      * <p>
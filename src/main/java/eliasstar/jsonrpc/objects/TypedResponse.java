@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import eliasstar.jsonrpc.objects.id.Id;
+
+/**
+ * Represents a JSON-RPC response whose result is bound to a specific type.
+ * <p>
+ * Unlike {@link Response}, the result is deserialized directly into the target
+ * type while the response is parsed, without building a
+ * {@link com.google.gson.JsonElement JsonElement} tree first.
+ *
+ * @param <T> Type of the result
+ * @author Elias*
+ * @since 2.1.0
+ * @see <a href="https://www.jsonrpc.org/specification#response_object">JSON-RPC
+ *      Specification</a>
+ */
+public final class TypedResponse<T> {
+
+    /**
+     * Specifies the version of the JSON-RPC protocol.
+     * <p>
+     * It is always {@code "2.0"}.
+     */
+    private final String jsonrpc = "2.0";
+
+    /** Specifies the id of this {@link TypedResponse}. */
+    private final Id<?> id;
+
+    /** Specifies the possible result of this {@link TypedResponse}. */
+    private final Optional<T> result;
+
+    /** Specifies the possible error of this {@link TypedResponse}. */
+    private final Optional<Error> error;
+
+    /**
+     * Creates a {@link TypedResponse}.
+     * <p>
+     * If error is not null the {@link TypedResponse} is considered to be an error
+     * response.
+     *
+     * @param id The id of the corresponding {@link Request}
+     * @param result The result or null
+     * @param error The error or null
+     */
+    public TypedResponse(Id<?> id, T result, Error error) {
+        this.id = id;
+        this.result = Optional.ofNullable(result);
+        this.error = Optional.ofNullable(error);
+    }
+
+    /**
+     * Getter for jsonrpc field.
+     * <p>
+     * It is always {@code "2.0"}.
+     *
+     * @return The version of the JSON-RPC protocol
+     */
+    public String jsonrpc() {
+        return jsonrpc;
+    }
+
+    /**
+     * Getter for id field.
+     *
+     * @return The id of this {@link TypedResponse}
+     */
+    public Id<?> id() {
+        return id;
+    }
+
+    /**
+     * Getter for result field.
+     * <p>
+     * The {@code Optional} is empty if this {@link TypedResponse} is an error
+     * response or if the result was {@code null}.
+     *
+     * @return The result of this {@link TypedResponse}
+     */
+    public Optional<T> result() {
+        return result;
+    }
+
+    /**
+     * Getter for error field.
+     * <p>
+     * If the {@code Optional} is not empty the {@link TypedResponse} is considered
+     * to be an error response.
+     *
+     * @return The error of this {@link TypedResponse}
+     */
+    public Optional<Error> error() {
+        return error;
+    }
+
+    /**
+     * Whether the request that generated this {@link TypedResponse} was
+     * successful.
+     *
+     * @return {@code true} if {@link TypedResponse#error error} field is not
+     *         present else {@code false}
+     */
+    public boolean isSuccessful() {
+        return error.isEmpty();
+    }
+
+    /**
+     * Whether this {@link TypedResponse} contains an error.
+     *
+     * @return {@code true} if {@link TypedResponse#error error} field is present
+     *         else {@code false}
+     */
+    public boolean isUnsuccessful() {
+        return error.isPresent();
+    }
+
+    /**
+     * This method is implemented using {@code Objects.hash()}.
+     * <p>
+     * {@inheritDoc}
+     *
+     * @return The hash code for this {@link TypedResponse}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(jsonrpc, id, result, error);
+    }
+
+    /**
+     * This method returns {@code true} if the argument is a {@link TypedResponse}
+     * and all properties are equal, otherwise returns {@code false}.
+     * <p>
+     * {@inheritDoc}
+     *
+     * @param obj The object to be checked
+     * @return Whether {@code this} is the same as the {@link Object} argument
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj instanceof TypedResponse) {
+            var other = (TypedResponse<?>) obj;
+
+            return this == other || jsonrpc.equals(other.jsonrpc) && Objects.equals(id, other.id) && result.equals(other.result) && error.equals(other.error);
+        }
+
+        return false;
+    }
+
+    /**
+     * The returned {@link String} is equal to the value of:
+     * {@code "TypedResponse@" + Integer.toHexString(hashCode()) + " " + contentAsJsonString()}
+     * where {@code contentAsJsonString()} returns a JSON-like {@link String} of
+     * this {@link TypedResponse}.
+     *
+     * @return A {@link String} representation of this {@link TypedResponse}
+     */
+    @Override
+    public String toString() {
+        return "TypedResponse@" + Integer.toHexString(hashCode()) + " " + contentAsJsonString();
+    }
+
+    /**
+     * The returned {@link String} represents the contents of this
+     * {@link TypedResponse}.
+     *
+     * @return A JSON-like {@link String} of this {@link TypedResponse}
+     */
+    protected String contentAsJsonString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("{");
+        sb.append("\"jsonrpc\": \"" + jsonrpc + "\"");
+        sb.append(", \"id\": " + id);
+        result.ifPresent(r -> sb.append(", \"result\": " + r));
+        error.ifPresent(e -> sb.append(", \"error\": " + e));
+        sb.append("}");
+
+        return sb.toString();
+    }
+
+}
\ No newline at end of file
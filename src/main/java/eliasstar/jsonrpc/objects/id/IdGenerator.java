@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.id;
+
+/**
+ * Generates the {@link Id Ids} of the requests sent by a
+ * {@link eliasstar.jsonrpc.Connection Connection}.
+ * <p>
+ * A single {@link eliasstar.jsonrpc.Connection Connection} may be shared by
+ * many threads, therefore implementations have to be thread-safe and must not
+ * hand out the same {@link Id} twice.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see SequentialIdGenerator
+ */
+public interface IdGenerator {
+
+    /**
+     * Generates the next {@link Id}.
+     *
+     * @return A unique {@link Id}
+     */
+    public Id<?> next();
+
+    /**
+     * Gets how many {@link Id Ids} have been generated.
+     *
+     * @return The number of invocations of {@link #next()}
+     */
+    public long generated();
+
+}
\ No newline at end of file
@@ -26,6 +26,13 @@ import com.google.gson.stream.JsonWriter;
 
 /**
  * Represents an id with a type of {@link Number} concrete {@link BigDecimal}.
+ * <p>
+ * Integral ids which fit into a {@code long} are stored as primitive, so the
+ * common case of a numeric counter needs no {@link BigDecimal} to be written or
+ * read. Reading still allocates the number literal as {@link String}, as the
+ * shortcuts of {@link com.google.gson.stream.JsonReader JsonReader} round
+ * other literals. Two {@link NumberId NumberIds} are equal if they are
+ * numerically equal, regardless of how they were created.
  *
  * @author Elias*
  * @since 0.1.0
@@ -34,9 +41,21 @@ import com.google.gson.stream.JsonWriter;
  */
 public final class NumberId implements Id<BigDecimal> {
 
-    /** The actual id. */
+    /** The smallest id which can be stored as primitive. */
+    private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    /** The largest id which can be stored as primitive. */
+    private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    /** The actual id, or null if it was created from a {@code long}. */
     private final BigDecimal id;
 
+    /** The actual id as primitive, only valid if {@link #integral} is set. */
+    private final long value;
+
+    /** Whether the id is represented exactly by {@link #value}. */
+    private final boolean integral;
+
     /**
      * Creates a {@link NumberId}.
      *
@@ -44,6 +63,19 @@ public final class NumberId implements Id<BigDecimal> {
      */
     public NumberId(BigDecimal id) {
         this.id = Objects.requireNonNull(id);
+        this.integral = (id.scale() <= 0 || id.stripTrailingZeros().scale() <= 0) && id.compareTo(MIN_LONG) >= 0 && id.compareTo(MAX_LONG) <= 0;
+        this.value = integral ? id.longValue() : 0;
+    }
+
+    /**
+     * Creates a {@link NumberId} backed by a primitive.
+     *
+     * @param id The id to be used
+     */
+    public NumberId(long id) {
+        this.id = null;
+        this.value = id;
+        this.integral = true;
     }
 
     /**
@@ -53,7 +85,7 @@ public final class NumberId implements Id<BigDecimal> {
      */
     @Override
     public BigDecimal get() {
-        return id;
+        return id != null ? id : BigDecimal.valueOf(value);
     }
 
     /**
@@ -64,7 +96,10 @@ public final class NumberId implements Id<BigDecimal> {
      */
     @Override
     public void write(JsonWriter out) throws IOException {
-        out.value(id);
+        if (id != null)
+            out.value(id);
+        else
+            out.value(value);
     }
 
     /**
@@ -74,11 +109,12 @@ public final class NumberId implements Id<BigDecimal> {
      */
     @Override
     public int hashCode() {
-        return id.hashCode();
+        return integral ? Long.hashCode(value) : id.stripTrailingZeros().hashCode();
     }
 
     /**
-     * Two {@link NumberId} objects are equal if their underlying id is equal.
+     * Two {@link NumberId} objects are equal if their underlying ids are
+     * numerically equal.
      *
      * @param obj The object to be checked
      * @return {@code true} if the object is equal as described above
@@ -88,7 +124,13 @@ public final class NumberId implements Id<BigDecimal> {
         if (obj != null && obj instanceof NumberId) {
             var other = (NumberId) obj;
 
-            return this == other || id.equals(other.id);
+            if (this == other)
+                return true;
+
+            if (integral || other.integral)
+                return integral && other.integral && value == other.value;
+
+            return id.compareTo(other.id) == 0;
         }
 
         return false;
@@ -101,7 +143,7 @@ public final class NumberId implements Id<BigDecimal> {
      */
     @Override
     public String toString() {
-        return id.toString();
+        return id != null ? id.toString() : Long.toString(value);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.id;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates consecutive ids starting at zero.
+ * <p>
+ * Without a prefix {@link NumberId NumberIds} are generated, otherwise
+ * {@link StringId StringIds} in the format {@code prefix + "-" + counter}.
+ * <p>
+ * The counter is advanced with a single atomic increment, so this generator
+ * can be shared by any number of threads without locking.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class SequentialIdGenerator implements IdGenerator {
+
+    /** The optional prefix of the generated ids. */
+    private final Optional<String> prefix;
+
+    /** The next counter value. */
+    private final AtomicLong counter;
+
+    /**
+     * Creates a {@link SequentialIdGenerator} which generates
+     * {@link NumberId NumberIds}.
+     */
+    public SequentialIdGenerator() {
+        this(null);
+    }
+
+    /**
+     * Creates a {@link SequentialIdGenerator} which generates
+     * {@link StringId StringIds} with the specified prefix.
+     * <p>
+     * If prefix is null {@link NumberId NumberIds} are generated.
+     *
+     * @param prefix The prefix of the generated ids
+     */
+    public SequentialIdGenerator(String prefix) {
+        this.prefix = Optional.ofNullable(prefix);
+        this.counter = new AtomicLong();
+    }
+
+    /**
+     * Generates the next {@link Id}.
+     *
+     * @return A {@link NumberId} or a prefixed {@link StringId}
+     */
+    @Override
+    public Id<?> next() {
+        var next = counter.getAndIncrement();
+
+        if (prefix.isPresent())
+            return new StringId(prefix.get(), next);
+
+        return new NumberId(next);
+    }
+
+    /**
+     * Gets how many {@link Id Ids} have been generated.
+     *
+     * @return The next counter value
+     */
+    @Override
+    public long generated() {
+        return counter.get();
+    }
+
+}
\ No newline at end of file
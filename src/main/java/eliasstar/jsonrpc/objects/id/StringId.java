@@ -19,12 +19,20 @@
 package eliasstar.jsonrpc.objects.id;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Objects;
+import java.util.Optional;
 
 import com.google.gson.stream.JsonWriter;
 
 /**
  * Represents an id with a type of {@link String}.
+ * <p>
+ * Ids in the format {@code prefix + "-" + counter} can be created from their
+ * parts, which are kept instead of the concatenated string. Such an id is equal
+ * to a {@link StringId} holding the same string, which is compared by parsing
+ * its suffix, so matching a response to a request does not need to build the
+ * string either.
  *
  * @author Elias*
  * @since 0.1.0
@@ -33,9 +41,15 @@ import com.google.gson.stream.JsonWriter;
  */
 public final class StringId implements Id<String> {
 
-    /** The actual id */
+    /** The actual id, or null if it was created from prefix and counter. */
     private final String id;
 
+    /** The prefix of the id, or null if it was created from a string. */
+    private final String prefix;
+
+    /** The counter following the prefix. */
+    private final long counter;
+
     /**
      * Creates an {@link StringId}.
      *
@@ -43,16 +57,78 @@ public final class StringId implements Id<String> {
      */
     public StringId(String id) {
         this.id = Objects.requireNonNull(id);
+        this.prefix = null;
+        this.counter = 0;
+    }
+
+    /**
+     * Creates an {@link StringId} in the format {@code prefix + "-" + counter}
+     * without concatenating it.
+     *
+     * @param prefix The prefix of the id
+     * @param counter The counter following the prefix
+     */
+    public StringId(String prefix, long counter) {
+        this.id = null;
+        this.prefix = Objects.requireNonNull(prefix);
+        this.counter = counter;
     }
 
     /**
      * Getter for the actual id.
+     * <p>
+     * If this id was created from prefix and counter, the string is built on
+     * every call.
      *
      * @return The actual id
      */
     @Override
     public String get() {
-        return id;
+        return id != null ? id : prefix + "-" + counter;
+    }
+
+    /**
+     * Getter for the prefix.
+     *
+     * @return The prefix, if this id was created from prefix and counter
+     */
+    public Optional<String> prefix() {
+        return Optional.ofNullable(prefix);
+    }
+
+    /**
+     * Getter for the counter.
+     * <p>
+     * It is only meaningful if {@link #prefix()} is present.
+     *
+     * @return The counter following the prefix
+     */
+    public long counter() {
+        return counter;
+    }
+
+    /**
+     * Writes the suffix {@code "-" + counter} as ASCII characters to out, without
+     * building a string.
+     * <p>
+     * It is only meaningful if {@link #prefix()} is present. The characters need
+     * no escaping, so the suffix can follow the escaped prefix of a JSON string
+     * directly.
+     *
+     * @param out The stream the suffix is written to
+     * @throws IOException If writing fails
+     */
+    public void writeSuffix(OutputStream out) throws IOException {
+        out.write('-');
+
+        if (counter < 0)
+            out.write('-');
+
+        // Negative to include Long.MIN_VALUE
+        var value = counter < 0 ? counter : -counter;
+
+        for (var power = power(value); power > 0; power /= 10)
+            out.write(digit(value, power));
     }
 
     /**
@@ -63,17 +139,34 @@ public final class StringId implements Id<String> {
      */
     @Override
     public void write(JsonWriter out) throws IOException {
-        out.value(id);
+        out.value(get());
     }
 
     /**
      * Returns the hash code for this {@link StringId}.
+     * <p>
+     * It is the hash code of the underlying id, which is computed without
+     * building the string if this id was created from prefix and counter.
      *
      * @return The hash code of the underlying id
      */
     @Override
     public int hashCode() {
-        return id.hashCode();
+        if (id != null)
+            return id.hashCode();
+
+        var hash = 31 * prefix.hashCode() + '-';
+
+        if (counter < 0)
+            hash = 31 * hash + '-';
+
+        // Negative to include Long.MIN_VALUE
+        var value = counter < 0 ? counter : -counter;
+
+        for (var power = power(value); power > 0; power /= 10)
+            hash = 31 * hash + digit(value, power);
+
+        return hash;
     }
 
     /**
@@ -87,7 +180,16 @@ public final class StringId implements Id<String> {
         if (obj != null && obj instanceof StringId) {
             var other = (StringId) obj;
 
-            return this == other || id.equals(other.id);
+            if (this == other)
+                return true;
+
+            if (id != null && other.id != null)
+                return id.equals(other.id);
+
+            if (id == null && other.id == null && prefix.equals(other.prefix))
+                return counter == other.counter;
+
+            return id == null ? matches(other.get()) : other.matches(id);
         }
 
         return false;
@@ -100,7 +202,59 @@ public final class StringId implements Id<String> {
      */
     @Override
     public String toString() {
-        return '"' + id + '"';
+        return '"' + get() + '"';
+    }
+
+    /**
+     * Checks whether str is {@code prefix + "-" + counter} without building the
+     * concatenated string.
+     *
+     * @param str The string to be checked
+     * @return {@code true} if str is equal to the id
+     */
+    private boolean matches(String str) {
+        var index = prefix.length();
+
+        if (!str.startsWith(prefix) || index >= str.length() || str.charAt(index++) != '-')
+            return false;
+
+        if (counter < 0 && (index >= str.length() || str.charAt(index++) != '-'))
+            return false;
+
+        var value = counter < 0 ? counter : -counter;
+
+        for (var power = power(value); power > 0; power /= 10) {
+            if (index >= str.length() || str.charAt(index++) != digit(value, power))
+                return false;
+        }
+
+        return index == str.length();
+    }
+
+    /**
+     * Gets the power of ten of the first digit of value.
+     *
+     * @param value A number which is zero or negative
+     * @return The power of ten of the first digit
+     */
+    private static long power(long value) {
+        var power = 1L;
+
+        while (value / power <= -10)
+            power *= 10;
+
+        return power;
+    }
+
+    /**
+     * Gets the digit of value at the specified power of ten as character.
+     *
+     * @param value A number which is zero or negative
+     * @param power The power of ten of the digit
+     * @return The digit as character
+     */
+    private static char digit(long value, long power) {
+        return (char) ('0' - value / power % 10);
     }
 
 }
\ No newline at end of file
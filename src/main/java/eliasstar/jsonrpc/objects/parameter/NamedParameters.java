@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.parameter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Represents the params in object format, holding Java objects instead of a
+ * {@link com.google.gson.JsonObject JsonObject}.
+ * <p>
+ * Each value is serialized directly by the {@link TypeAdapter} of its runtime
+ * class like the values of {@link PositionalParameters}, or by previously
+ * resolved adapters if created by
+ * {@link #adapted(String[], TypeAdapter[], Object...)}. The members are written
+ * in the iteration order of the map passed to the constructor, or in the order
+ * of the names.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see <a href="https://www.jsonrpc.org/specification#request_object">JSON-RPC
+ *      Specification</a>
+ */
+public final class NamedParameters implements Parameters<Map<String, Object>> {
+
+    /** The parameter names. */
+    private final String[] names;
+
+    /** The values in the order of the names. */
+    private final Object[] values;
+
+    /** The adapters of the values, or null if their runtime classes are used. */
+    private final TypeAdapter<Object>[] adapters;
+
+    /**
+     * Creates {@link NamedParameters}.
+     *
+     * @param params The parameters to be used, whose values may be null
+     */
+    public NamedParameters(Map<String, ?> params) {
+        this(params.keySet().toArray(String[]::new), params.values().toArray(), null);
+    }
+
+    /**
+     * Used by the constructor and
+     * {@link #adapted(String[], TypeAdapter[], Object...)}.
+     *
+     * @param names The parameter names, which are not copied
+     * @param values The values, which are not copied
+     * @param adapters The adapters of the values or null
+     * @throws IllegalArgumentException If the number of names, adapters and
+     *         values differs
+     */
+    @SuppressWarnings("unchecked")
+    private NamedParameters(String[] names, Object[] values, TypeAdapter<?>[] adapters) {
+        if (names.length != values.length || adapters != null && adapters.length != values.length)
+            throw new IllegalArgumentException("Expected " + names.length + " values, not " + values.length);
+
+        for (var name : names) {
+            if (name == null)
+                throw new NullPointerException("Parameter names must not be null");
+        }
+
+        this.names = names;
+        this.values = values;
+        this.adapters = (TypeAdapter<Object>[]) adapters;
+    }
+
+    /**
+     * Creates {@link NamedParameters} whose values are written by previously
+     * resolved adapters.
+     * <p>
+     * The names and values are not copied, so they must not be modified
+     * afterwards.
+     *
+     * @param names The distinct names of the values
+     * @param adapters The adapters of the values, see
+     *        {@link PositionalParameters#adapters(Gson, java.lang.reflect.Type...)}
+     * @param values The values, which may contain null
+     * @return The {@link NamedParameters}
+     * @throws IllegalArgumentException If the number of names, adapters and
+     *         values differs or a name occurs twice
+     */
+    public static NamedParameters adapted(String[] names, TypeAdapter<?>[] adapters, Object... values) {
+        var params = new NamedParameters(Objects.requireNonNull(names), Objects.requireNonNull(values), Objects.requireNonNull(adapters));
+
+        for (var i = 1; i < names.length; i++) {
+            for (var j = 0; j < i; j++) {
+                if (names[i].equals(names[j]))
+                    throw new IllegalArgumentException("Duplicate parameter name " + names[i]);
+            }
+        }
+
+        return params;
+    }
+
+    /**
+     * Getter for the actual parameters.
+     * <p>
+     * The map is created on every call.
+     *
+     * @return The unmodifiable map of parameters in the order of their names
+     */
+    @Override
+    public Map<String, Object> get() {
+        var params = new LinkedHashMap<String, Object>();
+
+        for (var i = 0; i < names.length; i++)
+            params.put(names[i], values[i]);
+
+        return Collections.unmodifiableMap(params);
+    }
+
+    /**
+     * Writes the parameters as JSON object using a default {@link Gson} instance.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out) throws IOException {
+        write(out, PositionalParameters.DEFAULT_GSON);
+    }
+
+    /**
+     * Writes the parameters as JSON object using the adapters of gson, or the
+     * resolved adapters if they were created by
+     * {@link #adapted(String[], TypeAdapter[], Object...)}.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param gson The {@link Gson} instance serializing the request
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out, Gson gson) throws IOException {
+        out.beginObject();
+
+        for (var i = 0; i < names.length; i++) {
+            out.name(names[i]);
+
+            if (adapters != null)
+                adapters[i].write(out, values[i]);
+            else
+                PositionalParameters.writeValue(out, gson, values[i]);
+        }
+
+        out.endObject();
+    }
+
+    /**
+     * Returns the hash code for these {@link NamedParameters}.
+     * <p>
+     * It is computed like {@link Map#hashCode()} without creating the map.
+     *
+     * @return The hash code of the parameters
+     */
+    @Override
+    public int hashCode() {
+        var hash = 0;
+
+        for (var i = 0; i < names.length; i++)
+            hash += names[i].hashCode() ^ Objects.hashCode(values[i]);
+
+        return hash;
+    }
+
+    /**
+     * Two {@link NamedParameters} objects are equal if their parameters are
+     * equal.
+     *
+     * @param obj The object to be checked
+     * @return {@code true} if the object is equal as described above
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj instanceof NamedParameters) {
+            var other = (NamedParameters) obj;
+
+            return this == other || get().equals(other.get());
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the string representation for these {@link NamedParameters}.
+     *
+     * @return The parameters as string
+     */
+    @Override
+    public String toString() {
+        return get().toString();
+    }
+
+}
\ No newline at end of file
@@ -21,13 +21,16 @@ package eliasstar.jsonrpc.objects.parameter;
 import java.io.IOException;
 import java.util.function.Supplier;
 
+import com.google.gson.Gson;
 import com.google.gson.stream.JsonWriter;
 
 /**
  * Represents the params in a JSON-RPC request.
  * <p>
- * Its two implementations {@link ArrayParameters} and {@link ObjectParameters}
- * cover the possible JSON types of Object and Array.
+ * The implementations {@link ArrayParameters} and {@link ObjectParameters}
+ * cover the possible JSON types of Object and Array as JSON trees, while
+ * {@link PositionalParameters} and {@link NamedParameters} hold Java objects
+ * which are serialized directly.
  *
  * @param <T> Type of parameter
  * @author Elias*
@@ -45,4 +48,18 @@ public interface Parameters<T> extends Supplier<T> {
      */
     public void write(JsonWriter out) throws IOException;
 
+    /**
+     * Writes one JSON value (an array, object, string, number, boolean or null)
+     * using the {@link Gson} instance serializing the request.
+     * <p>
+     * The default implementation ignores gson and invokes {@link #write(JsonWriter)}.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param gson The {@link Gson} instance serializing the request
+     * @throws IOException If serialization fails
+     */
+    public default void write(JsonWriter out, Gson gson) throws IOException {
+        write(out);
+    }
+
 }
\ No newline at end of file
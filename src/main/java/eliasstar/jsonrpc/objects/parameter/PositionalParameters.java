@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.parameter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.gson.OptionalTypeAdapterFactory;
+import eliasstar.jsonrpc.gson.RpcTypeAdapterFactory;
+
+/**
+ * Represents the params in array format, holding Java objects instead of a
+ * {@link com.google.gson.JsonArray JsonArray}.
+ * <p>
+ * Each value is serialized directly by the {@link TypeAdapter} of its runtime
+ * class, so no intermediate {@link com.google.gson.JsonElement JsonElement}
+ * tree is built. When sent by a {@link eliasstar.jsonrpc.Connection
+ * Connection} the adapters of its {@link Gson} instance are used.
+ * <p>
+ * Service proxies and generated stubs resolve the adapters of their declared
+ * parameter types once with {@link #adapters(Gson, Type...)} and create the
+ * params with {@link #adapted(TypeAdapter[], Object...)}, so the values are
+ * written by these adapters instead of looking them up per call.
+ * <p>
+ * Because of {@link #PositionalParameters(List)}, a single {@link List} passed
+ * to the constructor is always taken as the list of parameters, never as one
+ * list-valued parameter. Use {@code new PositionalParameters((Object) list)}
+ * to pass a list as single parameter.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see <a href="https://www.jsonrpc.org/specification#request_object">JSON-RPC
+ *      Specification</a>
+ */
+public final class PositionalParameters implements Parameters<List<Object>> {
+
+    /**
+     * The gson instance used if none is passed to {@link #write(JsonWriter, Gson)}.
+     * <p>
+     * It is configured like the default of a
+     * {@link eliasstar.jsonrpc.ConnectionBuilder ConnectionBuilder}, so values are
+     * written the same way with or without a
+     * {@link eliasstar.jsonrpc.Connection Connection}.
+     */
+    static final Gson DEFAULT_GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(OptionalTypeAdapterFactory.instance())
+            .registerTypeAdapterFactory(RpcTypeAdapterFactory.instance())
+            .serializeNulls()
+            .create();
+
+    /** The actual parameters */
+    private final List<Object> params;
+
+    /** The adapters of the parameters, or null if their runtime classes are used. */
+    private final TypeAdapter<Object>[] adapters;
+
+    /**
+     * Creates {@link PositionalParameters}.
+     * <p>
+     * A single {@link List} argument selects {@link #PositionalParameters(List)},
+     * cast it to {@link Object} to pass it as single parameter.
+     *
+     * @param params The parameters to be used, which may contain null
+     */
+    public PositionalParameters(Object... params) {
+        this(params.clone(), null);
+    }
+
+    /**
+     * Creates {@link PositionalParameters} from a list of parameters.
+     * <p>
+     * The list is always taken as the list of parameters, not as one list-valued
+     * parameter.
+     *
+     * @param params The parameters to be used, which may contain null
+     */
+    public PositionalParameters(List<?> params) {
+        this(params.toArray(), null);
+    }
+
+    /**
+     * Used by the constructors and {@link #adapted(TypeAdapter[], Object...)}.
+     *
+     * @param params The parameters, which are not copied
+     * @param adapters The adapters of the parameters or null
+     * @throws IllegalArgumentException If the number of adapters and parameters
+     *         differs
+     */
+    @SuppressWarnings("unchecked")
+    private PositionalParameters(Object[] params, TypeAdapter<?>[] adapters) {
+        if (adapters != null && adapters.length != params.length)
+            throw new IllegalArgumentException("Expected " + adapters.length + " values, not " + params.length);
+
+        this.params = Collections.unmodifiableList(Arrays.asList(params));
+        this.adapters = (TypeAdapter<Object>[]) adapters;
+    }
+
+    /**
+     * Creates {@link PositionalParameters} whose values are written by previously
+     * resolved adapters.
+     * <p>
+     * The values are not copied, so they must not be modified afterwards.
+     *
+     * @param adapters The adapters of the values, see
+     *        {@link #adapters(Gson, Type...)}
+     * @param values The values, which may contain null
+     * @return The {@link PositionalParameters}
+     * @throws IllegalArgumentException If the number of adapters and values
+     *         differs
+     */
+    public static PositionalParameters adapted(TypeAdapter<?>[] adapters, Object... values) {
+        return new PositionalParameters(Objects.requireNonNull(values), Objects.requireNonNull(adapters));
+    }
+
+    /**
+     * Resolves the adapters of the specified types.
+     * <p>
+     * They are used with {@link #adapted(TypeAdapter[], Object...)} and
+     * {@link NamedParameters#adapted(String[], TypeAdapter[], Object...)}.
+     *
+     * @param gson The gson instance providing the adapters
+     * @param types The types of the values
+     * @return The adapters in the order of the types
+     */
+    public static TypeAdapter<?>[] adapters(Gson gson, Type... types) {
+        var adapters = new TypeAdapter<?>[types.length];
+
+        for (var i = 0; i < types.length; i++)
+            adapters[i] = gson.getAdapter(TypeToken.get(types[i]));
+
+        return adapters;
+    }
+
+    /**
+     * Getter for the actual parameters.
+     *
+     * @return The unmodifiable list of parameters
+     */
+    @Override
+    public List<Object> get() {
+        return params;
+    }
+
+    /**
+     * Writes the parameters as JSON array using a default {@link Gson} instance.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out) throws IOException {
+        write(out, DEFAULT_GSON);
+    }
+
+    /**
+     * Writes the parameters as JSON array using the adapters of gson, or the
+     * resolved adapters if they were created by
+     * {@link #adapted(TypeAdapter[], Object...)}.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param gson The {@link Gson} instance serializing the request
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out, Gson gson) throws IOException {
+        out.beginArray();
+
+        for (var i = 0; i < params.size(); i++) {
+            if (adapters != null)
+                adapters[i].write(out, params.get(i));
+            else
+                writeValue(out, gson, params.get(i));
+        }
+
+        out.endArray();
+    }
+
+    /**
+     * Writes a value with the {@link TypeAdapter} of its runtime class.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @param gson The {@link Gson} instance providing the adapter
+     * @param value The value or null
+     * @throws IOException If serialization fails
+     */
+    @SuppressWarnings("unchecked")
+    static void writeValue(JsonWriter out, Gson gson, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        ((TypeAdapter<Object>) gson.getAdapter(value.getClass())).write(out, value);
+    }
+
+    /**
+     * Returns the hash code for these {@link PositionalParameters}.
+     *
+     * @return The hash code of the parameters
+     */
+    @Override
+    public int hashCode() {
+        return params.hashCode();
+    }
+
+    /**
+     * Two {@link PositionalParameters} objects are equal if their parameters are
+     * equal.
+     *
+     * @param obj The object to be checked
+     * @return {@code true} if the object is equal as described above
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj instanceof PositionalParameters) {
+            var other = (PositionalParameters) obj;
+
+            return this == other || params.equals(other.params);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the string representation for these {@link PositionalParameters}.
+     *
+     * @return The parameters as string
+     */
+    @Override
+    public String toString() {
+        return params.toString();
+    }
+
+}
\ No newline at end of file
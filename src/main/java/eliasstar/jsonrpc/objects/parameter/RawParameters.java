@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.parameter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.jsonrpc.objects.RawJson;
+
+/**
+ * Represents already serialized params in array or object format.
+ * <p>
+ * The JSON is validated once when created and is then written verbatim into
+ * the request, without being parsed into a {@link com.google.gson.JsonArray
+ * JsonArray} or {@link com.google.gson.JsonObject JsonObject}. Parameters
+ * created from UTF-8 bytes are copied byte for byte into the message, if the
+ * request is encoded directly to a stream.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see <a href="https://www.jsonrpc.org/specification#request_object">JSON-RPC
+ *      Specification</a>
+ */
+public final class RawParameters implements Parameters<RawJson> {
+
+    /** The serialized parameters, or null if they were created from bytes. */
+    private final String json;
+
+    /** The UTF-8 encoded parameters, or null if they were created from a string. */
+    private final byte[] bytes;
+
+    /** The start of the parameters in {@link #bytes}. */
+    private final int offset;
+
+    /** The length of the parameters in {@link #bytes}. */
+    private final int length;
+
+    /**
+     * Used by the factory methods.
+     *
+     * @param json The serialized parameters or null
+     * @param bytes The UTF-8 encoded parameters or null
+     * @param offset The start of the parameters in bytes
+     * @param length The length of the parameters in bytes
+     */
+    private RawParameters(String json, byte[] bytes, int offset, int length) {
+        this.json = json;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates {@link RawParameters} from serialized parameters.
+     *
+     * @param json A single JSON array or object
+     * @return {@link RawParameters} containing the parameters
+     * @throws JsonSyntaxException If json is not a single valid JSON array or
+     *         object
+     */
+    public static RawParameters of(String json) {
+        validate(new StringReader(json));
+
+        return new RawParameters(json, null, 0, 0);
+    }
+
+    /**
+     * Creates {@link RawParameters} from UTF-8 encoded parameters.
+     * <p>
+     * The array is not copied, so it must not be modified afterwards.
+     *
+     * @param json A single UTF-8 encoded JSON array or object
+     * @return {@link RawParameters} containing the parameters
+     * @throws JsonSyntaxException If json is not a single valid JSON array or
+     *         object
+     */
+    public static RawParameters of(byte[] json) {
+        return of(json, 0, json.length);
+    }
+
+    /**
+     * Creates {@link RawParameters} from a slice of UTF-8 encoded parameters.
+     * <p>
+     * The array is not copied, so it must not be modified afterwards.
+     *
+     * @param json An array containing a single UTF-8 encoded JSON array or
+     *        object
+     * @param offset The start of the parameters in json
+     * @param length The length of the parameters in json
+     * @return {@link RawParameters} containing the parameters
+     * @throws JsonSyntaxException If the slice is not a single valid JSON array
+     *         or object
+     * @throws IndexOutOfBoundsException If the slice is out of the bounds of json
+     */
+    public static RawParameters of(byte[] json, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, json.length);
+        validate(new InputStreamReader(new ByteArrayInputStream(json, offset, length), StandardCharsets.UTF_8.newDecoder()));
+
+        return new RawParameters(null, json, offset, length);
+    }
+
+    /**
+     * Creates {@link RawParameters} from a {@link RawJson}.
+     *
+     * @param json A {@link RawJson} containing an array or object
+     * @return {@link RawParameters} containing the parameters
+     * @throws JsonSyntaxException If json is not an array or object
+     */
+    public static RawParameters of(RawJson json) {
+        return of(json.toString());
+    }
+
+    /**
+     * Checks that the input is a single valid JSON array or object.
+     *
+     * @param reader The input
+     * @throws JsonSyntaxException If the input is invalid
+     */
+    private static void validate(Reader reader) {
+        try (var in = new JsonReader(reader)) {
+            var token = in.peek();
+
+            if (token != JsonToken.BEGIN_ARRAY && token != JsonToken.BEGIN_OBJECT)
+                throw new JsonSyntaxException("Expected array or object, not " + token);
+
+            in.skipValue();
+
+            if (in.peek() != JsonToken.END_DOCUMENT)
+                throw new JsonSyntaxException("Expected a single JSON value");
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Getter for the actual parameters.
+     *
+     * @return The parameters as {@link RawJson}
+     */
+    @Override
+    public RawJson get() {
+        return RawJson.of(toString());
+    }
+
+    /**
+     * Writes the parameters verbatim to out.
+     *
+     * @param out The {@link JsonWriter} used as output
+     * @throws IOException If serialization fails
+     */
+    @Override
+    public void write(JsonWriter out) throws IOException {
+        out.jsonValue(toString());
+    }
+
+    /**
+     * Writes the UTF-8 encoded parameters verbatim to out.
+     *
+     * @param out The stream used as output
+     * @throws IOException If writing fails
+     */
+    public void write(OutputStream out) throws IOException {
+        if (bytes != null)
+            out.write(bytes, offset, length);
+        else
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the hash code for these {@link RawParameters}.
+     *
+     * @return The hash code of the serialized parameters
+     */
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    /**
+     * Two {@link RawParameters} objects are equal if their serialized parameters
+     * are equal.
+     *
+     * @param obj The object to be checked
+     * @return {@code true} if the object is equal as described above
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj instanceof RawParameters) {
+            var other = (RawParameters) obj;
+
+            return this == other || toString().equals(other.toString());
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the serialized parameters.
+     *
+     * @return The parameters as JSON
+     */
+    @Override
+    public String toString() {
+        return json != null ? json : new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import eliasstar.jsonrpc.exceptions.ErrorResponseException;
+import eliasstar.jsonrpc.objects.Error;
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.id.Id;
+import eliasstar.jsonrpc.objects.id.NullId;
+
+/**
+ * Dispatches JSON-RPC requests to the {@link RequestHandler RequestHandlers}
+ * registered for their methods.
+ * <p>
+ * Handlers are looked up in an immutable table created by
+ * {@link DispatcherBuilder}, no reflection is involved per call. Requests are
+ * read and responses written with the
+ * {@link eliasstar.jsonrpc.gson.RpcTypeAdapterFactory RpcTypeAdapterFactory}
+ * adapters of the {@link Gson} of the {@link Dispatcher}. The entries
+ * of a batch request are handled concurrently on the executor of the
+ * {@link Dispatcher}, their responses are returned in the order of the batch.
+ * <p>
+ * Errors are reported with the codes defined by the specification, see
+ * {@link Error#PARSE_ERROR} (also used for requests nested deeper than
+ * {@value #MAX_DEPTH} levels), {@link Error#INVALID_REQUEST},
+ * {@link Error#METHOD_NOT_FOUND} and {@link Error#INTERNAL_ERROR}.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ * @see <a href="https://www.jsonrpc.org/specification">JSON-RPC
+ *      Specification</a>
+ */
+public final class Dispatcher {
+
+    /** The maximum nesting depth of arrays and objects in a request. */
+    static final int MAX_DEPTH = 256;
+
+    /** The handlers by their method names. */
+    private final Map<String, RequestHandler> handlers;
+
+    /** The executor running the entries of batch requests. */
+    private final Executor executor;
+
+    /** The gson instance used to read requests and write responses. */
+    private final Gson gson;
+
+    /**
+     * Used by {@link DispatcherBuilder}.
+     *
+     * @param handlers The immutable handlers by their method names
+     * @param executor The executor running the entries of batch requests
+     * @param gson The gson instance used to read requests and write responses
+     */
+    Dispatcher(Map<String, RequestHandler> handlers, Executor executor, Gson gson) {
+        this.handlers = Objects.requireNonNull(handlers);
+        this.executor = Objects.requireNonNull(executor);
+        this.gson = Objects.requireNonNull(gson);
+    }
+
+    /**
+     * Handles a {@link Request} with the handler registered for its method.
+     * <p>
+     * If the request is a {@link Notification} the returned {@link Optional} will
+     * be empty.
+     *
+     * @param req The {@link Request} or {@link Notification}
+     * @return A optional {@link Response}
+     */
+    public Optional<Response> dispatch(Request req) {
+        var handler = handlers.get(req.method());
+        var id = req.id().orElse(NullId.instance());
+        Response res;
+
+        if (handler == null) {
+            res = new Response(id, new Error(Error.METHOD_NOT_FOUND, "Method not found"));
+        } else {
+            try {
+                res = new Response(id, handler.handle(req));
+            } catch (ErrorResponseException e) {
+                var message = e.getMessage() != null ? e.getMessage() : message(e.getErrorCode());
+                res = new Response(id, new Error(e.getErrorCode(), message, e.getErrorData().orElse(null)));
+            } catch (RuntimeException e) {
+                res = new Response(id, new Error(Error.INTERNAL_ERROR, "Internal error"));
+            }
+        }
+
+        return req.id().isPresent() ? Optional.of(res) : Optional.empty();
+    }
+
+    /**
+     * Reads a single or batch request from in, handles it and writes the
+     * response to out.
+     * <p>
+     * Nothing is written if the request is a {@link Notification} or a batch of
+     * {@link Notification Notifications}. The streams are not closed.
+     *
+     * @param in The UTF-8 encoded request
+     * @param out The stream the UTF-8 encoded response is written to
+     * @return {@code true} if a response was written
+     * @throws IOException If reading or writing fails
+     */
+    public boolean handle(InputStream in, OutputStream out) throws IOException {
+        JsonElement message;
+
+        try {
+            var reader = gson.newJsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            message = read(reader, 0);
+
+            if (reader.peek() != JsonToken.END_DOCUMENT)
+                throw new MalformedJsonException("Expected a single JSON value");
+        } catch (MalformedJsonException | EOFException | NumberFormatException | IllegalStateException | JsonParseException e) {
+            return write(out, new Response(NullId.instance(), new Error(Error.PARSE_ERROR, "Parse error")));
+        }
+
+        if (!message.isJsonArray())
+            return write(out, process(message));
+
+        var batch = message.getAsJsonArray();
+
+        if (batch.size() == 0)
+            return write(out, invalid(NullId.instance()));
+
+        if (batch.size() == 1) {
+            var res = process(batch.get(0));
+            return write(out, res == null ? null : new Response[] { res });
+        }
+
+        var futures = new ArrayList<CompletableFuture<Response>>(batch.size());
+
+        for (var entry : batch)
+            futures.add(CompletableFuture.supplyAsync(() -> process(entry), executor));
+
+        var responses = new ArrayList<Response>(batch.size());
+
+        for (var future : futures) {
+            var res = future.join();
+
+            if (res != null)
+                responses.add(res);
+        }
+
+        return write(out, responses.isEmpty() ? null : responses.toArray(Response[]::new));
+    }
+
+    /**
+     * Reads a JSON value like the {@link JsonElement} adapter of gson, but fails
+     * if arrays and objects are nested deeper than {@link #MAX_DEPTH} levels.
+     * <p>
+     * The depth is limited so that malicious requests can not exhaust the stack.
+     *
+     * @param in The {@link JsonReader} used as input
+     * @param depth The number of enclosing arrays and objects
+     * @return The JSON value
+     * @throws IOException If reading fails or the value is nested too deep
+     */
+    private static JsonElement read(JsonReader in, int depth) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_ARRAY:
+                if (depth == MAX_DEPTH)
+                    throw new MalformedJsonException("Nested deeper than " + MAX_DEPTH + " levels");
+
+                var array = new JsonArray();
+                in.beginArray();
+
+                while (in.hasNext())
+                    array.add(read(in, depth + 1));
+
+                in.endArray();
+                return array;
+
+            case BEGIN_OBJECT:
+                if (depth == MAX_DEPTH)
+                    throw new MalformedJsonException("Nested deeper than " + MAX_DEPTH + " levels");
+
+                var object = new JsonObject();
+                in.beginObject();
+
+                while (in.hasNext())
+                    object.add(in.nextName(), read(in, depth + 1));
+
+                in.endObject();
+                return object;
+
+            case STRING:
+                return new JsonPrimitive(in.nextString());
+
+            case NUMBER:
+                return new JsonPrimitive(new LazilyParsedNumber(in.nextString()));
+
+            case BOOLEAN:
+                return new JsonPrimitive(in.nextBoolean());
+
+            case NULL:
+                in.nextNull();
+                return JsonNull.INSTANCE;
+
+            default:
+                throw new MalformedJsonException("Expected a JSON value but was " + in.peek());
+        }
+    }
+
+    /**
+     * Validates a request object and handles it.
+     *
+     * @param message The request object
+     * @return The response or null if the request is a {@link Notification}
+     */
+    private Response process(JsonElement message) {
+        if (!message.isJsonObject())
+            return invalid(NullId.instance());
+
+        var obj = message.getAsJsonObject();
+        var id = obj.get("id");
+
+        if (id != null && !isId(id))
+            return invalid(NullId.instance());
+
+        var jsonrpc = obj.get("jsonrpc");
+        var method = obj.get("method");
+        var params = obj.get("params");
+
+        if (!isString(jsonrpc) || !jsonrpc.getAsString().equals("2.0") || !isString(method) || params != null && !params.isJsonArray() && !params.isJsonObject())
+            return invalid(id == null ? NullId.instance() : gson.fromJson(id, Id.class));
+
+        return dispatch(gson.fromJson(obj, id != null ? Request.class : Notification.class)).orElse(null);
+    }
+
+    /**
+     * Creates the response to an invalid request.
+     *
+     * @param id The id of the request or {@link NullId}
+     * @return An error {@link Response}
+     */
+    private static Response invalid(Id<?> id) {
+        return new Response(id, new Error(Error.INVALID_REQUEST, "Invalid Request"));
+    }
+
+    /**
+     * Returns the message defined by the specification for an error code.
+     * <p>
+     * Used if an {@link ErrorResponseException} has no message.
+     *
+     * @param code The error code
+     * @return The standard message or {@code "Server error"} for other codes
+     */
+    private static String message(long code) {
+        if (code == Error.PARSE_ERROR)
+            return "Parse error";
+
+        if (code == Error.INVALID_REQUEST)
+            return "Invalid Request";
+
+        if (code == Error.METHOD_NOT_FOUND)
+            return "Method not found";
+
+        if (code == Error.INVALID_PARAMS)
+            return "Invalid params";
+
+        if (code == Error.INTERNAL_ERROR)
+            return "Internal error";
+
+        return "Server error";
+    }
+
+    /**
+     * Checks whether the JSON value is a valid id, which is a string, a number or
+     * null.
+     *
+     * @param json The value of the id member
+     * @return {@code true} if the value is a valid id
+     */
+    private static boolean isId(JsonElement json) {
+        return json.isJsonNull() || json.isJsonPrimitive() && !json.getAsJsonPrimitive().isBoolean();
+    }
+
+    /**
+     * Checks whether the JSON value is a string.
+     *
+     * @param json A JSON value or null
+     * @return {@code true} if the value is a string
+     */
+    private static boolean isString(JsonElement json) {
+        return json != null && json.isJsonPrimitive() && json.getAsJsonPrimitive().isString();
+    }
+
+    /**
+     * Writes a {@link Response} or an array of {@link Response Responses}.
+     *
+     * @param out The stream the UTF-8 encoded response is written to
+     * @param res A {@link Response}, an array of {@link Response Responses} or
+     *        null
+     * @return {@code true} if res is not null
+     * @throws IOException If writing fails
+     */
+    private boolean write(OutputStream out, Object res) throws IOException {
+        if (res == null)
+            return false;
+
+        var writer = gson.newJsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        if (res instanceof Response[])
+            gson.getAdapter(Response[].class).write(writer, (Response[]) res);
+        else
+            gson.getAdapter(Response.class).write(writer, (Response) res);
+
+        writer.flush();
+        return true;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.server;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import eliasstar.gson.OptionalTypeAdapterFactory;
+import eliasstar.jsonrpc.gson.RpcTypeAdapterFactory;
+
+/**
+ * Use this Builder to construct a {@link Dispatcher}.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class DispatcherBuilder {
+
+    /** The handlers by their method names. */
+    private final Map<String, RequestHandler> handlers = new HashMap<>();
+
+    /** The executor shared by dispatchers built without an executor. */
+    private static Executor defaultExecutor;
+
+    /** The executor running the entries of batch requests or null. */
+    private Executor executor;
+
+    /** The gson instance whose settings a created {@link Dispatcher} uses. */
+    private Gson gson;
+
+    /**
+     * Registers the handler for a method.
+     * <p>
+     * A handler registered before for the same method is replaced.
+     *
+     * @param method The name of the method
+     * @param handler The {@link RequestHandler} of the method
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public DispatcherBuilder register(String method, RequestHandler handler) {
+        handlers.put(Objects.requireNonNull(method), Objects.requireNonNull(handler));
+        return this;
+    }
+
+    /**
+     * Sets the executor running the entries of batch requests concurrently.
+     * <p>
+     * Single requests are handled by the thread calling the {@link Dispatcher}.
+     * Handlers may block, so by default the entries run on an executor shared by
+     * all dispatchers, which uses a new virtual thread per entry if the runtime
+     * supports them, otherwise a cached pool of daemon threads like
+     * {@link JsonRpcServer}.
+     *
+     * @param executor The {@link Executor} used for batch entries
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public DispatcherBuilder withExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Sets the {@link Gson} used by a created {@link Dispatcher} to read requests
+     * and write responses.
+     * <p>
+     * A new {@link Gson} with the same settings is created on build, so custom
+     * type adapters and settings like HTML escaping apply to the messages of the
+     * {@link Dispatcher}.
+     *
+     * @param gson The {@link Gson} whose settings are used
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public DispatcherBuilder withGson(Gson gson) {
+        this.gson = Objects.requireNonNull(gson);
+        return this;
+    }
+
+    /**
+     * Sets the {@link GsonBuilder} used by a created {@link Dispatcher} to read
+     * requests and write responses.
+     *
+     * @param gson The {@link GsonBuilder} whose settings are used
+     * @return {@code this} to satisfy the builder pattern
+     */
+    public DispatcherBuilder withGson(GsonBuilder gson) {
+        return withGson(Objects.requireNonNull(gson).create());
+    }
+
+    /**
+     * Creates a {@link Dispatcher}.
+     * <p>
+     * The registered handlers are copied into an immutable lookup table, so
+     * registering further handlers does not affect the created
+     * {@link Dispatcher}.
+     * <p>
+     * Like {@link eliasstar.jsonrpc.ConnectionBuilder#build()
+     * ConnectionBuilder.build()}, {@link OptionalTypeAdapterFactory} and
+     * {@link RpcTypeAdapterFactory} are registered to a {@link GsonBuilder} with
+     * the settings of the set {@link Gson}, or default settings if none was set.
+     * Before building {@link GsonBuilder#serializeNulls()} is called.
+     *
+     * @return A new {@link Dispatcher} with the settings of this
+     *         {@link DispatcherBuilder}
+     */
+    public Dispatcher build() {
+        var gson = (this.gson != null ? this.gson.newBuilder() : new GsonBuilder())
+                .registerTypeAdapterFactory(OptionalTypeAdapterFactory.instance())
+                .registerTypeAdapterFactory(RpcTypeAdapterFactory.instance())
+                .serializeNulls()
+                .create();
+
+        return new Dispatcher(Map.copyOf(handlers), executor != null ? executor : defaultExecutor(), gson);
+    }
+
+    /**
+     * Gets the executor shared by dispatchers built without an executor.
+     *
+     * @return The default executor, which is created on first use
+     */
+    private static synchronized Executor defaultExecutor() {
+        if (defaultExecutor == null)
+            defaultExecutor = JsonRpcServer.defaultExecutor();
+
+        return defaultExecutor;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves a {@link Dispatcher} over HTTP using the {@link HttpServer} of the
+ * JDK.
+ * <p>
+ * Every {@code POST} request to the path is handled as a single or batch
+ * JSON-RPC request. Responses are sent with status {@code 200}, requests which
+ * produce no response, e.g. notifications, with status {@code 204}. Other
+ * methods are rejected with status {@code 405}.
+ * <p>
+ * Request bodies are decoded and responses encoded through the {@link Dispatcher},
+ * with a {@link com.google.gson.Gson Gson} configured like the one of a
+ * {@link eliasstar.jsonrpc.Connection Connection}, see
+ * {@link DispatcherBuilder#withGson(com.google.gson.Gson)}.
+ * <p>
+ * Exchanges are handled on the executor of the server. By default a new
+ * virtual thread is used per exchange if the runtime supports them, otherwise
+ * a cached thread pool.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class JsonRpcServer {
+
+    /** The underlying server. */
+    private final HttpServer server;
+
+    /** The executor created by this server, which is shut down on stop. */
+    private final Optional<ExecutorService> ownExecutor;
+
+    /**
+     * Creates a {@link JsonRpcServer} using the default executor.
+     *
+     * @param address The address to bind to, port 0 selects a free port
+     * @param path The path requests are accepted on, e.g. {@code "/"}
+     * @param dispatcher The {@link Dispatcher} handling requests
+     * @throws IOException If the server cannot be bound
+     */
+    public JsonRpcServer(InetSocketAddress address, String path, Dispatcher dispatcher) throws IOException {
+        this(address, path, dispatcher, null);
+    }
+
+    /**
+     * Creates a {@link JsonRpcServer}.
+     * <p>
+     * If executor is null, the default executor is used.
+     *
+     * @param address The address to bind to, port 0 selects a free port
+     * @param path The path requests are accepted on, e.g. {@code "/"}
+     * @param dispatcher The {@link Dispatcher} handling requests
+     * @param executor The {@link Executor} handling exchanges or null
+     * @throws IOException If the server cannot be bound
+     */
+    public JsonRpcServer(InetSocketAddress address, String path, Dispatcher dispatcher, Executor executor) throws IOException {
+        Objects.requireNonNull(dispatcher);
+
+        this.server = HttpServer.create(Objects.requireNonNull(address), 0);
+        this.ownExecutor = executor == null ? Optional.of(defaultExecutor()) : Optional.empty();
+
+        server.createContext(Objects.requireNonNull(path), exchange -> handle(exchange, dispatcher));
+        server.setExecutor(executor == null ? ownExecutor.get() : executor);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and closes all connections.
+     * <p>
+     * Waits up to delay seconds for running exchanges to finish.
+     *
+     * @param delay The maximum time to wait in seconds
+     */
+    public void stop(int delay) {
+        server.stop(delay);
+        ownExecutor.ifPresent(ExecutorService::shutdown);
+    }
+
+    /**
+     * Gets the address the server is bound to.
+     *
+     * @return The address including the selected port
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * Handles an exchange with the dispatcher.
+     *
+     * @param exchange The exchange
+     * @param dispatcher The {@link Dispatcher} handling the request
+     * @throws IOException If reading or writing fails
+     */
+    private static void handle(HttpExchange exchange, Dispatcher dispatcher) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            var out = new ByteArrayOutputStream();
+
+            try (var in = exchange.getRequestBody()) {
+                if (!dispatcher.handle(in, out)) {
+                    exchange.sendResponseHeaders(204, -1);
+                    return;
+                }
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, out.size());
+
+            try (var body = exchange.getResponseBody()) {
+                out.writeTo(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Creates an executor using a new virtual thread per task if available,
+     * otherwise a cached thread pool.
+     *
+     * @return A new {@link ExecutorService}
+     */
+    static ExecutorService defaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                var thread = new Thread(task, "json-rpc-server");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+    }
+
+}
\ No newline at end of file
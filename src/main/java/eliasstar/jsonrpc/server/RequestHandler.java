@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.server;
+
+import com.google.gson.JsonElement;
+
+import eliasstar.jsonrpc.exceptions.ErrorResponseException;
+import eliasstar.jsonrpc.objects.Request;
+
+/**
+ * Handles the {@link Request Requests} of a method registered to a
+ * {@link Dispatcher}.
+ * <p>
+ * Implementations must be safe for use by multiple concurrent threads.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface RequestHandler {
+
+    /**
+     * Handles a {@link Request} or {@link eliasstar.jsonrpc.objects.Notification
+     * Notification}.
+     * <p>
+     * To respond with an error, throw an {@link ErrorResponseException}. Any
+     * other exception is reported as internal error. The result of a
+     * notification is discarded.
+     *
+     * @param req The {@link Request} to be handled
+     * @return The result, null is sent as JSON {@code null}
+     * @throws ErrorResponseException If the request failed
+     */
+    JsonElement handle(Request req) throws ErrorResponseException;
+
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Buffered reader of a blocking {@link ReadableByteChannel}, used by
+ * {@link Framing} to extract messages.
+ * <p>
+ * The channel is read directly instead of through
+ * {@link java.nio.channels.Channels#newInputStream(ReadableByteChannel)
+ * Channels.newInputStream}, because such a stream holds the blocking lock of
+ * the channel and would block concurrent writes.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class FrameReader {
+
+    /** The size of the read buffer in bytes. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The channel which is read. */
+    private final ReadableByteChannel channel;
+
+    /** The maximum length of a line or frame in bytes. */
+    private final int maxFrameSize;
+
+    /** The read buffer, which is kept in read mode. */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+    /**
+     * Creates a {@link FrameReader} accepting frames of up to
+     * {@link Framing#DEFAULT_MAX_FRAME_SIZE} bytes.
+     *
+     * @param channel A channel in blocking mode
+     */
+    FrameReader(ReadableByteChannel channel) {
+        this(channel, Framing.DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Creates a {@link FrameReader}.
+     *
+     * @param channel A channel in blocking mode
+     * @param maxFrameSize The maximum length of a line or frame in bytes
+     * @throws IllegalArgumentException If maxFrameSize is not positive
+     */
+    FrameReader(ReadableByteChannel channel, int maxFrameSize) {
+        if (maxFrameSize <= 0)
+            throw new IllegalArgumentException("Maximum frame size must be positive: " + maxFrameSize);
+
+        this.channel = Objects.requireNonNull(channel);
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Reads bytes up to the next line feed.
+     * <p>
+     * The line feed and a preceding carriage return are not included.
+     *
+     * @return The line
+     * @throws IOException If reading fails, the stream ends or the line is
+     *         longer than the maximum frame size
+     */
+    byte[] readLine() throws IOException {
+        var line = new byte[64];
+        var length = 0;
+
+        while (true) {
+            if (!buffer.hasRemaining())
+                fill();
+
+            var array = buffer.array();
+            var start = buffer.position();
+            var end = buffer.limit();
+            var i = start;
+
+            while (i < end && array[i] != '\n')
+                i++;
+
+            if (length + i - start > line.length)
+                line = Arrays.copyOf(line, Math.max(line.length << 1, length + i - start));
+
+            System.arraycopy(array, start, line, length, i - start);
+            length += i - start;
+
+            // One more byte is allowed for a carriage return preceding the line feed
+            if (length - 1 > maxFrameSize)
+                throw new IOException("Frame exceeds maximum size of " + maxFrameSize + " bytes");
+
+            if (i < end) {
+                buffer.position(i + 1);
+
+                if (length > 0 && line[length - 1] == '\r')
+                    length--;
+
+                return Arrays.copyOf(line, length);
+            }
+
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads exactly length bytes.
+     *
+     * @param length The number of bytes
+     * @return The bytes
+     * @throws IOException If reading fails, the stream ends or length is
+     *         negative or larger than the maximum frame size
+     */
+    byte[] readFully(int length) throws IOException {
+        if (length < 0 || length > maxFrameSize)
+            throw new IOException("Invalid frame length " + length + ", the maximum is " + maxFrameSize + " bytes");
+
+        var bytes = new byte[length];
+        var read = Math.min(length, buffer.remaining());
+
+        buffer.get(bytes, 0, read);
+
+        if (read < length) {
+            var rest = ByteBuffer.wrap(bytes, read, length - read);
+
+            while (rest.hasRemaining())
+                if (channel.read(rest) < 0)
+                    throw new EOFException();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Refills the empty buffer with at least one byte.
+     *
+     * @throws IOException If reading fails or the stream ends
+     */
+    private void fill() throws IOException {
+        buffer.clear();
+
+        try {
+            if (channel.read(buffer) < 0)
+                throw new EOFException();
+        } finally {
+            buffer.flip();
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The ways of delimiting JSON-RPC messages on a byte stream, used by
+ * {@link SocketTransport}.
+ * <p>
+ * The size of received messages is limited, see
+ * {@link #DEFAULT_MAX_FRAME_SIZE}, so a corrupt or malicious length header can
+ * not make the reader allocate arbitrary amounts of memory.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public enum Framing {
+
+    /**
+     * Every message is terminated by a line feed.
+     * <p>
+     * Empty lines and carriage returns preceding the line feed are ignored when
+     * reading. This relies on messages never containing a raw line feed, which
+     * holds for compact JSON.
+     */
+    NEWLINE_DELIMITED {
+
+        @Override
+        ByteBuffer header(int length) {
+            return EMPTY.duplicate();
+        }
+
+        @Override
+        ByteBuffer trailer() {
+            return NEWLINE.duplicate();
+        }
+
+        @Override
+        byte[] read(FrameReader in) throws IOException {
+            byte[] frame;
+
+            do {
+                frame = in.readLine();
+            } while (frame.length == 0);
+
+            return frame;
+        }
+
+    },
+
+    /**
+     * Every message is preceded by a {@code Content-Length} header as used by
+     * the Language Server Protocol.
+     * <p>
+     * Other headers, like {@code Content-Type}, are ignored when reading.
+     */
+    CONTENT_LENGTH {
+
+        @Override
+        ByteBuffer header(int length) {
+            return ByteBuffer.wrap(("Content-Length: " + length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        ByteBuffer trailer() {
+            return EMPTY.duplicate();
+        }
+
+        @Override
+        byte[] read(FrameReader in) throws IOException {
+            var length = -1;
+
+            for (var line = in.readLine(); line.length != 0; line = in.readLine()) {
+                var header = new String(line, StandardCharsets.US_ASCII);
+                var colon = header.indexOf(':');
+
+                if (colon > 0 && header.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+                    try {
+                        length = Integer.parseInt(header.substring(colon + 1).trim());
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Invalid header: " + header, e);
+                    }
+                }
+            }
+
+            if (length < 0)
+                throw new IOException("Missing Content-Length header");
+
+            return in.readFully(length);
+        }
+
+    },
+
+    /**
+     * Every message is preceded by its length as 4-byte big-endian integer.
+     */
+    LENGTH_PREFIXED {
+
+        @Override
+        ByteBuffer header(int length) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(0, length);
+        }
+
+        @Override
+        ByteBuffer trailer() {
+            return EMPTY.duplicate();
+        }
+
+        @Override
+        byte[] read(FrameReader in) throws IOException {
+            var length = ByteBuffer.wrap(in.readFully(Integer.BYTES)).getInt();
+
+            if (length < 0)
+                throw new IOException("Invalid frame length: " + Integer.toUnsignedString(length));
+
+            return in.readFully(length);
+        }
+
+    };
+
+    /**
+     * The maximum size of a received message in bytes used by default, which is
+     * 64 MiB.
+     */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 64 << 20;
+
+    /** An empty buffer. */
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    /** A buffer containing a single line feed. */
+    private static final ByteBuffer NEWLINE = ByteBuffer.wrap(new byte[] { '\n' }).asReadOnlyBuffer();
+
+    /**
+     * Writes the framed payload using gathering writes.
+     * <p>
+     * The header, the chunks of the payload and the trailer are passed to the
+     * channel at once.
+     *
+     * @param out A channel in blocking mode
+     * @param payload The encoded message
+     * @throws IOException If writing fails or the message is too large
+     */
+    void write(GatheringByteChannel out, Payload payload) throws IOException {
+        if (payload.length() > Integer.MAX_VALUE)
+            throw new IOException("Message too large: " + payload.length() + " bytes");
+
+        var chunks = payload.buffers();
+        var buffers = new ByteBuffer[chunks.length + 2];
+
+        buffers[0] = header((int) payload.length());
+        System.arraycopy(chunks, 0, buffers, 1, chunks.length);
+        buffers[buffers.length - 1] = trailer();
+
+        var remaining = payload.length() + buffers[0].remaining() + buffers[buffers.length - 1].remaining();
+
+        while (remaining > 0)
+            remaining -= out.write(buffers);
+    }
+
+    /**
+     * Creates the bytes written before a message.
+     *
+     * @param length The length of the message in bytes
+     * @return A new buffer containing the header
+     */
+    abstract ByteBuffer header(int length);
+
+    /**
+     * Creates the bytes written after a message.
+     *
+     * @return A new buffer containing the trailer
+     */
+    abstract ByteBuffer trailer();
+
+    /**
+     * Reads the next message.
+     *
+     * @param in The reader of the stream
+     * @return The message without framing
+     * @throws IOException If reading fails or the frame is invalid or too large
+     */
+    abstract byte[] read(FrameReader in) throws IOException;
+
+}
\ No newline at end of file
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * {@link Transport} which posts messages using a {@link HttpClient}.
+ * <p>
+ * Every message is sent as body of a {@code POST} request created from a copy
+ * of the request builder.
+ * <p>
+ * The number of requests in flight can be limited, which bounds the number of
+ * HTTP/1.1 connections or HTTP/2 streams the client opens to the service.
+ * Blocking exchanges wait for a free slot, asynchronous ones are queued.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class HttpTransport implements Transport {
+
+    /** The client used for requests. */
+    private final HttpClient client;
+
+    /** The request builder used for new requests. */
+    private final HttpRequest.Builder reqBuilder;
+
+    /** Whether response bodies are returned while they are being received. */
+    private final boolean streamResponses;
+
+    /** The free slots for requests in flight, or null if unlimited. */
+    private final Semaphore permits;
+
+    /** The asynchronous requests waiting for a free slot. */
+    private final Queue<Runnable> waiting;
+
+    /**
+     * Creates a {@link HttpTransport} which buffers response bodies.
+     *
+     * @param client The client used for requests
+     * @param reqBuilder The request builder containing the url
+     */
+    public HttpTransport(HttpClient client, HttpRequest.Builder reqBuilder) {
+        this(client, reqBuilder, false);
+    }
+
+    /**
+     * Creates a {@link HttpTransport}.
+     * <p>
+     * If streamResponses is set, blocking exchanges return the body stream of the
+     * response as soon as the headers are received, otherwise the body is
+     * buffered completely first. Asynchronous exchanges always buffer the body.
+     *
+     * @param client The client used for requests
+     * @param reqBuilder The request builder containing the url
+     * @param streamResponses Whether response bodies are streamed
+     */
+    public HttpTransport(HttpClient client, HttpRequest.Builder reqBuilder, boolean streamResponses) {
+        this(client, reqBuilder, streamResponses, 0);
+    }
+
+    /**
+     * Creates a {@link HttpTransport} limiting the number of requests in flight.
+     * <p>
+     * A streamed response body occupies its slot until it is closed. If
+     * maxConcurrentRequests is zero, the number of requests is not limited.
+     *
+     * @param client The client used for requests
+     * @param reqBuilder The request builder containing the url
+     * @param streamResponses Whether response bodies are streamed
+     * @param maxConcurrentRequests The maximum number of requests in flight
+     * @throws IllegalArgumentException If maxConcurrentRequests is negative
+     */
+    public HttpTransport(HttpClient client, HttpRequest.Builder reqBuilder, boolean streamResponses, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 0)
+            throw new IllegalArgumentException("maxConcurrentRequests is negative");
+
+        this.client = Objects.requireNonNull(client);
+        this.reqBuilder = Objects.requireNonNull(reqBuilder).copy();
+        this.streamResponses = streamResponses;
+        this.permits = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null;
+        this.waiting = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Posts the payload and discards the response body.
+     *
+     * @param payload The encoded message
+     * @throws IOException If sending fails
+     * @throws InterruptedException If the thread is interrupted while sending
+     */
+    @Override
+    public void send(Payload payload) throws IOException, InterruptedException {
+        acquire();
+
+        try {
+            client.send(request(payload), BodyHandlers.discarding());
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Posts the payload and returns the response body.
+     *
+     * @param payload The encoded message
+     * @return The response body
+     * @throws IOException If sending or receiving fails
+     * @throws InterruptedException If the thread is interrupted while waiting
+     *         for the response
+     */
+    @Override
+    public InputStream exchange(Payload payload) throws IOException, InterruptedException {
+        acquire();
+
+        // A streamed body frees its slot when it is closed
+        var streamed = false;
+
+        try {
+            if (streamResponses) {
+                var body = client.send(request(payload), BodyHandlers.ofInputStream()).body();
+                streamed = permits != null;
+
+                return streamed ? new ReleasingInputStream(body) : body;
+            }
+
+            return new ByteArrayInputStream(client.send(request(payload), BodyHandlers.ofByteArray()).body());
+        } finally {
+            if (!streamed)
+                release();
+        }
+    }
+
+    /**
+     * Posts the payload without blocking and discards the response body.
+     *
+     * @param payload The encoded message
+     * @return A future completed when the response was received
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(Payload payload) {
+        return limit(() -> client.sendAsync(request(payload), BodyHandlers.discarding()).thenApply(res -> null));
+    }
+
+    /**
+     * Posts the payload without blocking and returns the buffered response body.
+     *
+     * @param payload The encoded message
+     * @return A future completed with the response body
+     */
+    @Override
+    public CompletableFuture<InputStream> exchangeAsync(Payload payload) {
+        return limit(() -> client.sendAsync(request(payload), BodyHandlers.ofByteArray()).thenApply(res -> new ByteArrayInputStream(res.body())));
+    }
+
+    /**
+     * Creates the {@code POST} request for the payload.
+     *
+     * @param payload The encoded message
+     * @return A new {@link HttpRequest}
+     */
+    private HttpRequest request(Payload payload) {
+        return reqBuilder.copy().POST(new PayloadBodyPublisher(payload)).build();
+    }
+
+    /**
+     * Waits for a free slot, if the number of requests is limited.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    private void acquire() throws InterruptedException {
+        if (permits != null)
+            permits.acquire();
+    }
+
+    /**
+     * Frees a slot and starts the next waiting asynchronous request, if the
+     * number of requests is limited.
+     */
+    private void release() {
+        if (permits != null) {
+            permits.release();
+            startWaiting();
+        }
+    }
+
+    /** Starts waiting asynchronous requests while slots are free. */
+    private void startWaiting() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            var next = waiting.poll();
+
+            if (next != null)
+                next.run();
+            else
+                permits.release();
+        }
+    }
+
+    /**
+     * Starts the asynchronous request once a slot is free.
+     *
+     * @param <T> The result type of the request
+     * @param request Starts the request
+     * @return A future completed with the result of the request
+     */
+    private <T> CompletableFuture<T> limit(Supplier<CompletableFuture<T>> request) {
+        if (permits == null)
+            return request.get();
+
+        var result = new CompletableFuture<T>();
+
+        waiting.add(() -> {
+            CompletableFuture<T> future;
+
+            try {
+                future = request.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+
+            future.whenComplete((value, e) -> {
+                release();
+
+                if (e != null)
+                    result.completeExceptionally(e);
+                else
+                    result.complete(value);
+            });
+        });
+
+        startWaiting();
+        return result;
+    }
+
+    /** Streamed response body which frees its slot when it is closed. */
+    private final class ReleasingInputStream extends FilterInputStream {
+
+        /** Whether the slot was already freed. */
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Wraps the response body.
+         *
+         * @param body The streamed response body
+         */
+        private ReleasingInputStream(InputStream body) {
+            super(body);
+        }
+
+        /**
+         * Closes the body and frees the slot.
+         *
+         * @throws IOException If closing fails
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true))
+                    release();
+            }
+        }
+
+    }
+
+}
\ No newline at end of file
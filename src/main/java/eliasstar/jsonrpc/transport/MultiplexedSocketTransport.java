@@ -0,0 +1,417 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import eliasstar.jsonrpc.gson.RpcTypeAdapterFactory;
+import eliasstar.jsonrpc.objects.id.Id;
+import eliasstar.jsonrpc.objects.id.NullId;
+
+/**
+ * {@link Transport} which multiplexes concurrent calls over a persistent TCP
+ * connection.
+ * <p>
+ * Requests are written back-to-back as soon as they are sent, without waiting
+ * for earlier responses. A dedicated reader thread reads the responses in the
+ * order the service sends them and completes the pending call with the
+ * matching {@link Id}. A batch is completed by the first response carrying one
+ * of its ids.
+ * <p>
+ * Responses with a null id are only delivered if exactly one call is pending.
+ * Responses which cannot be correlated, as well as requests and notifications
+ * sent by the service, are discarded.
+ * <p>
+ * If writing or reading fails the channel is closed and all pending calls are
+ * completed exceptionally.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class MultiplexedSocketTransport implements Transport {
+
+    /** The adapter used for reading the ids of responses. */
+    private static final TypeAdapter<Id<?>> ID_ADAPTER = new GsonBuilder().registerTypeAdapterFactory(RpcTypeAdapterFactory.instance()).create().getAdapter(new TypeToken<Id<?>>() {});
+
+    /** The connected channel. */
+    private final SocketChannel channel;
+
+    /** The framing of the messages. */
+    private final Framing framing;
+
+    /** The reader of the channel, used by the reader thread only. */
+    private final FrameReader reader;
+
+    /** The lock ensuring that messages are written one at a time. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /** The pending calls by the ids of their requests. */
+    private final Map<Id<?>, CompletableFuture<InputStream>> pending = new ConcurrentHashMap<>();
+
+    /** The failure which stopped the reader thread, null while it is running. */
+    private volatile IOException failure;
+
+    /**
+     * Creates a {@link MultiplexedSocketTransport} using a connected channel and
+     * starts its reader thread.
+     * <p>
+     * The channel is switched to blocking mode. Received messages may have up to
+     * {@link Framing#DEFAULT_MAX_FRAME_SIZE} bytes.
+     *
+     * @param channel The connected channel
+     * @param framing The framing of the messages
+     * @throws IOException If the channel cannot be configured
+     */
+    public MultiplexedSocketTransport(SocketChannel channel, Framing framing) throws IOException {
+        this(channel, framing, Framing.DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Creates a {@link MultiplexedSocketTransport} using a connected channel and
+     * starts its reader thread.
+     * <p>
+     * The channel is switched to blocking mode. Receiving a message larger than
+     * maxFrameSize closes the channel, which completes all pending calls
+     * exceptionally.
+     *
+     * @param channel The connected channel
+     * @param framing The framing of the messages
+     * @param maxFrameSize The maximum size of a received message in bytes
+     * @throws IOException If the channel cannot be configured
+     * @throws IllegalArgumentException If maxFrameSize is not positive
+     */
+    public MultiplexedSocketTransport(SocketChannel channel, Framing framing, int maxFrameSize) throws IOException {
+        this.channel = Objects.requireNonNull(channel);
+        this.framing = Objects.requireNonNull(framing);
+        this.reader = new FrameReader(channel, maxFrameSize);
+
+        channel.configureBlocking(true);
+
+        var reader = new Thread(this::read, "json-rpc-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Connects to a service and creates a {@link MultiplexedSocketTransport}.
+     * <p>
+     * Nagle's algorithm is disabled, because every message is written at once.
+     * Received messages may have up to {@link Framing#DEFAULT_MAX_FRAME_SIZE}
+     * bytes.
+     *
+     * @param address The address of the service
+     * @param framing The framing of the messages
+     * @return A new {@link MultiplexedSocketTransport}
+     * @throws IOException If connecting fails
+     */
+    public static MultiplexedSocketTransport connect(SocketAddress address, Framing framing) throws IOException {
+        return connect(address, framing, Framing.DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Connects to a service and creates a {@link MultiplexedSocketTransport}.
+     * <p>
+     * Nagle's algorithm is disabled, because every message is written at once.
+     *
+     * @param address The address of the service
+     * @param framing The framing of the messages
+     * @param maxFrameSize The maximum size of a received message in bytes
+     * @return A new {@link MultiplexedSocketTransport}
+     * @throws IOException If connecting fails
+     * @throws IllegalArgumentException If maxFrameSize is not positive
+     */
+    public static MultiplexedSocketTransport connect(SocketAddress address, Framing framing, int maxFrameSize) throws IOException {
+        var channel = SocketChannel.open(address);
+
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            return new MultiplexedSocketTransport(channel, framing, maxFrameSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the framed payload.
+     *
+     * @param payload The encoded message
+     * @throws IOException If writing fails
+     * @throws InterruptedException If the thread is interrupted while waiting
+     *         for another message to be written
+     */
+    @Override
+    public void send(Payload payload) throws IOException, InterruptedException {
+        writeLock.lockInterruptibly();
+
+        try {
+            framing.write(channel, payload);
+        } catch (IOException e) {
+            throw abort(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the framed payload and waits for its response.
+     *
+     * @param payload The encoded message, which must contain at least one id
+     * @return The response
+     * @throws IOException If writing or reading fails
+     * @throws InterruptedException If the thread is interrupted while waiting
+     *         for the response
+     */
+    @Override
+    public InputStream exchange(Payload payload) throws IOException, InterruptedException {
+        var future = exchangeAsync(payload);
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Writes the framed payload in the calling thread.
+     *
+     * @param payload The encoded message
+     * @return A future completed when the message was written
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(Payload payload) {
+        try {
+            send(payload);
+
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | InterruptedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Registers the call under the ids of the payload and writes the framed
+     * payload in the calling thread.
+     * <p>
+     * The ids of the payload must not be used by another pending call.
+     *
+     * @param payload The encoded message, which must contain at least one id
+     * @return A future completed with the response
+     */
+    @Override
+    public CompletableFuture<InputStream> exchangeAsync(Payload payload) {
+        var ids = payload.ids();
+
+        if (ids.isEmpty())
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Payload contains no request id"));
+
+        var future = new CompletableFuture<InputStream>();
+
+        for (var id : ids) {
+            if (pending.putIfAbsent(id, future) != null) {
+                ids.forEach(registered -> pending.remove(registered, future));
+                return CompletableFuture.failedFuture(new IOException("Duplicate request id: " + id));
+            }
+        }
+
+        future.whenComplete((res, e) -> ids.forEach(id -> pending.remove(id, future)));
+
+        // the reader might have stopped before the call was registered
+        if (failure != null) {
+            future.completeExceptionally(failure);
+            return future;
+        }
+
+        writeLock.lock();
+
+        try {
+            framing.write(channel, payload);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            abort(e);
+        } finally {
+            writeLock.unlock();
+        }
+
+        return future;
+    }
+
+    /**
+     * Closes the channel, which completes all pending calls exceptionally.
+     *
+     * @throws IOException If closing the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads responses and completes the corresponding calls until the channel
+     * is closed or reading fails.
+     */
+    private void read() {
+        try {
+            while (true) {
+                var frame = framing.read(reader);
+                var future = correlate(frame);
+
+                if (future != null)
+                    future.complete(new ByteArrayInputStream(frame));
+            }
+        } catch (IOException e) {
+            abort(e);
+        }
+    }
+
+    /**
+     * Finds the pending call the message is a response to.
+     *
+     * @param frame The message
+     * @return The pending call or null if none matches
+     */
+    private CompletableFuture<InputStream> correlate(byte[] frame) {
+        try (var in = new JsonReader(new InputStreamReader(new ByteArrayInputStream(frame), StandardCharsets.UTF_8))) {
+            if (in.peek() != JsonToken.BEGIN_ARRAY)
+                return lookup(readId(in));
+
+            in.beginArray();
+
+            while (in.hasNext()) {
+                var future = lookup(readId(in));
+
+                if (future != null)
+                    return future;
+            }
+        } catch (IOException | RuntimeException e) {
+            // neither a response nor a batch of responses
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the id of a response object.
+     *
+     * @param in The reader positioned before the object
+     * @return The id or null if the object is a request or notification
+     * @throws IOException If the object is invalid
+     */
+    private static Id<?> readId(JsonReader in) throws IOException {
+        Id<?> id = null;
+        var request = false;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+            case "id":
+                id = ID_ADAPTER.read(in);
+                break;
+
+            case "method":
+                request = true;
+                in.skipValue();
+                break;
+
+            default:
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return request ? null : id;
+    }
+
+    /**
+     * Gets the pending call registered under the id.
+     * <p>
+     * A null id matches if exactly one call is pending.
+     *
+     * @param id The id of a response
+     * @return The pending call or null
+     */
+    private CompletableFuture<InputStream> lookup(Id<?> id) {
+        if (id == null)
+            return null;
+
+        if (id == NullId.instance()) {
+            var calls = new HashSet<>(pending.values());
+
+            return calls.size() == 1 ? calls.iterator().next() : null;
+        }
+
+        return pending.get(id);
+    }
+
+    /**
+     * Closes the channel after a failure and completes all pending calls
+     * exceptionally.
+     *
+     * @param cause The failure
+     * @return cause
+     */
+    private IOException abort(IOException cause) {
+        if (failure == null)
+            failure = cause;
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+
+        pending.values().forEach(future -> future.completeExceptionally(failure));
+
+        return cause;
+    }
+
+}
\ No newline at end of file
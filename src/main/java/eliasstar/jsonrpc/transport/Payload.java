@@ -0,0 +1,462 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.id.Id;
+
+/**
+ * Represents an UTF-8 encoded JSON-RPC message.
+ * <p>
+ * The message is stored in fixed-size chunks, so that it can be encoded
+ * directly by a {@link com.google.gson.stream.JsonWriter JsonWriter} without
+ * building an intermediate {@link String} or growing a contiguous array.
+ * <p>
+ * A payload created by {@link #encode(Gson, Object)} holds the whole message,
+ * so it needs memory proportional to the size of the message. A payload
+ * created by {@link #deferred(Gson, Object)} keeps messages larger than
+ * {@link #MAX_BUFFERED_SIZE} unencoded, the {@link PayloadBodyPublisher}
+ * encodes them while they are sent, so only a bounded number of chunks is held
+ * per request.
+ * <p>
+ * Instances may be sent any number of times, e.g. if a request has to be
+ * repeated because of a redirect. Deferred messages are encoded again each
+ * time.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class Payload {
+
+    /** The size of a single chunk in bytes. */
+    static final int CHUNK_SIZE = 8192;
+
+    /** The size up to which a deferred message is encoded immediately. */
+    static final int MAX_BUFFERED_SIZE = 8 * CHUNK_SIZE;
+
+    /** The gson instance encoding a deferred message or null. */
+    private final Gson gson;
+
+    /** The deferred message or null. */
+    private final Object src;
+
+    /** The chunks containing the message or null if it was not encoded yet. */
+    private volatile ByteBuffer[] chunks;
+
+    /** The length of the message in bytes. */
+    private long length;
+
+    /** The ids of the requests contained in the message. */
+    private final List<Id<?>> ids;
+
+    /**
+     * Used by the factory methods.
+     *
+     * @param chunks The flipped chunks containing the message
+     * @param ids The ids of the requests contained in the message
+     */
+    private Payload(List<ByteBuffer> chunks, List<Id<?>> ids) {
+        this.gson = null;
+        this.src = null;
+        this.chunks = chunks.toArray(ByteBuffer[]::new);
+        this.length = chunks.stream().mapToLong(ByteBuffer::remaining).sum();
+        this.ids = ids;
+    }
+
+    /**
+     * Used by {@link #deferred(Gson, Object)}.
+     *
+     * @param gson The gson instance encoding the message
+     * @param src The object to be encoded
+     * @param ids The ids of the requests contained in the message
+     */
+    private Payload(Gson gson, Object src, List<Id<?>> ids) {
+        this.gson = gson;
+        this.src = src;
+        this.ids = ids;
+    }
+
+    /**
+     * Encodes the object as JSON using the {@link Gson} instance.
+     * <p>
+     * The object is encoded completely into the chunks of the returned
+     * {@link Payload} before this method returns.
+     * <p>
+     * The settings of the {@link Gson} instance, like
+     * {@link com.google.gson.GsonBuilder#serializeNulls() serializeNulls}, are
+     * applied to the {@link com.google.gson.stream.JsonWriter JsonWriter}.
+     * <p>
+     * {@link Request Requests} are written from cached fragments if the
+     * {@link Gson} instance allows it, see {@link RequestEncoder}.
+     * <p>
+     * If the object is a {@link Request} or an array of {@link Request Requests},
+     * their ids are recorded, so that a {@link Transport} can correlate responses.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param src The object to be encoded
+     * @return A {@link Payload} containing the encoded object
+     * @throws JsonIOException If serialization fails
+     */
+    public static Payload encode(Gson gson, Object src) {
+        Objects.requireNonNull(gson);
+        Objects.requireNonNull(src);
+
+        var out = new ChunkedOutputStream(Long.MAX_VALUE);
+
+        try {
+            write(gson, src, out);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+
+        return new Payload(out.chunks, ids(src));
+    }
+
+    /**
+     * Encodes the object as JSON using the {@link Gson} instance while it is
+     * sent, if it is larger than {@link #MAX_BUFFERED_SIZE}.
+     * <p>
+     * Smaller objects are encoded immediately like by
+     * {@link #encode(Gson, Object)}. Larger objects are encoded again each time
+     * the payload is published by a {@link PayloadBodyPublisher}, which holds
+     * only a bounded number of chunks. Their length is unknown until the payload
+     * is read in another way, e.g. by {@link #buffers()}, which encodes it
+     * completely once.
+     * <p>
+     * The object must not be modified until the payload was sent.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param src The object to be encoded
+     * @return A {@link Payload} containing or deferring the encoded object
+     * @throws JsonIOException If serialization fails
+     */
+    public static Payload deferred(Gson gson, Object src) {
+        Objects.requireNonNull(gson);
+        Objects.requireNonNull(src);
+
+        var out = new ChunkedOutputStream(MAX_BUFFERED_SIZE);
+
+        try {
+            write(gson, src, out);
+        } catch (IOException e) {
+            if (!(e instanceof Overflow))
+                throw new JsonIOException(e);
+
+            return new Payload(gson, src, ids(src));
+        } catch (JsonIOException e) {
+            if (!(e.getCause() instanceof Overflow))
+                throw e;
+
+            return new Payload(gson, src, ids(src));
+        }
+
+        return new Payload(out.chunks, ids(src));
+    }
+
+    /**
+     * Writes the object as JSON to the stream.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param src The object to be encoded
+     * @param out The stream the message is written to, which is closed
+     * @throws IOException If writing fails
+     */
+    private static void write(Gson gson, Object src, OutputStream out) throws IOException {
+        try (var stream = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            var writer = gson.newJsonWriter(stream);
+
+            if (RequestEncoder.canEncode(gson, src))
+                RequestEncoder.encode(gson, src, out, writer);
+            else
+                gson.toJson(src, src.getClass(), writer);
+
+            writer.flush();
+        }
+    }
+
+    /**
+     * Combines encoded messages into a JSON array, e.g. encoded requests into a
+     * batch request.
+     * <p>
+     * The chunks of the elements are shared, not copied, so the elements are not
+     * encoded again.
+     *
+     * @param elements The encoded elements
+     * @return A {@link Payload} containing the array
+     */
+    public static Payload array(List<Payload> elements) {
+        var chunks = new ArrayList<ByteBuffer>();
+        var ids = new ArrayList<Id<?>>();
+
+        chunks.add(ByteBuffer.wrap(new byte[] { '[' }));
+
+        for (var i = 0; i < elements.size(); i++) {
+            if (i > 0)
+                chunks.add(ByteBuffer.wrap(new byte[] { ',' }));
+
+            chunks.addAll(List.of(elements.get(i).chunks()));
+            ids.addAll(elements.get(i).ids);
+        }
+
+        chunks.add(ByteBuffer.wrap(new byte[] { ']' }));
+
+        return new Payload(chunks, Collections.unmodifiableList(ids));
+    }
+
+    /**
+     * Collects the ids of the requests contained in the object.
+     *
+     * @param src The encoded object
+     * @return The ids, which are empty if the object contains no requests
+     */
+    private static List<Id<?>> ids(Object src) {
+        if (src instanceof Request)
+            return ((Request) src).id().<List<Id<?>>>map(List::of).orElse(List.of());
+
+        if (src instanceof Request[])
+            return Arrays.stream((Request[]) src).flatMap(req -> req.id().stream()).collect(Collectors.toUnmodifiableList());
+
+        return List.of();
+    }
+
+    /**
+     * Encodes a deferred message completely, unless it was already encoded.
+     *
+     * @return The chunks containing the message
+     * @throws JsonIOException If serialization fails
+     */
+    private ByteBuffer[] chunks() {
+        var encoded = chunks;
+
+        if (encoded != null)
+            return encoded;
+
+        synchronized (this) {
+            if (chunks == null) {
+                var payload = encode(gson, src);
+
+                length = payload.length;
+                chunks = payload.chunks;
+            }
+
+            return chunks;
+        }
+    }
+
+    /**
+     * Checks whether the message is held completely, so that its length is
+     * known without encoding it.
+     *
+     * @return {@code false} if the message is deferred and not yet encoded
+     */
+    boolean isEncoded() {
+        return chunks != null;
+    }
+
+    /**
+     * Encodes a deferred message again into the stream.
+     *
+     * @param out The stream the message is written to, which is closed
+     * @throws IOException If writing fails
+     * @throws IllegalStateException If the message is not deferred
+     */
+    void encodeTo(OutputStream out) throws IOException {
+        if (src == null)
+            throw new IllegalStateException("Message is not deferred");
+
+        write(gson, src, out);
+    }
+
+    /**
+     * Gets the length of the encoded message.
+     * <p>
+     * A deferred message is encoded completely to determine its length.
+     *
+     * @return The length in bytes
+     * @throws JsonIOException If serialization fails
+     */
+    public long length() {
+        chunks();
+        return length;
+    }
+
+    /**
+     * Gets the ids of the requests contained in the encoded message.
+     * <p>
+     * The ids are empty if the message only contains notifications or was not
+     * created from {@link Request Requests}.
+     *
+     * @return The ids in order
+     */
+    public List<Id<?>> ids() {
+        return ids;
+    }
+
+    /**
+     * Gets the chunks containing the encoded message.
+     * <p>
+     * The returned buffers are read-only views of the message, each call returns
+     * new views positioned at the start of their chunk. A deferred message is
+     * encoded completely once.
+     *
+     * @return The chunks in order
+     * @throws JsonIOException If serialization fails
+     */
+    public ByteBuffer[] buffers() {
+        var chunks = chunks();
+        var buffers = new ByteBuffer[chunks.length];
+
+        for (var i = 0; i < chunks.length; i++)
+            buffers[i] = chunks[i].asReadOnlyBuffer();
+
+        return buffers;
+    }
+
+    /**
+     * Decodes the message.
+     *
+     * @return The JSON-RPC message as {@link String}
+     */
+    @Override
+    public String toString() {
+        var bytes = new byte[(int) length()];
+        var offset = 0;
+
+        for (var chunk : buffers()) {
+            var len = chunk.remaining();
+            chunk.get(bytes, offset, len);
+            offset += len;
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Signals that a message exceeds the maximum size of a
+     * {@link ChunkedOutputStream}.
+     */
+    private static final class Overflow extends IOException {
+
+        private static final long serialVersionUID = -5217460693187350174L;
+
+        /** Creates an {@link Overflow}. */
+        private Overflow() {
+            super("Message exceeds the buffered size");
+        }
+
+        /**
+         * Omits the stack trace, as the exception only ends the encoding.
+         *
+         * @return This exception
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+    /**
+     * {@link OutputStream} which collects the written bytes in chunks of
+     * {@link Payload#CHUNK_SIZE}.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+
+        /** The completed chunks. */
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+
+        /** The maximum number of bytes collected. */
+        private final long maxSize;
+
+        /** The chunk which is currently written to. */
+        private ByteBuffer current;
+
+        /**
+         * Creates a {@link ChunkedOutputStream}.
+         *
+         * @param maxSize The maximum number of bytes collected
+         */
+        private ChunkedOutputStream(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (current == null || !current.hasRemaining())
+                nextChunk();
+
+            current.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (current == null || !current.hasRemaining())
+                    nextChunk();
+
+                var n = Math.min(len, current.remaining());
+                current.put(b, off, n);
+
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Allocates a new chunk, which is already part of the payload.
+         *
+         * @throws IOException If the maximum size would be exceeded
+         */
+        private void nextChunk() throws IOException {
+            if ((long) (chunks.size() + 1) * CHUNK_SIZE > maxSize)
+                throw new Overflow();
+
+            if (current != null)
+                current.flip();
+
+            current = ByteBuffer.allocate(CHUNK_SIZE);
+            chunks.add(current);
+        }
+
+        @Override
+        public void close() {
+            if (current != null) {
+                current.flip();
+                current = null;
+            }
+        }
+
+    }
+
+}
\ No newline at end of file
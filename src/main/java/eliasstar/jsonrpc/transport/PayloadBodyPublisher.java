@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link BodyPublisher} which publishes the chunks of a {@link Payload}
+ * without copying them.
+ * <p>
+ * If the message is already encoded completely, the chunks are only handed to
+ * the {@link java.net.http.HttpClient HttpClient} as it requests them. The
+ * content length is known in advance, so no chunked transfer encoding is
+ * required.
+ * <p>
+ * A deferred message, see {@link Payload#deferred(com.google.gson.Gson, Object)},
+ * is encoded on every subscription by a separate thread. The thread waits
+ * while {@link #MAX_PENDING_CHUNKS} chunks are not yet requested, so the
+ * memory per request is bounded. The content length is unknown, so the body
+ * is sent with chunked transfer encoding.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class PayloadBodyPublisher implements BodyPublisher {
+
+    /** The maximum number of encoded chunks waiting to be requested. */
+    static final int MAX_PENDING_CHUNKS = 4;
+
+    /** The threads encoding deferred messages. */
+    private static final Executor ENCODER = Executors.newCachedThreadPool(task -> {
+        var thread = new Thread(task, "json-rpc-encoder");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    /** The published payload. */
+    private final Payload payload;
+
+    /** Whether the payload is encoded while it is published. */
+    private final boolean streamed;
+
+    /**
+     * Creates a {@link PayloadBodyPublisher}.
+     *
+     * @param payload The payload to be published
+     */
+    public PayloadBodyPublisher(Payload payload) {
+        this.payload = Objects.requireNonNull(payload);
+        this.streamed = !payload.isEncoded();
+    }
+
+    /**
+     * Gets the length of the payload.
+     *
+     * @return The length in bytes or -1 if the payload is encoded while it is
+     *         published
+     */
+    @Override
+    public long contentLength() {
+        return streamed ? -1 : payload.length();
+    }
+
+    /**
+     * Publishes the chunks of the payload to the subscriber as requested.
+     *
+     * @param subscriber The subscriber receiving the chunks
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (streamed) {
+            var subscription = new StreamSubscription(subscriber);
+
+            subscriber.onSubscribe(subscription);
+            ENCODER.execute(() -> subscription.encode(payload));
+        } else {
+            subscriber.onSubscribe(new ChunkSubscription(subscriber, payload.buffers()));
+        }
+    }
+
+    /**
+     * {@link Flow.Subscription} which emits one chunk per requested item.
+     */
+    private static final class ChunkSubscription implements Flow.Subscription {
+
+        /** The subscriber receiving the chunks. */
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        /** The chunks which are published. */
+        private final ByteBuffer[] chunks;
+
+        /** The number of requested but not yet emitted chunks. */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Guards {@link #drain()} against reentrant and concurrent calls. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** The index of the next chunk. */
+        private int index;
+
+        /** Whether this subscription was cancelled or completed. */
+        private volatile boolean done;
+
+        ChunkSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, ByteBuffer[] chunks) {
+            this.subscriber = subscriber;
+            this.chunks = chunks;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done)
+                return;
+
+            if (n <= 0) {
+                done = true;
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+
+            demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        /** Emits chunks while there is demand, then completes the subscriber. */
+        private void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+
+            do {
+                while (!done && index < chunks.length && demand.get() > 0) {
+                    demand.decrementAndGet();
+                    subscriber.onNext(chunks[index++]);
+                }
+
+                if (!done && index == chunks.length) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+    }
+
+    /**
+     * {@link Flow.Subscription} which emits the chunks of a deferred message
+     * while it is encoded.
+     */
+    private static final class StreamSubscription extends OutputStream implements Flow.Subscription {
+
+        /** The subscriber receiving the chunks. */
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        /** The encoded chunks which were not yet emitted. */
+        private final BlockingQueue<ByteBuffer> pending = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+
+        /** The number of requested but not yet emitted chunks. */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Guards {@link #drain()} against reentrant and concurrent calls. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** The chunk which is currently written to by the encoding thread. */
+        private ByteBuffer current;
+
+        /** Whether the encoding finished. */
+        private volatile boolean encoded;
+
+        /** The failure of the encoding or null. */
+        private volatile Throwable failure;
+
+        /** Whether this subscription was cancelled or completed. */
+        private volatile boolean done;
+
+        StreamSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Encodes the payload into this stream, run by the encoding thread.
+         *
+         * @param payload The deferred payload
+         */
+        void encode(Payload payload) {
+            try {
+                payload.encodeTo(this);
+            } catch (Throwable e) {
+                failure = e;
+            }
+
+            encoded = true;
+            drain();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (current == null || !current.hasRemaining())
+                nextChunk();
+
+            current.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (current == null || !current.hasRemaining())
+                    nextChunk();
+
+                var n = Math.min(len, current.remaining());
+                current.put(b, off, n);
+
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Hands the current chunk to the subscriber and allocates a new one.
+         *
+         * @throws IOException If the subscription was cancelled
+         */
+        private void nextChunk() throws IOException {
+            emit();
+            current = ByteBuffer.allocate(Payload.CHUNK_SIZE);
+        }
+
+        /**
+         * Queues the current chunk, waiting while too many chunks are pending.
+         *
+         * @throws IOException If the subscription was cancelled
+         */
+        private void emit() throws IOException {
+            if (current == null || current.position() == 0)
+                return;
+
+            current.flip();
+
+            try {
+                while (!pending.offer(current, 100, TimeUnit.MILLISECONDS)) {
+                    if (done)
+                        throw new IOException("Subscription cancelled");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+
+            current = null;
+            drain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            emit();
+        }
+
+        @Override
+        public void request(long n) {
+            if (done)
+                return;
+
+            if (n <= 0) {
+                done = true;
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+
+            demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            pending.clear();
+        }
+
+        /** Emits queued chunks while there is demand, then completes the subscriber. */
+        private void drain() {
+            if (wip.getAndIncrement() != 0)
+                return;
+
+            do {
+                ByteBuffer chunk;
+
+                while (!done && failure == null && demand.get() > 0 && (chunk = pending.poll()) != null) {
+                    demand.decrementAndGet();
+                    subscriber.onNext(chunk);
+                }
+
+                if (!done && encoded && (failure != null || pending.isEmpty())) {
+                    done = true;
+
+                    if (failure != null)
+                        subscriber.onError(failure);
+                    else
+                        subscriber.onComplete();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+    }
+
+}
\ No newline at end of file
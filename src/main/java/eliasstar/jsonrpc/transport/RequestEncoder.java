@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.id.StringId;
+import eliasstar.jsonrpc.objects.parameter.RawParameters;
+
+/**
+ * Encodes {@link Request Requests} without the reflective {@link Gson}
+ * adapter.
+ * <p>
+ * The constant envelope and the {@code "method"} member are written as cached
+ * UTF-8 encoded fragments, so only the id and the params are written by a
+ * {@link JsonWriter}. The method fragments are kept in lock-free caches which
+ * are cleared once they are full, so encoding requests with arbitrary method
+ * names does not exhaust memory while frequent methods are cached again right
+ * away.
+ * <p>
+ * The fast path is only used with {@link Gson} instances encoding requests
+ * exactly like it, which is verified once per instance and remembered for up to
+ * {@value #MAX_CACHED_GSONS} instances. Instances with e.g. a
+ * custom field naming policy or pretty printing fall back to
+ * {@link Gson#toJson(Object, java.lang.reflect.Type, JsonWriter)}.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+final class RequestEncoder {
+
+    /** The maximum number of cached method or id fragments per escaping mode. */
+    static final int MAX_CACHED_METHODS = 1024;
+
+    /** The maximum number of gson instances whose compatibility is cached. */
+    static final int MAX_CACHED_GSONS = 64;
+
+    /** The start of every request. */
+    private static final byte[] PREFIX = "{\"jsonrpc\":\"2.0\"".getBytes(StandardCharsets.UTF_8);
+
+    /** The name of the id member. */
+    private static final byte[] ID = ",\"id\":".getBytes(StandardCharsets.UTF_8);
+
+    /** The name of the params member. */
+    private static final byte[] PARAMS = ",\"params\":".getBytes(StandardCharsets.UTF_8);
+
+    /** The method fragments of gson instances escaping html characters. */
+    private static final Map<String, byte[]> HTML_SAFE_METHODS = cache();
+
+    /** The method fragments of gson instances not escaping html characters. */
+    private static final Map<String, byte[]> METHODS = cache();
+
+    /** The id prefix fragments of gson instances escaping html characters. */
+    private static final Map<String, byte[]> HTML_SAFE_ID_PREFIXES = cache();
+
+    /** The id prefix fragments of gson instances not escaping html characters. */
+    private static final Map<String, byte[]> ID_PREFIXES = cache();
+
+    /** Whether a gson instance encodes requests like the fast path. */
+    private static final Map<Gson, Boolean> COMPATIBLE = new ConcurrentHashMap<>();
+
+    /** Utility class. */
+    private RequestEncoder() {}
+
+    /**
+     * Checks whether the object can be encoded by the fast path.
+     * <p>
+     * It has to be a {@link Request}, a {@link Notification} or an array of them,
+     * but not of a subclass, which might add members.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param src The object to be encoded
+     * @return {@code true} if {@link #encode(Gson, Object, OutputStream, JsonWriter)}
+     *         can be used
+     */
+    static boolean canEncode(Gson gson, Object src) {
+        if (src instanceof Request[]) {
+            for (var req : (Request[]) src) {
+                if (!isPlain(req))
+                    return false;
+            }
+        } else if (!isPlain(src)) {
+            return false;
+        }
+
+        var compatible = COMPATIBLE.get(gson);
+
+        if (compatible == null) {
+            compatible = isCompatible(gson);
+            put(COMPATIBLE, gson, compatible, MAX_CACHED_GSONS);
+        }
+
+        return compatible;
+    }
+
+    /**
+     * Encodes the request or array of requests.
+     * <p>
+     * The fragments, prefixed ids and {@link RawParameters} are written to out
+     * directly, while other ids and params are written by writer, which must
+     * write to out.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param src The {@link Request} or array of {@link Request Requests}
+     * @param out The stream the message is written to
+     * @param writer The writer configured by gson writing to out
+     * @throws IOException If serialization fails
+     */
+    static void encode(Gson gson, Object src, OutputStream out, JsonWriter writer) throws IOException {
+        // The id and params of every request are separate top-level values
+        writer.setLenient(true);
+        writer.setHtmlSafe(gson.htmlSafe());
+
+        if (src instanceof Request[]) {
+            var requests = (Request[]) src;
+
+            out.write('[');
+
+            for (var i = 0; i < requests.length; i++) {
+                if (i > 0)
+                    out.write(',');
+
+                encodeRequest(gson, requests[i], out, writer);
+            }
+
+            out.write(']');
+        } else {
+            encodeRequest(gson, (Request) src, out, writer);
+        }
+    }
+
+    /**
+     * Encodes a single request.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param req The {@link Request}
+     * @param out The stream the message is written to
+     * @param writer The writer configured by gson writing to out
+     * @throws IOException If serialization fails
+     */
+    private static void encodeRequest(Gson gson, Request req, OutputStream out, JsonWriter writer) throws IOException {
+        out.write(PREFIX);
+
+        if (req.id().isPresent()) {
+            out.write(ID);
+
+            var id = req.id().get();
+
+            if (id instanceof StringId && ((StringId) id).prefix().isPresent()) {
+                encodePrefixedId(gson, (StringId) id, out);
+            } else {
+                id.write(writer);
+                writer.flush();
+            }
+        }
+
+        out.write(method(gson, req.method()));
+
+        if (req.params().isPresent()) {
+            out.write(PARAMS);
+
+            var params = req.params().get();
+
+            if (params instanceof RawParameters) {
+                ((RawParameters) params).write(out);
+            } else {
+                params.write(writer, gson);
+                writer.flush();
+            }
+        }
+
+        out.write('}');
+    }
+
+    /**
+     * Encodes an id created from prefix and counter without concatenating it.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param id The {@link StringId} with a prefix
+     * @param out The stream the message is written to
+     * @throws IOException If serialization fails
+     */
+    private static void encodePrefixedId(Gson gson, StringId id, OutputStream out) throws IOException {
+        out.write(fragment(gson.htmlSafe() ? HTML_SAFE_ID_PREFIXES : ID_PREFIXES, gson, "", id.prefix().get(), true));
+        id.writeSuffix(out);
+        out.write('"');
+    }
+
+    /**
+     * Gets the encoded {@code "method"} member, escaped like gson escapes it.
+     *
+     * @param gson The {@link Gson} instance used for serialization
+     * @param method The name of the method
+     * @return The UTF-8 encoded member including the leading comma
+     * @throws IOException If escaping fails
+     */
+    private static byte[] method(Gson gson, String method) throws IOException {
+        return fragment(gson.htmlSafe() ? HTML_SAFE_METHODS : METHODS, gson, ",\"method\":", method, false);
+    }
+
+    /**
+     * Gets an encoded string value preceded by a constant, escaped like gson
+     * escapes it.
+     *
+     * @param cache The cache of the fragments
+     * @param gson The {@link Gson} instance used for serialization
+     * @param leading The constant written before the value
+     * @param value The string value
+     * @param open Whether the closing quote is omitted
+     * @return The UTF-8 encoded fragment
+     * @throws IOException If escaping fails
+     */
+    private static byte[] fragment(Map<String, byte[]> cache, Gson gson, String leading, String value, boolean open) throws IOException {
+        var fragment = cache.get(value);
+
+        if (fragment == null) {
+            var json = new StringWriter();
+            json.write(leading);
+
+            var writer = new JsonWriter(json);
+            writer.setHtmlSafe(gson.htmlSafe());
+            writer.value(value);
+
+            var buffer = json.getBuffer();
+
+            if (open)
+                buffer.setLength(buffer.length() - 1);
+
+            fragment = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            put(cache, value, fragment, MAX_CACHED_METHODS);
+        }
+
+        return fragment;
+    }
+
+    /**
+     * Creates a thread-safe cache of fragments.
+     *
+     * @return A new empty cache
+     */
+    private static Map<String, byte[]> cache() {
+        return new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds an entry to a cache, which is cleared first if it is full.
+     * <p>
+     * Concurrent calls may exceed the limit slightly, which only costs memory for
+     * a few more entries. Without locks there is no least recently used order,
+     * but entries which are still used are added again with their next use.
+     *
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @param cache The cache
+     * @param key The key
+     * @param value The value
+     * @param max The maximum number of entries
+     */
+    private static <K, V> void put(Map<K, V> cache, K key, V value, int max) {
+        if (cache.size() >= max)
+            cache.clear();
+
+        cache.put(key, value);
+    }
+
+    /**
+     * Checks whether the object is a {@link Request} or {@link Notification} which
+     * the fast path encodes completely.
+     *
+     * @param src The object
+     * @return {@code true} if the fast path can encode the object
+     */
+    private static boolean isPlain(Object src) {
+        if (src == null || src.getClass() != Request.class && src.getClass() != Notification.class)
+            return false;
+
+        var req = (Request) src;
+        return "2.0".equals(req.jsonrpc()) && req.method() != null;
+    }
+
+    /**
+     * Compares the output of the fast path with the output of gson for sample
+     * requests.
+     *
+     * @param gson The {@link Gson} instance
+     * @return {@code true} if both outputs are equal
+     */
+    private static boolean isCompatible(Gson gson) {
+        var array = new JsonArray();
+        array.add("<a>");
+
+        var object = new JsonObject();
+        object.addProperty("a", 1);
+
+        Request[] samples = {
+                new Request(1, "sample", array),
+                new Request("id", "sample"),
+                new Request(new StringId("<id>", -1), "sample", null),
+                new Request((String) null, "sample", object),
+                new Notification("sample", array)
+        };
+
+        try {
+            for (var sample : samples) {
+                var out = new ByteArrayOutputStream();
+
+                try (var stream = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                    encode(gson, sample, out, gson.newJsonWriter(stream));
+                }
+
+                if (!out.toString(StandardCharsets.UTF_8).equals(gson.toJson(sample)))
+                    return false;
+            }
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link Transport} which exchanges framed messages over a persistent TCP
+ * connection.
+ * <p>
+ * Every message is written with a single gathering write of the
+ * {@link Framing} header, the chunks of the {@link Payload} and the trailer.
+ * Calls are performed in lockstep: a call writes its request and reads the
+ * next message as its response, while other calls wait. Asynchronous calls are
+ * queued on a single daemon thread.
+ * <p>
+ * Messages the service sends on its own, like requests or notifications, are
+ * not supported in this mode: such a message would be taken as the response of
+ * the current call and shift all later responses. Use
+ * {@link MultiplexedSocketTransport} for services which send them, it discards
+ * messages that do not answer a pending call.
+ * <p>
+ * If writing or reading fails the channel is closed, because the stream can no
+ * longer be kept in sync.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public final class SocketTransport implements Transport {
+
+    /** The connected channel. */
+    private final SocketChannel channel;
+
+    /** The framing of the messages. */
+    private final Framing framing;
+
+    /** The reader of the channel. */
+    private final FrameReader reader;
+
+    /** The lock ensuring that calls are performed in lockstep. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** The thread performing asynchronous calls. */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "json-rpc-socket");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    /**
+     * Creates a {@link SocketTransport} using a connected channel.
+     * <p>
+     * The channel is switched to blocking mode. Received messages may have up to
+     * {@link Framing#DEFAULT_MAX_FRAME_SIZE} bytes.
+     *
+     * @param channel The connected channel
+     * @param framing The framing of the messages
+     * @throws IOException If the channel cannot be configured
+     */
+    public SocketTransport(SocketChannel channel, Framing framing) throws IOException {
+        this(channel, framing, Framing.DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Creates a {@link SocketTransport} using a connected channel.
+     * <p>
+     * The channel is switched to blocking mode. Receiving a message larger than
+     * maxFrameSize fails with an {@link IOException} and closes the channel.
+     *
+     * @param channel The connected channel
+     * @param framing The framing of the messages
+     * @param maxFrameSize The maximum size of a received message in bytes
+     * @throws IOException If the channel cannot be configured
+     * @throws IllegalArgumentException If maxFrameSize is not positive
+     */
+    public SocketTransport(SocketChannel channel, Framing framing, int maxFrameSize) throws IOException {
+        this.channel = Objects.requireNonNull(channel);
+        this.framing = Objects.requireNonNull(framing);
+        this.reader = new FrameReader(channel, maxFrameSize);
+
+        channel.configureBlocking(true);
+    }
+
+    /**
+     * Connects to a service and creates a {@link SocketTransport}.
+     * <p>
+     * Nagle's algorithm is disabled, because every message is written at once.
+     * Received messages may have up to {@link Framing#DEFAULT_MAX_FRAME_SIZE}
+     * bytes.
+     *
+     * @param address The address of the service
+     * @param framing The framing of the messages
+     * @return A new {@link SocketTransport}
+     * @throws IOException If connecting fails
+     */
+    public static SocketTransport connect(SocketAddress address, Framing framing) throws IOException {
+        return connect(address, framing, Framing.DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Connects to a service and creates a {@link SocketTransport}.
+     * <p>
+     * Nagle's algorithm is disabled, because every message is written at once.
+     *
+     * @param address The address of the service
+     * @param framing The framing of the messages
+     * @param maxFrameSize The maximum size of a received message in bytes
+     * @return A new {@link SocketTransport}
+     * @throws IOException If connecting fails
+     * @throws IllegalArgumentException If maxFrameSize is not positive
+     */
+    public static SocketTransport connect(SocketAddress address, Framing framing, int maxFrameSize) throws IOException {
+        var channel = SocketChannel.open(address);
+
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            return new SocketTransport(channel, framing, maxFrameSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the framed payload.
+     *
+     * @param payload The encoded message
+     * @throws IOException If writing fails
+     * @throws InterruptedException If the thread is interrupted while waiting
+     *         for a running call
+     */
+    @Override
+    public void send(Payload payload) throws IOException, InterruptedException {
+        lock.lockInterruptibly();
+
+        try {
+            framing.write(channel, payload);
+        } catch (IOException e) {
+            throw abort(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the framed payload and reads the next message.
+     *
+     * @param payload The encoded message
+     * @return The message read
+     * @throws IOException If writing or reading fails
+     * @throws InterruptedException If the thread is interrupted while waiting
+     *         for a running call
+     */
+    @Override
+    public InputStream exchange(Payload payload) throws IOException, InterruptedException {
+        lock.lockInterruptibly();
+
+        try {
+            framing.write(channel, payload);
+
+            return new ByteArrayInputStream(framing.read(reader));
+        } catch (IOException e) {
+            throw abort(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the payload to be written.
+     *
+     * @param payload The encoded message
+     * @return A future completed when the message was written
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(Payload payload) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                send(payload);
+            } catch (IOException | InterruptedException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Queues the payload to be written and its response to be read.
+     *
+     * @param payload The encoded message
+     * @return A future completed with the message read
+     */
+    @Override
+    public CompletableFuture<InputStream> exchangeAsync(Payload payload) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return exchange(payload);
+            } catch (IOException | InterruptedException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Closes the channel and stops the thread performing asynchronous calls.
+     *
+     * @throws IOException If closing the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        channel.close();
+    }
+
+    /**
+     * Closes the channel after a failure.
+     *
+     * @param cause The failure
+     * @return Never returns normally
+     * @throws IOException Always cause
+     */
+    private IOException abort(IOException cause) throws IOException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+
+        throw cause;
+    }
+
+}
\ No newline at end of file
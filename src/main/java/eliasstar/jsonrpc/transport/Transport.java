@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries encoded JSON-RPC messages to a service and returns its responses.
+ * <p>
+ * A {@link eliasstar.jsonrpc.Connection Connection} serializes every message
+ * into a {@link Payload} and deserializes the returned stream, so an
+ * implementation only has to move bytes. The default implementation is
+ * {@link HttpTransport}.
+ * <p>
+ * Implementations must be safe for use by multiple concurrent threads.
+ *
+ * @author Elias*
+ * @since 2.1.0
+ */
+public interface Transport extends Closeable {
+
+    /**
+     * Sends a message for which no response is expected, e.g. a
+     * {@link eliasstar.jsonrpc.objects.Notification Notification}.
+     * <p>
+     * Anything the service returns is discarded.
+     *
+     * @param payload The encoded message
+     * @throws IOException If sending fails
+     * @throws InterruptedException If the thread is interrupted while sending
+     */
+    void send(Payload payload) throws IOException, InterruptedException;
+
+    /**
+     * Sends a message and returns the response of the service.
+     * <p>
+     * The returned stream contains exactly one UTF-8 encoded JSON value and is
+     * closed by the caller. It may still be receiving while it is read.
+     *
+     * @param payload The encoded message
+     * @return The response
+     * @throws IOException If sending or receiving fails
+     * @throws InterruptedException If the thread is interrupted while waiting
+     *         for the response
+     */
+    InputStream exchange(Payload payload) throws IOException, InterruptedException;
+
+    /**
+     * Sends a message for which no response is expected without blocking.
+     *
+     * @param payload The encoded message
+     * @return A future completed when the message was sent or exceptionally with
+     *         the cause of the failure
+     */
+    CompletableFuture<Void> sendAsync(Payload payload);
+
+    /**
+     * Sends a message without blocking and returns the response of the service.
+     * <p>
+     * The future must only be completed once the response was received
+     * completely, so that reading the stream never blocks.
+     *
+     * @param payload The encoded message
+     * @return A future completed with the response or exceptionally with the
+     *         cause of the failure
+     */
+    CompletableFuture<InputStream> exchangeAsync(Payload payload);
+
+    /**
+     * Releases the resources held by this {@link Transport}.
+     * <p>
+     * Does nothing by default.
+     *
+     * @throws IOException If closing fails
+     */
+    @Override
+    default void close() throws IOException {}
+
+}
\ No newline at end of file
@@ -73,6 +73,38 @@ public final class OptionalTypeAdapterTests {
         assertEquals(testObj, gson.fromJson("{\"testString\":\"test\"}", OptionalTestObject.class));
     }
 
+    @Test
+    public void testRuntimeTypeSerialization() {
+        var holder = new RuntimeTypeHolder();
+
+        holder.base = Optional.of(new Sub());
+        holder.object = Optional.of("test");
+        assertEquals("{\"base\":{\"b\":2,\"a\":1},\"object\":\"test\"}", gson.toJson(holder));
+
+        holder.base = Optional.of(new Base());
+        holder.object = Optional.of(new Sub());
+        assertEquals("{\"base\":{\"a\":1},\"object\":{\"b\":2,\"a\":1}}", gson.toJson(holder));
+    }
+
+    private static class Base {
+
+        private int a = 1;
+
+    }
+
+    private static final class Sub extends Base {
+
+        private int b = 2;
+
+    }
+
+    private static final class RuntimeTypeHolder {
+
+        private Optional<Base> base;
+        private Optional<Object> object;
+
+    }
+
     private static final class OptionalTestObject {
 
         private String testString;
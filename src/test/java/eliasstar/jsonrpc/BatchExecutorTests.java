@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.exceptions.ConnectionException;
+import eliasstar.jsonrpc.exceptions.ErrorResponseException;
+import eliasstar.jsonrpc.exceptions.MissingResponseException;
+import eliasstar.jsonrpc.objects.Error;
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.id.NumberId;
+import eliasstar.jsonrpc.transport.Payload;
+import eliasstar.jsonrpc.transport.Transport;
+
+public final class BatchExecutorTests {
+
+    @Test
+    public void testChunkedExecution() throws ConnectionException, ErrorResponseException, MissingResponseException {
+        var transport = new DelayedTransport(false);
+        var executor = new BatchExecutor(new ConnectionBuilder(transport).build(), 100, Long.MAX_VALUE, 4);
+        var requests = new Request[1050];
+
+        for (var i = 0; i < requests.length; i++)
+            requests[i] = i % 10 == 9 ? new Notification("n" + i) : new Request(i, "r" + i);
+
+        var result = executor.execute(requests);
+
+        assertTrue(result.isComplete());
+        assertEquals(11, transport.chunkSizes.size());
+        assertEquals(50, transport.chunkSizes.stream().mapToInt(Integer::intValue).min().getAsInt());
+        assertEquals(4, transport.maxInFlight.get());
+
+        for (var i = 0; i < requests.length; i++)
+            if (i % 10 != 9)
+                assertEquals("r" + i, result.result(i).getAsString());
+    }
+
+    @Test
+    public void testByteBoundedChunks() throws ConnectionException {
+        var transport = new DelayedTransport(false);
+        var requests = new Request[] { new Request(0, "a".repeat(170)), new Request(1, "b"), new Request(2, "c"), new Request(3, "d".repeat(1000)) };
+
+        new BatchExecutor(new ConnectionBuilder(transport).build(), 100, 200, 1).execute(requests);
+
+        assertEquals(List.of(1, 2, 1), transport.chunkSizes);
+        assertEquals(1, transport.maxInFlight.get());
+    }
+
+    @Test
+    public void testFailingChunk() {
+        var executor = new BatchExecutor(new ConnectionBuilder(new DelayedTransport(true)).build(), 1, Long.MAX_VALUE, 2);
+
+        assertThrows(ConnectionException.class, () -> executor.execute(new Request(0, "a"), new Request(1, "b")));
+    }
+
+    @Test
+    public void testSynchronousChunks() throws ConnectionException {
+        var sent = new AtomicInteger();
+        var transport = new Transport() {
+
+            @Override
+            public void send(Payload payload) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public InputStream exchange(Payload payload) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<Void> sendAsync(Payload payload) {
+                sent.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<InputStream> exchangeAsync(Payload payload) {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+
+        var requests = new Request[100000];
+
+        for (var i = 0; i < requests.length; i++)
+            requests[i] = new Notification("n");
+
+        new BatchExecutor(new ConnectionBuilder(transport).build(), 1, Long.MAX_VALUE, 1).execute(requests);
+
+        assertEquals(requests.length, sent.get());
+    }
+
+    @Test
+    public void testRejectedChunk() throws ConnectionException {
+        var transport = new Transport() {
+
+            @Override
+            public void send(Payload payload) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public InputStream exchange(Payload payload) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<Void> sendAsync(Payload payload) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<InputStream> exchangeAsync(Payload payload) {
+                var res = "{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}}";
+                return CompletableFuture.completedFuture(new ByteArrayInputStream(res.getBytes(StandardCharsets.UTF_8)));
+            }
+
+        };
+
+        var result = new BatchExecutor(new ConnectionBuilder(transport).build(), 2, Long.MAX_VALUE, 1).execute(new Request(0, "a"), new Request(1, "b"));
+
+        assertFalse(result.isComplete());
+        assertEquals(1, result.unexpectedResponses().size());
+        assertEquals(Error.INVALID_REQUEST, result.unexpectedResponses().get(0).error().get().code());
+        assertEquals(List.of(new NumberId(0), new NumberId(1)), result.missingIds());
+    }
+
+    private static final class DelayedTransport implements Transport {
+
+        private final Executor delayed = CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS);
+        private final boolean fail;
+        private final List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private DelayedTransport(boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public void send(Payload payload) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InputStream exchange(Payload payload) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> sendAsync(Payload payload) {
+            return exchangeAsync(payload).thenApply(in -> null);
+        }
+
+        @Override
+        public CompletableFuture<InputStream> exchangeAsync(Payload payload) {
+            var requests = JsonParser.parseString(payload.toString()).getAsJsonArray();
+
+            chunkSizes.add(requests.size());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+
+                if (fail)
+                    throw new RuntimeException(new IOException("failed"));
+
+                var responses = new JsonArray();
+
+                for (var i = requests.size() - 1; i >= 0; i--) {
+                    var req = requests.get(i).getAsJsonObject();
+
+                    if (req.has("id")) {
+                        var res = new JsonObject();
+                        res.addProperty("jsonrpc", "2.0");
+                        res.add("id", req.get("id"));
+                        res.add("result", req.get("method"));
+                        responses.add(res);
+                    }
+                }
+
+                return new ByteArrayInputStream(responses.toString().getBytes(StandardCharsets.UTF_8));
+            }, delayed);
+        }
+
+    }
+
+}
\ No newline at end of file
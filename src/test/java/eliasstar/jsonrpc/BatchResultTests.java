@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.exceptions.ErrorResponseException;
+import eliasstar.jsonrpc.exceptions.MissingResponseException;
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.id.NumberId;
+import eliasstar.jsonrpc.objects.id.StringId;
+import eliasstar.utils.GsonProvider;
+
+public final class BatchResultTests {
+
+    private static Gson gson;
+
+    @BeforeAll
+    public static void initGson() {
+        gson = GsonProvider.gson();
+    }
+
+    @Test
+    public void testResponseOrdering() throws ErrorResponseException, MissingResponseException {
+        var requests = new Request[] { new Request(1, "a"), new Notification("b"), new Request("c", "c"), new Request(4, "d") };
+        var responses = gson.fromJson("[{\"jsonrpc\":\"2.0\",\"id\":4,\"error\":{\"code\":-32601,\"message\":\"d\"}},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"c\",\"result\":\"c\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"a\"}]", Response[].class);
+        var result = new BatchResult(requests, responses);
+
+        assertTrue(result.isComplete());
+        assertEquals(4, result.size());
+        assertEquals("a", result.result(0).getAsString());
+        assertEquals(Optional.empty(), result.response(1));
+        assertEquals("c", result.result(2).getAsString());
+        assertEquals(responses[1], result.response(new StringId("c")).get());
+        assertEquals(-32601, assertThrows(ErrorResponseException.class, () -> result.result(3)).getErrorCode());
+        assertThrows(IllegalArgumentException.class, () -> result.result(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> result.response(4));
+    }
+
+    @Test
+    public void testMissingAndUnexpectedResponses() {
+        var requests = new Request[] { new Request(1, "a"), new Request(2, "b") };
+        var responses = gson.fromJson("[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":1},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":2},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"invalid\"}}]", Response[].class);
+        var result = new BatchResult(requests, responses);
+
+        assertFalse(result.isComplete());
+        assertEquals(List.of(new NumberId(BigDecimal.valueOf(2))), result.missingIds());
+        assertEquals(List.of(responses[1], responses[2]), result.unexpectedResponses());
+        assertEquals(responses[0], result.response(0).get());
+        assertThrows(MissingResponseException.class, () -> result.result(1));
+    }
+
+    @Test
+    public void testLargeBatch() throws ErrorResponseException, MissingResponseException {
+        var size = 10000;
+        var requests = new Request[size];
+        var responses = new Response[size];
+
+        for (var i = 0; i < size; i++) {
+            requests[i] = new Request(i, "test");
+            responses[size - 1 - i] = gson.fromJson("{\"jsonrpc\":\"2.0\",\"id\":" + i + ",\"result\":" + i + "}", Response.class);
+        }
+
+        var result = new BatchResult(requests, responses);
+
+        assertTrue(result.isComplete());
+
+        for (var i = 0; i < size; i++)
+            assertEquals(i, result.result(i).getAsInt());
+    }
+
+}
\ No newline at end of file
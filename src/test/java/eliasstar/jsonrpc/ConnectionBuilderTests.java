@@ -19,13 +19,33 @@
 package eliasstar.jsonrpc;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
 
 import org.junit.jupiter.api.Test;
 
+import eliasstar.jsonrpc.server.DispatcherBuilder;
+import eliasstar.jsonrpc.server.JsonRpcServer;
+import eliasstar.jsonrpc.transport.HttpTransport;
+
 public final class ConnectionBuilderTests {
 
     @Test
@@ -37,4 +57,58 @@ public final class ConnectionBuilderTests {
                 () -> assertThrows(IllegalStateException.class, () -> builder.build()),
                 () -> assertThrows(IllegalStateException.class, () -> builder.setRequestBuilder(reqBuilder).build()));
     }
+
+    @Test
+    public void testBuildWithTransport() {
+        var transport = new HttpTransport(HttpClient.newHttpClient(), HttpRequest.newBuilder());
+
+        assertAll(
+                () -> assertNotNull(new ConnectionBuilder(transport).build()),
+                () -> assertNotNull(new ConnectionBuilder(HttpClient.newHttpClient()).withTransport(transport).build()));
+    }
+
+    @Test
+    public void testMaxConcurrentRequests() throws IOException, InterruptedException, ExecutionException {
+        var active = new AtomicInteger();
+        var maxActive = new AtomicInteger();
+
+        var dispatcher = new DispatcherBuilder()
+                .register("sleep", req -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    active.decrementAndGet();
+                    return new JsonPrimitive(true);
+                })
+                .build();
+
+        var executor = Executors.newFixedThreadPool(8);
+        var server = new JsonRpcServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "/rpc", dispatcher, executor);
+        server.start();
+
+        try {
+            var url = "http://" + server.address().getHostString() + ":" + server.address().getPort() + "/rpc";
+            var con = new ConnectionBuilder(url).setHttpVersion(Version.HTTP_1_1).setConnectTimeout(Duration.ofSeconds(10)).setMaxConcurrentRequests(2).build();
+
+            var futures = new ArrayList<CompletableFuture<JsonElement>>();
+
+            for (var i = 0; i < 8; i++)
+                futures.add(con.callRemoteProcedureAsync("sleep"));
+
+            for (var future : futures)
+                assertEquals(new JsonPrimitive(true), future.get());
+
+            assertTrue(maxActive.get() <= 2);
+            assertThrows(IllegalArgumentException.class, () -> new ConnectionBuilder(url).setMaxConcurrentRequests(-1));
+        } finally {
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+
 }
\ No newline at end of file
@@ -23,24 +23,50 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import eliasstar.jsonrpc.annotations.RpcMethod;
+import eliasstar.jsonrpc.annotations.RpcParam;
 import eliasstar.jsonrpc.exceptions.ConnectionException;
 import eliasstar.jsonrpc.exceptions.ErrorResponseException;
 import eliasstar.jsonrpc.exceptions.IdMismatchException;
+import eliasstar.jsonrpc.exceptions.MissingResponseException;
+import eliasstar.jsonrpc.exceptions.RpcException;
 import eliasstar.jsonrpc.objects.Notification;
 import eliasstar.jsonrpc.objects.Request;
 import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.parameter.PositionalParameters;
+import eliasstar.jsonrpc.transport.Payload;
+import eliasstar.jsonrpc.transport.Transport;
 import eliasstar.utils.GsonProvider;
 import eliasstar.utils.mocks.HttpClientMock;
 
@@ -131,6 +157,16 @@ public final class ConnectionTests {
         assertEquals("test", connection.callRemoteProcedure("test").getAsString());
     }
 
+    @Test
+    public void testPrimitiveResult() throws ConnectionException, ErrorResponseException, IdMismatchException, InterruptedException, ExecutionException {
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":" + connection.requestsMade() + ",\"result\":42}");
+        int result = connection.callRemoteProcedure("test", int.class);
+        assertEquals(42, result);
+
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":" + connection.requestsMade() + ",\"result\":true}");
+        assertEquals(true, connection.<Boolean>callRemoteProcedureAsync("test", boolean.class).get());
+    }
+
     @Test
     public void testResponseWithWrongId() {
         client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":\"wrong\",\"result\":\"test\"}");
@@ -203,4 +239,326 @@ public final class ConnectionTests {
         }));
     }
 
+    @Test
+    public void testAsyncRemoteProcedureCalling() throws InterruptedException, ExecutionException {
+        var id = connection.requestsMade();
+
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":\"test\"}");
+
+        assertEquals("test", connection.callRemoteProcedureAsync("test", new JsonArray()).get().getAsString());
+        assertEquals(new Request(id, "test", new JsonArray()), gson.fromJson(client.getRequest(), Request.class));
+    }
+
+    @Test
+    public void testAsyncResponseWithError() {
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":\"null\",\"error\":{\"code\":-32000,\"message\":\"test\"}}");
+
+        var e = assertThrows(ExecutionException.class, () -> {
+            connection.callRemoteProcedureAsync("method").get();
+        });
+
+        assertTrue(e.getCause() instanceof ErrorResponseException);
+    }
+
+    @Test
+    public void testAsyncBatchRequestSending() throws InterruptedException, ExecutionException {
+        var req = new Request[] {
+                new Request("test1", "test1"),
+                new Notification("test2")
+        };
+        var res = "[{\"jsonrpc\":\"2.0\",\"id\":\"test1\",\"result\":\"test1\"}]";
+
+        client.setResponse(res);
+
+        assertTrue(Arrays.equals(gson.fromJson(res, Response[].class), connection.sendBatchRequestAsync(req).get().get()));
+        assertEquals(Optional.empty(), connection.sendBatchRequestAsync(new Notification("test1")).get());
+    }
+
+    @Test
+    public void testStreamedResponse() throws ConnectionException, ErrorResponseException, IdMismatchException {
+        var con = new ConnectionBuilder(client, "https://www.example.com").setResponseStreaming(true).build();
+
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":[\"test\",\"\u00e4\u00f6\u00fc\"]}");
+
+        var result = con.callRemoteProcedure("test").getAsJsonArray();
+
+        assertEquals("test", result.get(0).getAsString());
+        assertEquals("\u00e4\u00f6\u00fc", result.get(1).getAsString());
+    }
+
+    @Test
+    public void testTypedRemoteProcedureCalling() throws ConnectionException, ErrorResponseException, IdMismatchException, InterruptedException, ExecutionException {
+        var id = connection.requestsMade();
+
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"result\":[1,2,3],\"id\":" + id + "}");
+        List<Integer> list = connection.callRemoteProcedure("test", new JsonArray(), new TypeToken<List<Integer>>() {}.getType());
+
+        assertEquals(List.of(1, 2, 3), list);
+
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":" + (id + 1) + ",\"result\":null}");
+        CompletableFuture<String> nothing = connection.callRemoteProcedureAsync("test", String.class);
+
+        assertEquals(null, nothing.get());
+    }
+
+    @Test
+    public void testTypedResponseWithError() {
+        client.setResponse("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32601,\"message\":\"test\"}}");
+
+        var e = assertThrows(ErrorResponseException.class, () -> {
+            connection.callRemoteProcedure("method", String.class);
+        });
+
+        assertEquals(-32601, e.getErrorCode());
+    }
+
+    @Test
+    public void testCustomTransport() throws ConnectionException, ErrorResponseException, IdMismatchException, InterruptedException, ExecutionException {
+        var transport = new MemoryTransport();
+        var con = new ConnectionBuilder(transport).withId("mem").build();
+
+        assertEquals("test", con.callRemoteProcedure("test").getAsString());
+        assertEquals("test", con.callRemoteProcedureAsync("test").get().getAsString());
+
+        con.sendNotification("test");
+
+        assertEquals(3, transport.sent.size());
+        assertEquals(new Notification("test"), gson.fromJson(transport.sent.get(2), Notification.class));
+        assertEquals(0, transport.open.get());
+    }
+
+    @Test
+    public void testAsyncFailures() throws IOException {
+        var transport = new MemoryTransport();
+        var failing = new TypeAdapter<Failing>() {
+
+            @Override
+            public void write(JsonWriter out, Failing value) throws IOException {
+                throw new IOException("Failing");
+            }
+
+            @Override
+            public Failing read(JsonReader in) {
+                return null;
+            }
+
+        };
+        var con = new ConnectionBuilder(transport).setGson(new GsonBuilder().registerTypeAdapter(Failing.class, failing)).build();
+
+        var encoded = con.callRemoteProcedureAsync("test", new PositionalParameters(new Failing()), String.class);
+        var e = assertThrows(ExecutionException.class, () -> encoded.get());
+        assertTrue(e.getCause() instanceof ConnectionException);
+        assertTrue(e.getCause().getCause() instanceof IOException);
+
+        transport.broken = true;
+
+        e = assertThrows(ExecutionException.class, () -> con.callRemoteProcedureAsync("test").get());
+        assertTrue(e.getCause() instanceof ConnectionException);
+        assertTrue(e.getCause().getCause() instanceof IOException);
+        assertThrows(ConnectionException.class, () -> con.callRemoteProcedure("test"));
+        assertEquals(0, transport.open.get());
+    }
+
+    @Test
+    public void testAutoBatching() throws ConnectionException, ErrorResponseException, IdMismatchException, InterruptedException, ExecutionException, IOException {
+        var transport = new MemoryTransport();
+        var con = new ConnectionBuilder(transport).setAutoBatching(Duration.ofMillis(20), 10).build();
+        var futures = new ArrayList<CompletableFuture<String>>();
+
+        for (var i = 0; i < 25; i++)
+            futures.add(con.callRemoteProcedureAsync("test" + i, String.class));
+
+        for (var i = 0; i < 25; i++)
+            assertEquals("test" + i, futures.get(i).get());
+
+        assertEquals(3, transport.sent.size());
+        assertEquals(10, gson.fromJson(transport.sent.get(0), Request[].class).length);
+        assertEquals(5, gson.fromJson(transport.sent.get(2), Request[].class).length);
+
+        assertEquals("single", con.callRemoteProcedure("single").getAsString());
+        assertEquals(new Request(25, "single"), gson.fromJson(transport.sent.get(3), Request.class));
+
+        transport.resultFirst = true;
+        var first = con.callRemoteProcedureAsync("first", String.class);
+        var second = con.callRemoteProcedureAsync("second");
+
+        assertEquals("first", first.get());
+        assertEquals("second", second.get().getAsString());
+        assertEquals(2, gson.fromJson(transport.sent.get(4), Request[].class).length);
+        assertEquals(0, transport.open.get());
+
+        con.close();
+
+        var e = assertThrows(ExecutionException.class, () -> con.callRemoteProcedureAsync("closed").get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof ConnectionException);
+    }
+
+    @Test
+    public void testBatchCalling() throws ConnectionException, ErrorResponseException, MissingResponseException, InterruptedException, ExecutionException {
+        var transport = new MemoryTransport();
+        var con = new ConnectionBuilder(transport).build();
+        var requests = new Request[] { new Request(1, "first"), new Notification("second"), new Request(3, "third") };
+
+        var result = con.callBatch(requests);
+
+        assertEquals("first", result.result(0).getAsString());
+        assertEquals("third", result.result(2).getAsString());
+        assertEquals("third", con.callBatchAsync(requests).get().result(2).getAsString());
+        assertEquals(0, con.callBatch().size());
+    }
+
+    @Test
+    public void testProxy() throws RpcException, InterruptedException, ExecutionException {
+        var transport = new MemoryTransport();
+        var service = new ConnectionBuilder(transport).build().proxy(Service.class);
+
+        assertEquals("echo", service.echo(1, List.of("a")));
+        assertEquals("[1,[\"a\"]]", JsonParser.parseString(transport.sent.get(0)).getAsJsonObject().get("params").toString());
+
+        assertEquals("named", service.named("b", 2).get());
+        assertEquals("{\"b\":\"b\",\"a\":2}", JsonParser.parseString(transport.sent.get(1)).getAsJsonObject().get("params").toString());
+
+        service.notify("c");
+        assertEquals(new Notification("notify", JsonParser.parseString("[\"c\"]").getAsJsonArray()), gson.fromJson(transport.sent.get(2), Notification.class));
+
+        assertEquals("echoecho", service.twice());
+        assertEquals(42, service.answer());
+        assertEquals(true, service.truth());
+        assertEquals(service, service);
+        assertThrows(IllegalArgumentException.class, () -> connection.proxy(Invalid.class));
+    }
+
+    private static interface Service {
+
+        String echo(int a, List<String> b) throws RpcException;
+
+        @RpcMethod("named")
+        CompletableFuture<String> other(@RpcParam("b") String b, @RpcParam("a") int a);
+
+        default CompletableFuture<String> named(String b, int a) {
+            return other(b, a);
+        }
+
+        @RpcMethod(notification = true)
+        void notify(String c) throws RpcException;
+
+        default String twice() throws RpcException {
+            return echo(0, List.of()) + echo(0, List.of());
+        }
+
+        @RpcMethod("42")
+        int answer() throws RpcException;
+
+        @RpcMethod("true")
+        boolean truth() throws RpcException;
+
+    }
+
+    private static interface Invalid {
+
+        void mixed(@RpcParam("a") int a, int b);
+
+    }
+
+    private static final class Failing {}
+
+    private static final class MemoryTransport implements Transport {
+
+        private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger open = new AtomicInteger();
+        private volatile boolean broken;
+        private volatile boolean resultFirst;
+
+        @Override
+        public void send(Payload payload) {
+            sent.add(payload.toString());
+        }
+
+        @Override
+        public InputStream exchange(Payload payload) {
+            send(payload);
+
+            if (broken) {
+                open.incrementAndGet();
+
+                return new InputStream() {
+
+                    private boolean closed;
+
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Broken");
+                    }
+
+                    @Override
+                    public void close() {
+                        if (!closed)
+                            open.decrementAndGet();
+
+                        closed = true;
+                    }
+
+                };
+            }
+
+            var message = JsonParser.parseString(payload.toString());
+            JsonElement res;
+
+            if (message.isJsonArray()) {
+                var responses = new JsonArray();
+                var requests = message.getAsJsonArray();
+
+                for (var i = requests.size() - 1; i >= 0; i--)
+                    responses.add(respond(requests.get(i).getAsJsonObject()));
+
+                res = responses;
+            } else {
+                res = respond(message.getAsJsonObject());
+            }
+
+            open.incrementAndGet();
+
+            return new ByteArrayInputStream(res.toString().getBytes(StandardCharsets.UTF_8)) {
+
+                private boolean closed;
+
+                @Override
+                public void close() {
+                    if (!closed)
+                        open.decrementAndGet();
+
+                    closed = true;
+                }
+
+            };
+        }
+
+        @Override
+        public CompletableFuture<Void> sendAsync(Payload payload) {
+            send(payload);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<InputStream> exchangeAsync(Payload payload) {
+            return CompletableFuture.completedFuture(exchange(payload));
+        }
+
+        private JsonObject respond(JsonObject req) {
+            var res = new JsonObject();
+            res.addProperty("jsonrpc", "2.0");
+
+            if (resultFirst) {
+                res.add("result", req.get("method"));
+                res.add("id", req.get("id"));
+            } else {
+                res.add("id", req.get("id"));
+                res.add("result", req.get("method"));
+            }
+
+            return res;
+        }
+
+    }
+
 }
\ No newline at end of file
@@ -19,8 +19,14 @@
 package eliasstar.jsonrpc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
 
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
 
 public final class JsonRpcTests {
 
@@ -33,4 +39,36 @@ public final class JsonRpcTests {
         assertEquals(JsonRpc.CONNECTION_PREFIX + consMade, con.id().get());
     }
 
+    @Test
+    public void testClientPerEndpoint() {
+        var a = "https://a.example.com/rpc";
+        var b = "https://b.example.com/rpc";
+
+        JsonRpc.connect(a);
+        JsonRpc.connect(b);
+
+        var clientA = JsonRpc.client(a);
+        var clientB = JsonRpc.client(b);
+
+        JsonRpc.connect("https://A.example.com/other");
+        assertSame(clientA, JsonRpc.client(a));
+        assertNotSame(clientA, clientB);
+
+        JsonRpc.setConnectionTimeout(a, Duration.ofSeconds(5));
+        JsonRpc.connect(a);
+
+        assertNotSame(clientA, JsonRpc.client(a));
+        assertSame(clientB, JsonRpc.client(b));
+        assertEquals(Duration.ofSeconds(5), JsonRpc.client(a).connectTimeout().get());
+
+        clientA = JsonRpc.client(a);
+
+        JsonRpc.setHttpVersion(Version.HTTP_2);
+        JsonRpc.connect(a);
+        JsonRpc.connect(b);
+
+        assertSame(clientA, JsonRpc.client(a));
+        assertNotSame(clientB, JsonRpc.client(b));
+    }
+
 }
\ No newline at end of file
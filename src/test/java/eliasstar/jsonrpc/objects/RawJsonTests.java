@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.objects.id.NumberId;
+import eliasstar.utils.GsonProvider;
+
+public final class RawJsonTests {
+
+    private static Gson gson;
+
+    @BeforeAll
+    public static void initGson() {
+        gson = GsonProvider.gson();
+    }
+
+    @Test
+    public void testRawJsonDeserialization() {
+        var json = "{\"a\":[1,2.50,-3e7,\"\\u00e4\\\"\"],\"b\":null,\"c\":{\"d\":true}}";
+        var raw = gson.fromJson(json, RawJson.class);
+
+        assertEquals(JsonParser.parseString(json), JsonParser.parseString(raw.toString()));
+        assertEquals("2.50", raw.asJsonElement().getAsJsonObject().getAsJsonArray("a").get(1).getAsString());
+        assertSame(raw.asJsonElement(), raw.asJsonElement());
+        assertEquals("null", gson.fromJson("null", RawJson.class).toString());
+
+        // Escaped like a JsonWriter escapes strings
+        var escaped = "[\"\\\"\\\\\\n\\t\\u0001\\u2028ä<>\",{\"\\\"\":[]}]";
+        assertEquals(escaped, gson.fromJson(escaped, RawJson.class).toString());
+    }
+
+    @Test
+    public void testRawJsonSerialization() {
+        var raw = RawJson.of("[1, {\"a\": null}]");
+
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[1, {\"a\": null}]}", gson.toJson(new TypedResponse<>(new NumberId(BigDecimal.ONE), raw, null), new TypeToken<TypedResponse<RawJson>>() {}.getType()));
+    }
+
+    @Test
+    public void testRawJsonResult() {
+        var type = new TypeToken<TypedResponse<RawJson>>() {}.getType();
+        TypedResponse<RawJson> res = gson.fromJson("{\"jsonrpc\":\"2.0\",\"result\":{\"x\":[1,2,3]},\"id\":1}", type);
+
+        assertEquals(RawJson.of("{\"x\":[1,2,3]}"), res.result().get());
+        assertEquals(new Point(1, 2), RawJson.of("{\"x\":1,\"y\":2}").as(gson, Point.class));
+    }
+
+    @Test
+    public void testInvalidRawJson() {
+        assertThrows(JsonSyntaxException.class, () -> RawJson.of("{\"a\":"));
+        assertThrows(JsonSyntaxException.class, () -> RawJson.of("1 2"));
+    }
+
+    private static final class Point {
+
+        private int x, y;
+
+        private Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Point && ((Point) obj).x == x && ((Point) obj).y == y;
+        }
+
+    }
+
+}
\ No newline at end of file
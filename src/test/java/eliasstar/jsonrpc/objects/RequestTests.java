@@ -20,18 +20,32 @@ package eliasstar.jsonrpc.objects;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import eliasstar.jsonrpc.objects.id.NullId;
+import eliasstar.jsonrpc.objects.id.StringId;
+import eliasstar.jsonrpc.objects.parameter.ArrayParameters;
+import eliasstar.jsonrpc.objects.parameter.NamedParameters;
+import eliasstar.jsonrpc.objects.parameter.PositionalParameters;
+import eliasstar.jsonrpc.objects.parameter.RawParameters;
 import eliasstar.utils.GsonProvider;
 
 public final class RequestTests {
@@ -87,6 +101,61 @@ public final class RequestTests {
         assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":{\"string\":\"test\",\"number\":0,\"null\":null}}", gsonWithNulls.toJson(new Notification("test", objParams)));
     }
 
+    @Test
+    public void testJavaObjectParamsSerialization() throws IOException {
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":[\"test\",0,null,{\"x\":1,\"y\":2}]}", gson.toJson(new Notification("test", new PositionalParameters("test", 0, null, new Point()))));
+
+        var named = new LinkedHashMap<String, Object>();
+        named.put("point", new Point());
+        named.put("list", List.of(1, 2));
+        named.put("null", null);
+
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":{\"point\":{\"x\":1,\"y\":2},\"list\":[1,2]}}", gson.toJson(new Notification("test", new NamedParameters(named))));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":{\"point\":{\"x\":1,\"y\":2},\"list\":[1,2],\"null\":null}}", gsonWithNulls.toJson(new Notification("test", new NamedParameters(named))));
+
+        // Written without a connection like with the default connection settings
+        var out = new StringWriter();
+        new PositionalParameters(new StringId("test"), new ArrayParameters(new JsonArray()), null).write(new JsonWriter(out));
+        assertEquals("[\"test\",[],null]", out.toString());
+
+        // A list is the list of parameters unless it is passed as single object
+        assertEquals(List.of(1, 2), new PositionalParameters(List.of(1, 2)).get());
+        assertEquals(List.of(List.of(1, 2)), new PositionalParameters((Object) List.of(1, 2)).get());
+    }
+
+    @Test
+    public void testAdaptedParamsSerialization() {
+        var point = new Point();
+        var adapters = PositionalParameters.adapters(gson, Object.class, Point.class);
+        var positional = PositionalParameters.adapted(adapters, "test", point);
+        var named = NamedParameters.adapted(new String[] { "a", "b" }, adapters, "test", point);
+
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":[\"test\",{\"x\":1,\"y\":2}]}", gson.toJson(new Notification("test", positional)));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":{\"a\":\"test\",\"b\":{\"x\":1,\"y\":2}}}", gson.toJson(new Notification("test", named)));
+        assertEquals(new PositionalParameters("test", point), positional);
+        assertEquals(new NamedParameters(Map.of("a", "test", "b", point)), named);
+        assertEquals(new NamedParameters(Map.of("a", "test", "b", point)).hashCode(), named.hashCode());
+        assertThrows(IllegalArgumentException.class, () -> PositionalParameters.adapted(adapters, "test"));
+        assertThrows(IllegalArgumentException.class, () -> NamedParameters.adapted(new String[] { "a", "a" }, adapters, "test", point));
+    }
+
+    @Test
+    public void testRawParamsSerialization() {
+        var raw = RawParameters.of("[1, {\"a\": \"<b>\"}]");
+        var bytes = "xx{\"\u00e4\":null}xx".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":[1, {\"a\": \"<b>\"}]}", gson.toJson(new Notification("test", raw)));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":{\"\u00e4\":null}}", gson.toJson(new Notification("test", RawParameters.of(bytes, 2, bytes.length - 4))));
+        assertEquals(RawJson.of("[1, {\"a\": \"<b>\"}]"), raw.get());
+        assertEquals(RawParameters.of("{\"\u00e4\":null}"), RawParameters.of(bytes, 2, bytes.length - 4));
+
+        assertThrows(JsonSyntaxException.class, () -> RawParameters.of("1"));
+        assertThrows(JsonSyntaxException.class, () -> RawParameters.of("[1] [2]"));
+        assertThrows(JsonSyntaxException.class, () -> RawParameters.of("{\"a\":"));
+        assertThrows(JsonSyntaxException.class, () -> RawParameters.of(new byte[] { '[', '"', (byte) 0xff, '"', ']' }));
+        assertThrows(IndexOutOfBoundsException.class, () -> RawParameters.of(bytes, 2, bytes.length));
+    }
+
     @Test
     public void testRequestParamsDeserialization() {
         var arrParams = new JsonArray();
@@ -104,4 +173,11 @@ public final class RequestTests {
         assertEquals(new Notification("test", objParams), gson.fromJson("{\"jsonrpc\":\"2.0\",\"method\":\"test\",\"params\":{\"string\":\"test\",\"number\":0,\"null\":null}}", Request.class));
     }
 
+    private static final class Point {
+
+        @SuppressWarnings("unused")
+        private final int x = 1, y = 2;
+
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.objects.id.NullId;
+import eliasstar.jsonrpc.objects.id.NumberId;
+import eliasstar.utils.GsonProvider;
+
+public final class ResponseTests {
+
+    private static Gson gson;
+
+    @BeforeAll
+    public static void initGson() {
+        gson = GsonProvider.gson();
+    }
+
+    @Test
+    public void testResponseDeserialization() {
+        var res = gson.fromJson("{\"result\":null,\"unknown\":{\"a\":[]},\"id\":1,\"jsonrpc\":\"2.0\"}", Response.class);
+
+        assertEquals(new Response(new NumberId(BigDecimal.ONE), JsonNull.INSTANCE), res);
+        assertTrue(res.isSuccessful());
+    }
+
+    @Test
+    public void testErrorResponseDeserialization() {
+        var res = gson.fromJson("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32000,\"message\":\"test\",\"data\":null}}", Response.class);
+
+        assertTrue(res.isUnsuccessful());
+        assertEquals(NullId.instance(), res.id());
+        assertEquals(new Error(-32000, "test", JsonNull.INSTANCE), res.error().get());
+    }
+
+    @Test
+    public void testMalformedResponseDeserialization() {
+        var res = gson.fromJson("{\"jsonrpc\":\"2.0\"}", Response.class);
+
+        assertNull(res.id());
+        assertEquals(Optional.empty(), res.result());
+        assertEquals(Optional.empty(), res.error());
+    }
+
+    @Test
+    public void testResponseSerialization() {
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":null}", gson.toJson(new Response(new NumberId(BigDecimal.ONE), (JsonPrimitive) null)));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32601,\"message\":\"test\"}}", gson.toJson(new Response(NullId.instance(), new Error(Error.METHOD_NOT_FOUND, "test"))));
+        assertEquals("{\"code\":1,\"message\":\"test\",\"data\":[]}", gson.toJson(new Error(1, "test", gson.toJsonTree(new int[0]))));
+    }
+
+}
\ No newline at end of file
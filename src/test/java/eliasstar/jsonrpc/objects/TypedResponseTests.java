@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.objects.id.NumberId;
+import eliasstar.utils.GsonProvider;
+
+public final class TypedResponseTests {
+
+    private static Gson gson;
+
+    @BeforeAll
+    public static void initGson() {
+        gson = GsonProvider.gson();
+    }
+
+    @Test
+    public void testTypedResponseDeserialization() {
+        var type = new TypeToken<TypedResponse<Long>>() {}.getType();
+        TypedResponse<Long> res = gson.fromJson("{\"result\":42,\"unknown\":{\"a\":[]},\"id\":1,\"jsonrpc\":\"2.0\"}", type);
+
+        assertEquals(new TypedResponse<>(new NumberId(BigDecimal.ONE), 42L, null), res);
+        assertTrue(res.isSuccessful());
+    }
+
+    @Test
+    public void testErrorTypedResponseDeserialization() {
+        var type = new TypeToken<TypedResponse<Long>>() {}.getType();
+        TypedResponse<Long> res = gson.fromJson("{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32000,\"message\":\"test\"}}", type);
+
+        assertTrue(res.isUnsuccessful());
+        assertEquals(Optional.empty(), res.result());
+        assertEquals(-32000, res.error().get().code());
+    }
+
+    @Test
+    public void testTypedResponseSerialization() {
+        var type = new TypeToken<TypedResponse<String>>() {}.getType();
+
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"test\"}", gson.toJson(new TypedResponse<>(new NumberId(BigDecimal.ONE), "test", null), type));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":null}", gson.toJson(new TypedResponse<>(new NumberId(BigDecimal.ONE), null, null), type));
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import eliasstar.utils.GsonProvider;
+
+public final class NumberIdTests {
+
+    @Test
+    public void testEquality() {
+        assertEquals(new NumberId(BigDecimal.valueOf(42)), new NumberId(42));
+        assertEquals(new NumberId(42), new NumberId(new BigDecimal("42.0")));
+        assertEquals(new NumberId(new BigDecimal("1.5")), new NumberId(new BigDecimal("1.50")));
+        assertEquals(new NumberId(Long.MAX_VALUE), new NumberId(BigDecimal.valueOf(Long.MAX_VALUE)));
+
+        assertEquals(new NumberId(42).hashCode(), new NumberId(new BigDecimal("42.0")).hashCode());
+        assertEquals(new NumberId(new BigDecimal("1.5")).hashCode(), new NumberId(new BigDecimal("1.50")).hashCode());
+
+        assertNotEquals(new NumberId(1), new NumberId(new BigDecimal("1.5")));
+        assertNotEquals(new NumberId(Long.MAX_VALUE), new NumberId(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE)));
+    }
+
+    @Test
+    public void testSerialization() {
+        var gson = GsonProvider.gson();
+
+        assertEquals("42", gson.toJson(new NumberId(42)));
+        assertEquals("42.0", gson.toJson(new NumberId(new BigDecimal("42.0"))));
+        assertEquals(BigDecimal.valueOf(42), new NumberId(42).get());
+        assertEquals("42", new NumberId(42).toString());
+    }
+
+    @Test
+    public void testDeserialization() {
+        var gson = GsonProvider.gson();
+
+        assertEquals(new NumberId(42), gson.fromJson("42", Id.class));
+        assertEquals(new NumberId(new BigDecimal("1.5")), gson.fromJson("1.5", Id.class));
+        assertEquals(new NumberId(new BigDecimal("1e30")), gson.fromJson("1e30", Id.class));
+        assertEquals(new NumberId(new BigDecimal("-92233720368547758080")), gson.fromJson("-92233720368547758080", Id.class));
+
+        assertNotEquals(new NumberId(1), gson.fromJson("1.0000000000000001", Id.class));
+        assertEquals(new NumberId(new BigDecimal("1.0000000000000001")), gson.fromJson("1.0000000000000001", Id.class));
+        assertNotEquals(new NumberId(Long.MAX_VALUE), gson.fromJson("9223372036854775808", Id.class));
+        assertEquals(new NumberId(new BigDecimal("9223372036854775808")), gson.fromJson("9223372036854775808", Id.class));
+        assertNotEquals(new NumberId(9007199254740992L), gson.fromJson("9007199254740993.0", Id.class));
+        assertEquals(new NumberId(9007199254740993L), gson.fromJson("9007199254740993.0", Id.class));
+        assertEquals(new NumberId(Long.MIN_VALUE), gson.fromJson("-9223372036854775808", Id.class));
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+public final class SequentialIdGeneratorTests {
+
+    @Test
+    public void testIdFormat() {
+        var numeric = new SequentialIdGenerator();
+        var prefixed = new SequentialIdGenerator("test");
+
+        assertEquals(new NumberId(BigDecimal.ZERO), numeric.next());
+        assertEquals(new NumberId(BigDecimal.ONE), numeric.next());
+        assertEquals(new StringId("test-0"), prefixed.next());
+        assertEquals(new StringId("test-1"), prefixed.next());
+    }
+
+    @Test
+    public void testConcurrentGeneration() throws InterruptedException {
+        var threads = 64;
+        var perThread = 1000;
+
+        var generator = new SequentialIdGenerator("test");
+        var ids = ConcurrentHashMap.<Id<?>>newKeySet();
+        var start = new CountDownLatch(1);
+        var workers = new ArrayList<Thread>();
+
+        for (var i = 0; i < threads; i++) {
+            var worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (var j = 0; j < perThread; j++)
+                    ids.add(generator.next());
+            });
+
+            worker.start();
+            workers.add(worker);
+        }
+
+        start.countDown();
+
+        for (var worker : workers)
+            worker.join();
+
+        assertEquals(threads * perThread, ids.size());
+        assertEquals(threads * perThread, generator.generated());
+    }
+
+}
\ No newline at end of file
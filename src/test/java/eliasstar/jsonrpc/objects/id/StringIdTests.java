@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.objects.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import eliasstar.utils.GsonProvider;
+
+public final class StringIdTests {
+
+    @Test
+    public void testPrefixedEquality() {
+        long[] counters = { 0, 7, 42, 1234567890L, -5, Long.MAX_VALUE, Long.MIN_VALUE };
+
+        for (var counter : counters) {
+            var prefixed = new StringId("conn", counter);
+            var plain = new StringId("conn-" + counter);
+
+            assertEquals(plain.get(), prefixed.get());
+            assertEquals(plain, prefixed);
+            assertEquals(prefixed, plain);
+            assertEquals(plain.hashCode(), prefixed.hashCode());
+        }
+
+        assertEquals(new StringId("a", -1), new StringId("a-", 1));
+        assertNotEquals(new StringId("conn", 42), new StringId("conn-042"));
+        assertNotEquals(new StringId("conn", 42), new StringId("conn-4"));
+        assertNotEquals(new StringId("conn", 42), new StringId("conn-420"));
+        assertNotEquals(new StringId("conn", 42), new StringId("conn42"));
+        assertNotEquals(new StringId("conn", 42), new StringId("con-42"));
+        assertNotEquals(new StringId("conn", 42), new StringId("conn"));
+    }
+
+    @Test
+    public void testSuffix() throws IOException {
+        long[] counters = { 0, 7, 1234567890L, -5, Long.MAX_VALUE, Long.MIN_VALUE };
+
+        for (var counter : counters) {
+            var out = new ByteArrayOutputStream();
+            new StringId("conn", counter).writeSuffix(out);
+
+            assertEquals("-" + counter, out.toString(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void testPrefixedSerialization() {
+        var gson = GsonProvider.gson();
+        var id = gson.fromJson("\"conn-42\"", Id.class);
+
+        assertEquals("\"conn-42\"", gson.toJson(new StringId("conn", 42)));
+        assertEquals(new StringId("conn", 42), id);
+    }
+
+}
\ No newline at end of file
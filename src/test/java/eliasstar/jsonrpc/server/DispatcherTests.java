@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.exceptions.ErrorResponseException;
+import eliasstar.jsonrpc.objects.Error;
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.Response;
+import eliasstar.jsonrpc.objects.id.StringId;
+
+public final class DispatcherTests {
+
+    private static Dispatcher dispatcher;
+
+    @BeforeAll
+    public static void initDispatcher() {
+        dispatcher = new DispatcherBuilder()
+                .register("subtract", req -> {
+                    var params = req.params().orElseThrow(() -> new ErrorResponseException(Error.INVALID_PARAMS, "Invalid params")).get();
+
+                    if (params instanceof JsonArray) {
+                        var array = (JsonArray) params;
+                        return new JsonPrimitive(array.get(0).getAsInt() - array.get(1).getAsInt());
+                    }
+
+                    var object = (JsonObject) params;
+                    return new JsonPrimitive(object.get("minuend").getAsInt() - object.get("subtrahend").getAsInt());
+                })
+                .register("sum", req -> {
+                    var sum = 0;
+
+                    for (var value : (JsonArray) req.params().get().get())
+                        sum += value.getAsInt();
+
+                    return new JsonPrimitive(sum);
+                })
+                .register("notify_hello", req -> null)
+                .register("get_data", req -> JsonParser.parseString("[\"hello\",5]"))
+                .register("fail", req -> {
+                    throw new IllegalStateException();
+                })
+                .register("reject", req -> {
+                    throw new ErrorResponseException(Error.INVALID_PARAMS, null);
+                })
+                .register("custom", req -> {
+                    throw new ErrorResponseException(-32000, null);
+                })
+                .build();
+    }
+
+    @Test
+    public void testPositionalAndNamedParameters() throws IOException {
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":19}", "{\"jsonrpc\": \"2.0\", \"method\": \"subtract\", \"params\": [42, 23], \"id\": 1}");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":\"a\",\"result\":19}", "{\"jsonrpc\": \"2.0\", \"method\": \"subtract\", \"params\": {\"subtrahend\": 23, \"minuend\": 42}, \"id\": \"a\"}");
+        assertHandled(null, "{\"jsonrpc\": \"2.0\", \"method\": \"update\", \"params\": [1,2,3,4,5]}");
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"error\":{\"code\":-32601,\"message\":\"Method not found\"}}", "{\"jsonrpc\": \"2.0\", \"method\": \"foobar\", \"id\": \"1\"}");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32700,\"message\":\"Parse error\"}}", "{\"jsonrpc\": \"2.0\", \"method\": \"foobar, \"params\": \"bar\", \"baz]");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32700,\"message\":\"Parse error\"}}", "{\"jsonrpc\": \"2.0\", \"method\": \"\\uZZZZ\"}");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32700,\"message\":\"Parse error\"}}", "[".repeat(100_000) + "]".repeat(100_000));
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32700,\"message\":\"Parse error\"}}", "{\"a\":".repeat(Dispatcher.MAX_DEPTH + 1) + "1" + "}".repeat(Dispatcher.MAX_DEPTH + 1));
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}}", "{\"jsonrpc\": \"2.0\", \"method\": 1, \"params\": \"bar\"}");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}}", "[]");
+        assertHandled("[{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}}]", "[1]");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":2,\"error\":{\"code\":-32603,\"message\":\"Internal error\"}}", "{\"jsonrpc\": \"2.0\", \"method\": \"fail\", \"id\": 2}");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":3,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}", "{\"jsonrpc\": \"2.0\", \"method\": \"subtract\", \"id\": 3}");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":4,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}", "{\"jsonrpc\": \"2.0\", \"method\": \"reject\", \"id\": 4}");
+        assertHandled("{\"jsonrpc\":\"2.0\",\"id\":5,\"error\":{\"code\":-32000,\"message\":\"Server error\"}}", "{\"jsonrpc\": \"2.0\", \"method\": \"custom\", \"id\": 5}");
+    }
+
+    @Test
+    public void testBatch() throws IOException {
+        assertHandled("[{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":7},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"result\":19},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"5\",\"error\":{\"code\":-32601,\"message\":\"Method not found\"}},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"9\",\"result\":[\"hello\",5]}]",
+                "[{\"jsonrpc\": \"2.0\", \"method\": \"sum\", \"params\": [1,2,4], \"id\": \"1\"},"
+                        + "{\"jsonrpc\": \"2.0\", \"method\": \"notify_hello\", \"params\": [7]},"
+                        + "{\"jsonrpc\": \"2.0\", \"method\": \"subtract\", \"params\": [42,23], \"id\": \"2\"},"
+                        + "{\"foo\": \"boo\"},"
+                        + "{\"jsonrpc\": \"2.0\", \"method\": \"foo.get\", \"params\": {\"name\": \"myself\"}, \"id\": \"5\"},"
+                        + "{\"jsonrpc\": \"2.0\", \"method\": \"get_data\", \"id\": \"9\"}]");
+        assertHandled(null, "[{\"jsonrpc\": \"2.0\", \"method\": \"notify_sum\", \"params\": [1,2,4]}, {\"jsonrpc\": \"2.0\", \"method\": \"notify_hello\", \"params\": [7]}]");
+    }
+
+    @Test
+    public void testConcurrentBatchEntries() throws IOException, InterruptedException {
+        var latch = new CountDownLatch(4);
+        var executor = Executors.newFixedThreadPool(4);
+        var concurrent = new DispatcherBuilder().register("await", req -> {
+            latch.countDown();
+
+            try {
+                return new JsonPrimitive(latch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new ErrorResponseException(Error.INTERNAL_ERROR, "Interrupted");
+            }
+        }).withExecutor(executor).build();
+
+        var req = "{\"jsonrpc\":\"2.0\",\"method\":\"await\",\"id\":0}";
+        var out = new ByteArrayOutputStream();
+
+        assertTrue(concurrent.handle(new ByteArrayInputStream(("[" + String.join(",", req, req, req, req) + "]").getBytes(StandardCharsets.UTF_8)), out));
+
+        for (var res : JsonParser.parseString(out.toString(StandardCharsets.UTF_8)).getAsJsonArray())
+            assertTrue(res.getAsJsonObject().get("result").getAsBoolean());
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void testDispatch() {
+        assertEquals(Optional.of(new Response(new StringId("x"), new JsonPrimitive(2))), dispatcher.dispatch(new Request("x", "subtract", JsonParser.parseString("[3,1]").getAsJsonArray())));
+        assertEquals(Optional.empty(), dispatcher.dispatch(new Notification("notify_hello")));
+        assertFalse(dispatcher.dispatch(new Request("y", "unknown")).get().isSuccessful());
+    }
+
+    private static void assertHandled(String expected, String request) throws IOException {
+        var out = new ByteArrayOutputStream();
+        var written = dispatcher.handle(new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertEquals(expected != null, written);
+
+        if (expected != null)
+            assertEquals(JsonParser.parseString(expected), JsonParser.parseString(out.toString(StandardCharsets.UTF_8)));
+    }
+
+}
\ No newline at end of file
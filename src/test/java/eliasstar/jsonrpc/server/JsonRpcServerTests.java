@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.Connection;
+import eliasstar.jsonrpc.ConnectionBuilder;
+import eliasstar.jsonrpc.exceptions.ErrorResponseException;
+import eliasstar.jsonrpc.objects.Error;
+
+public final class JsonRpcServerTests {
+
+    private static final int CONCURRENT_CALLS = 50;
+
+    private static final CountDownLatch latch = new CountDownLatch(CONCURRENT_CALLS);
+
+    private static JsonRpcServer server;
+    private static HttpClient client;
+    private static Connection connection;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        var dispatcher = new DispatcherBuilder()
+                .register("echo", req -> (JsonElement) req.params().get().get())
+                .register("await", req -> {
+                    latch.countDown();
+
+                    try {
+                        return new JsonPrimitive(latch.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new ErrorResponseException(Error.INTERNAL_ERROR, "Interrupted");
+                    }
+                })
+                .build();
+
+        server = new JsonRpcServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "/rpc", dispatcher);
+        server.start();
+
+        client = HttpClient.newHttpClient();
+        connection = new ConnectionBuilder(client, uri().toString()).build();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testCalls() throws Exception {
+        var params = new JsonArray();
+        params.add("ä");
+
+        assertEquals(params, connection.callRemoteProcedure("echo", params));
+
+        connection.sendNotification("echo", params);
+
+        var e = assertThrows(ErrorResponseException.class, () -> connection.callRemoteProcedure("unknown"));
+        assertEquals(Error.METHOD_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    public void testStatusCodes() throws Exception {
+        var notification = HttpRequest.newBuilder(uri()).POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"method\":\"echo\",\"params\":[]}")).build();
+        var get = HttpRequest.newBuilder(uri()).GET().build();
+
+        assertEquals(204, client.send(notification, BodyHandlers.discarding()).statusCode());
+        assertEquals(405, client.send(get, BodyHandlers.discarding()).statusCode());
+    }
+
+    @Test
+    public void testConcurrentCalls() throws Exception {
+        var futures = new ArrayList<CompletableFuture<JsonElement>>();
+
+        for (var i = 0; i < CONCURRENT_CALLS; i++)
+            futures.add(connection.callRemoteProcedureAsync("await"));
+
+        for (var future : futures)
+            assertTrue(future.get().getAsBoolean());
+    }
+
+    @Test
+    public void testGson() throws Exception {
+        var dispatcher = new DispatcherBuilder()
+                .register("echo", req -> (JsonElement) req.params().get().get())
+                .withGson(new GsonBuilder().disableHtmlEscaping())
+                .build();
+
+        var unescaped = new JsonRpcServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "/", dispatcher);
+        unescaped.start();
+
+        try {
+            var uri = URI.create("http://localhost:" + unescaped.address().getPort() + "/");
+            var req = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"method\":\"echo\",\"params\":[\"<b>\"],\"id\":1}")).build();
+
+            assertEquals("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[\"<b>\"]}", client.send(req, BodyHandlers.ofString()).body());
+        } finally {
+            unescaped.stop(0);
+        }
+    }
+
+    private static URI uri() {
+        return URI.create("http://localhost:" + server.address().getPort() + "/rpc");
+    }
+
+}
\ No newline at end of file
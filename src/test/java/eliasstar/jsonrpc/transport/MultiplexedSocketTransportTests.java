@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import eliasstar.jsonrpc.ConnectionBuilder;
+import eliasstar.jsonrpc.exceptions.ConnectionException;
+import eliasstar.jsonrpc.objects.Request;
+
+public final class MultiplexedSocketTransportTests {
+
+    private static final int CALLS = 1000;
+
+    @ParameterizedTest
+    @EnumSource(Framing.class)
+    public void testOutOfOrderResponses(Framing framing) throws Exception {
+        try (var server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            var served = serve(server, framing, CALLS);
+
+            try (var con = new ConnectionBuilder(MultiplexedSocketTransport.connect(server.getLocalAddress(), framing)).build()) {
+                var futures = new ArrayList<CompletableFuture<JsonElement>>();
+
+                for (var i = 0; i < CALLS - 1; i++)
+                    futures.add(con.callRemoteProcedureAsync("call" + i));
+
+                var batch = con.sendBatchRequestAsync(new Request(-1, "batch0"), new Request(-2, "batch1"));
+
+                for (var i = 0; i < CALLS - 1; i++)
+                    assertEquals("call" + i, futures.get(i).get().getAsString());
+
+                var responses = batch.get().get();
+
+                assertEquals(2, responses.length);
+                assertEquals("batch1", responses[0].result().get().getAsString());
+            }
+
+            served.get();
+        }
+    }
+
+    @Test
+    public void testPendingCallsFailOnClose() throws Exception {
+        try (var server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            var con = new ConnectionBuilder(MultiplexedSocketTransport.connect(server.getLocalAddress(), Framing.NEWLINE_DELIMITED)).build();
+
+            try (var client = server.accept()) {
+                var future = con.callRemoteProcedureAsync("test");
+
+                con.close();
+
+                var e = assertThrowsExecution(future);
+                assertTrue(e.getCause() instanceof ConnectionException);
+            }
+        }
+    }
+
+    private static ExecutionException assertThrowsExecution(CompletableFuture<?> future) {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            return e;
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+
+        throw new AssertionError("Expected an exception");
+    }
+
+    // answers all messages in reverse order after a colliding server request
+    private static CompletableFuture<Void> serve(ServerSocketChannel server, Framing framing, int messages) {
+        return CompletableFuture.runAsync(() -> {
+            try (var client = server.accept()) {
+                var reader = new FrameReader(client);
+                var received = new ArrayList<JsonElement>();
+
+                for (var i = 0; i < messages; i++)
+                    received.add(JsonParser.parseString(new String(framing.read(reader), StandardCharsets.UTF_8)));
+
+                Collections.reverse(received);
+
+                var notification = new JsonObject();
+                notification.addProperty("jsonrpc", "2.0");
+                notification.addProperty("method", "serverNotification");
+                notification.addProperty("id", 0);
+
+                write(client, framing, notification);
+
+                for (var message : received) {
+                    if (message.isJsonArray()) {
+                        var responses = new JsonArray();
+
+                        for (var req : message.getAsJsonArray())
+                            responses.add(respond(req.getAsJsonObject()));
+
+                        var reversed = new JsonArray();
+
+                        for (var i = responses.size() - 1; i >= 0; i--)
+                            reversed.add(responses.get(i));
+
+                        write(client, framing, reversed);
+                    } else {
+                        write(client, framing, respond(message.getAsJsonObject()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private static JsonObject respond(JsonObject req) {
+        var res = new JsonObject();
+        res.addProperty("jsonrpc", "2.0");
+        res.add("id", req.get("id"));
+        res.add("result", req.get("method"));
+
+        return res;
+    }
+
+    private static void write(SocketChannel client, Framing framing, JsonElement message) throws IOException {
+        var bytes = message.toString().getBytes(StandardCharsets.UTF_8);
+        var buffers = new ByteBuffer[] { framing.header(bytes.length), ByteBuffer.wrap(bytes), framing.trailer() };
+
+        while (buffers[0].hasRemaining() || buffers[1].hasRemaining() || buffers[2].hasRemaining())
+            client.write(buffers);
+    }
+
+}
\ No newline at end of file
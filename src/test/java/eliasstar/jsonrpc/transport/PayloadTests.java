@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eliasstar.jsonrpc.objects.Notification;
+import eliasstar.jsonrpc.objects.Request;
+import eliasstar.jsonrpc.objects.id.NumberId;
+import eliasstar.jsonrpc.objects.id.StringId;
+import eliasstar.jsonrpc.objects.parameter.NamedParameters;
+import eliasstar.jsonrpc.objects.parameter.PositionalParameters;
+import eliasstar.jsonrpc.objects.parameter.RawParameters;
+import eliasstar.utils.GsonProvider;
+
+public final class PayloadTests {
+
+    private static Gson gson;
+
+    @BeforeAll
+    public static void initGson() {
+        gson = GsonProvider.gson();
+    }
+
+    @Test
+    public void testEncoding() {
+        var params = new JsonArray();
+
+        for (var i = 0; i < 10000; i++)
+            params.add("ä" + i);
+
+        var req = new Request(0, "test", params);
+        var payload = Payload.encode(gson, req);
+
+        assertEquals(gson.toJson(req), payload.toString());
+        assertEquals(gson.toJson(req).getBytes(StandardCharsets.UTF_8).length, payload.length());
+        assertEquals(payload.length() / Payload.CHUNK_SIZE + 1, payload.buffers().length);
+    }
+
+    @Test
+    public void testFastPathEncoding() {
+        var params = new JsonArray();
+        params.add("<\u2028>");
+
+        var requests = new Request[] {
+                new Request(0, "test", params),
+                new Request("\"quoted\"", "<html> & \u00e4"),
+                new Request((String) null, "test"),
+                new Request(new StringId("<conn>", 1234567890L), "test", null),
+                new Request(new StringId("conn", Long.MIN_VALUE), "test", null),
+                new Notification("test", new PositionalParameters(1, null, "a")),
+                new Notification("test", new NamedParameters(Map.of("a", List.of(1)))),
+                new Request(new NumberId(1), "test", RawParameters.of("[\"<\u00e4>\", {}]".getBytes(StandardCharsets.UTF_8)))
+        };
+
+        for (var gson : List.of(gson, GsonProvider.gsonWithNulls(), gson.newBuilder().disableHtmlEscaping().create())) {
+            assertTrue(RequestEncoder.canEncode(gson, requests));
+
+            for (var req : requests)
+                assertEquals(gson.toJson(req), Payload.encode(gson, req).toString());
+
+            assertEquals(gson.toJson(requests), Payload.encode(gson, requests).toString());
+        }
+
+        var pretty = gson.newBuilder().setPrettyPrinting().create();
+
+        assertFalse(RequestEncoder.canEncode(pretty, requests[0]));
+        assertEquals(pretty.toJson(requests[0]), Payload.encode(pretty, requests[0]).toString());
+    }
+
+    @Test
+    public void testArray() {
+        var requests = new Request[] { new Request(0, "a"), new Notification("b"), new Request("c", "c") };
+        var payload = Payload.array(Arrays.stream(requests).map(req -> Payload.encode(gson, req)).collect(Collectors.toList()));
+
+        assertEquals(gson.toJson(requests), payload.toString());
+        assertEquals(Payload.encode(gson, requests).ids(), payload.ids());
+        assertEquals(2, payload.ids().size());
+        assertEquals("[]", Payload.array(List.of()).toString());
+    }
+
+    @Test
+    public void testPublishing() throws InterruptedException, ExecutionException {
+        var params = new JsonArray();
+
+        for (var i = 0; i < 10000; i++)
+            params.add(i);
+
+        var req = new Request("test", "test", params);
+        var publisher = new PayloadBodyPublisher(Payload.encode(gson, req));
+
+        for (var i = 0; i < 2; i++)
+            assertEquals(gson.toJson(req), publish(publisher));
+    }
+
+    @Test
+    public void testDeferredPublishing() throws InterruptedException, ExecutionException {
+        var params = new JsonArray();
+
+        for (var i = 0; i < 10000; i++)
+            params.add("ä" + i);
+
+        var small = Payload.deferred(gson, new Request("test", "test"));
+
+        assertTrue(small.isEncoded());
+        assertEquals(small.length(), new PayloadBodyPublisher(small).contentLength());
+
+        var req = new Request("test", "test", params);
+        var payload = Payload.deferred(gson, req);
+        var publisher = new PayloadBodyPublisher(payload);
+
+        assertFalse(payload.isEncoded());
+        assertEquals(-1, publisher.contentLength());
+
+        for (var i = 0; i < 2; i++)
+            assertEquals(gson.toJson(req), publish(publisher));
+
+        assertFalse(payload.isEncoded());
+        assertEquals(gson.toJson(req), payload.toString());
+        assertTrue(payload.isEncoded());
+    }
+
+    @Test
+    public void testBoundedPublishing() throws InterruptedException {
+        var params = new JsonArray();
+
+        for (var i = 0; i < 100000; i++)
+            params.add(i);
+
+        var received = new AtomicInteger();
+        var completed = new CountDownLatch(1);
+        var subscription = new CompletableFuture<Flow.Subscription>();
+
+        new PayloadBodyPublisher(Payload.deferred(gson, new Request("test", "test", params))).subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.complete(s);
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                received.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        assertFalse(completed.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, received.get());
+
+        subscription.join().cancel();
+    }
+
+    private static String publish(PayloadBodyPublisher publisher) throws InterruptedException, ExecutionException {
+        var subscriber = BodySubscribers.ofString(StandardCharsets.UTF_8);
+
+        publisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                subscriber.onNext(List.of(item));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+
+        return subscriber.getBody().toCompletableFuture().get();
+    }
+
+}
\ No newline at end of file
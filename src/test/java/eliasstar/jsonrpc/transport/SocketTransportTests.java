@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2020-2021 Elias*
+ *
+ * This file is part of JsonRpc4J.
+ *
+ * JsonRpc4J is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * JsonRpc4J is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR
+ * A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with JsonRpc4J. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package eliasstar.jsonrpc.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import eliasstar.jsonrpc.ConnectionBuilder;
+import eliasstar.jsonrpc.exceptions.ConnectionException;
+
+public final class SocketTransportTests {
+
+    @ParameterizedTest
+    @EnumSource(Framing.class)
+    public void testSocketTransport(Framing framing) throws Exception {
+        try (var server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            var received = serve(server, framing);
+
+            try (var con = new ConnectionBuilder(SocketTransport.connect(server.getLocalAddress(), framing)).build()) {
+                assertEquals("first", con.callRemoteProcedure("first").getAsString());
+
+                con.sendNotification("notify");
+
+                var futures = new ArrayList<CompletableFuture<String>>();
+
+                for (var i = 0; i < 100; i++)
+                    futures.add(con.callRemoteProcedureAsync("äsync" + i).thenApply(res -> res.getAsString()));
+
+                for (var i = 0; i < 100; i++)
+                    assertEquals("äsync" + i, futures.get(i).get());
+
+                assertEquals("x".repeat(100000), con.callRemoteProcedure("x".repeat(100000)).getAsString());
+            }
+
+            assertEquals(103, received.get().size());
+            assertEquals("notify", received.get().get(1));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Framing.class)
+    public void testClosedByServer(Framing framing) throws Exception {
+        try (var server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            var con = new ConnectionBuilder(SocketTransport.connect(server.getLocalAddress(), framing)).build();
+
+            server.accept().close();
+
+            assertThrows(ConnectionException.class, () -> con.callRemoteProcedure("test"));
+            con.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Framing.class)
+    public void testMaxFrameSize(Framing framing) throws Exception {
+        try (var server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            serve(server, framing);
+
+            try (var con = new ConnectionBuilder(SocketTransport.connect(server.getLocalAddress(), framing, 1000)).build()) {
+                assertEquals("small", con.callRemoteProcedure("small").getAsString());
+                assertThrows(ConnectionException.class, () -> con.callRemoteProcedure("x".repeat(1000)));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidFrameLength() {
+        assertThrows(IOException.class, () -> Framing.CONTENT_LENGTH.read(reader("Content-Length: -1\r\n\r\n".getBytes(StandardCharsets.US_ASCII), 1000)));
+        assertThrows(IOException.class, () -> Framing.CONTENT_LENGTH.read(reader("Content-Length: 1001\r\n\r\n".getBytes(StandardCharsets.US_ASCII), 1000)));
+        assertThrows(IOException.class, () -> Framing.LENGTH_PREFIXED.read(reader(new byte[] { -1, -1, -1, -1 }, 1000)));
+        assertThrows(IOException.class, () -> Framing.LENGTH_PREFIXED.read(reader(new byte[] { 0, 0, 3, -23 }, 1000)));
+        assertThrows(IOException.class, () -> Framing.NEWLINE_DELIMITED.read(reader(("x".repeat(1002) + "\n").getBytes(StandardCharsets.US_ASCII), 1000)));
+        assertThrows(IllegalArgumentException.class, () -> reader(new byte[0], 0));
+    }
+
+    private static FrameReader reader(byte[] bytes, int maxFrameSize) {
+        return new FrameReader(Channels.newChannel(new ByteArrayInputStream(bytes)), maxFrameSize);
+    }
+
+    private static CompletableFuture<List<String>> serve(ServerSocketChannel server, Framing framing) {
+        return CompletableFuture.supplyAsync(() -> {
+            var methods = new ArrayList<String>();
+
+            try (SocketChannel client = server.accept()) {
+                var reader = new FrameReader(client);
+
+                while (true) {
+                    JsonObject req = JsonParser.parseString(new String(framing.read(reader), StandardCharsets.UTF_8)).getAsJsonObject();
+                    methods.add(req.get("method").getAsString());
+
+                    if (!req.has("id"))
+                        continue;
+
+                    var res = new JsonObject();
+                    res.addProperty("jsonrpc", "2.0");
+                    res.add("id", req.get("id"));
+                    res.add("result", req.get("method"));
+
+                    var bytes = res.toString().getBytes(StandardCharsets.UTF_8);
+                    var buffers = new ByteBuffer[] { framing.header(bytes.length), ByteBuffer.wrap(bytes), framing.trailer() };
+
+                    while (buffers[0].hasRemaining() || buffers[1].hasRemaining() || buffers[2].hasRemaining())
+                        client.write(buffers);
+                }
+            } catch (IOException e) {
+                // connection closed by the client
+            }
+
+            return methods;
+        });
+    }
+
+}
\ No newline at end of file
@@ -29,7 +29,7 @@ import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodySubscribers;
 import java.net.http.HttpResponse.PushPromiseHandler;
 import java.nio.ByteBuffer;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -57,7 +57,7 @@ public final class HttpClientMock extends HttpClient {
 
     @Override
     public <T> HttpResponse<T> send(HttpRequest req, BodyHandler<T> handler) throws IOException, InterruptedException {
-        var bodySubscriber = BodySubscribers.ofString(Charset.defaultCharset());
+        var bodySubscriber = BodySubscribers.ofString(StandardCharsets.UTF_8);
         req.bodyPublisher().get().subscribe(new Flow.Subscriber<ByteBuffer>() {
             @Override
             public void onSubscribe(Flow.Subscription subscription) {
@@ -80,7 +80,7 @@ public final class HttpClientMock extends HttpClient {
             }
         });
 
-        var bodyBytes = ByteBuffer.wrap(responseBody.getBytes());
+        var bodyBytes = ByteBuffer.wrap(responseBody.getBytes(StandardCharsets.UTF_8));
 
         var res = new HttpResponseMock<T>(req);
         var resSubscriber = handler.apply(res);
@@ -102,12 +102,16 @@ public final class HttpClientMock extends HttpClient {
 
     @Override
     public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> responseBodyHandler) {
-        return null;
+        try {
+            return CompletableFuture.completedFuture(send(request, responseBodyHandler));
+        } catch (IOException | InterruptedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
     public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> responseBodyHandler, PushPromiseHandler<T> pushPromiseHandler) {
-        return null;
+        return sendAsync(request, responseBodyHandler);
     }
 
     @Override